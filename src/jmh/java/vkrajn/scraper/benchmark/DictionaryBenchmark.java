@@ -0,0 +1,121 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * Benchmarks of the {@link Dictionary} operations on Zipf-distributed corpora.
+ *
+ * Run with the GC profiler ({@code -prof gc}) to see allocation rates.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/12/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    // Parameters
+    @Param({"TRIE", "TREE_MAP", "ARRAY_TRIE", "RADIX", "VOCABULARY",
+            "CONCURRENT", "SKETCH"})
+    public DictionaryType type;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int tokens;
+
+    // Attributes
+    private String[] corpus;
+    private Dictionary dictionary;
+    private int next;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = new ZipfCorpus(42).tokens(tokens);
+        dictionary = type.create();
+
+        for (String word : corpus) {
+            dictionary.insert(word);
+        }
+
+        next = 0;
+    }
+
+    // Benchmarks
+    /**
+     * Builds a new dictionary from the whole corpus.
+     *
+     * @return the filled dictionary
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = 1)
+    @Measurement(iterations = 10, batchSize = 1)
+    public Dictionary insert() {
+        Dictionary filled = type.create();
+
+        for (String word : corpus) {
+            filled.insert(word);
+        }
+
+        return filled;
+    }
+
+    @Benchmark
+    public int getWordFrequency() {
+        String word = corpus[next];
+        next = next + 1 == corpus.length ? 0 : next + 1;
+
+        return dictionary.getWordFrequency(word);
+    }
+
+    @Benchmark
+    public List<WordFrequency> getWordFrequencies() {
+        return dictionary.getWordFrequencies();
+    }
+
+    @Benchmark
+    public List<String> getLongestWords() {
+        return dictionary.getLongestWords();
+    }
+
+    @Benchmark
+    public Character getMostFrequentLetter() {
+        return dictionary.getMostFrequentLetter();
+    }
+
+    @Benchmark
+    public List<Character> getMostFrequentLetters() {
+        return dictionary.getMostFrequentLetters(10);
+    }
+
+    /**
+     * Gets the 50 most frequent words from the ranking index of the
+     * dictionary, the CONCURRENT dictionary sorts all of its words instead.
+     *
+     * @return the most frequent words
+     */
+    @Benchmark
+    public List<WordFrequency> getTopWords() {
+        return dictionary.getTopWords(50);
+    }
+}
@@ -0,0 +1,46 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.function.Supplier;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.data.dictionary.DictionaryConcurrentImpl;
+import vkrajn.scraper.data.dictionary.DictionaryRadixImpl;
+import vkrajn.scraper.data.dictionary.DictionarySketchImpl;
+import vkrajn.scraper.data.dictionary.DictionaryTreeMapImpl;
+import vkrajn.scraper.data.dictionary.DictionaryTrieImpl;
+import vkrajn.scraper.data.dictionary.DictionaryVocabularyImpl;
+
+/**
+ * The {@link Dictionary} implementations compared by the benchmarks.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/12/2017
+ */
+public enum DictionaryType {
+
+    TRIE(DictionaryTrieImpl::new),
+    TREE_MAP(DictionaryTreeMapImpl::new),
+    ARRAY_TRIE(DictionaryArrayTrieImpl::new),
+    RADIX(DictionaryRadixImpl::new),
+    VOCABULARY(DictionaryVocabularyImpl::new),
+    CONCURRENT(DictionaryConcurrentImpl::new),
+    SKETCH(DictionarySketchImpl::new);
+
+    // Attributes
+    private final Supplier<Dictionary> factory;
+
+    // Constructors
+    DictionaryType(Supplier<Dictionary> factory) {
+        this.factory = factory;
+    }
+
+    // Public Methods
+    /**
+     * Creates a new empty dictionary of this type.
+     *
+     * @return an empty {@link Dictionary}
+     */
+    public Dictionary create() {
+        return factory.get();
+    }
+}
@@ -0,0 +1,128 @@
+package vkrajn.scraper.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.parser.FetchExecutor;
+import vkrajn.scraper.parser.JsoupParser;
+
+/**
+ * Compares fetching slow pages on platform and virtual threads, against a
+ * local HTTP server delaying every response.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/27/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class FetchBenchmark {
+
+    // Parameters
+    @Param({"PLATFORM", "VIRTUAL"})
+    public FetchExecutor.Mode mode;
+
+    @Param({"100", "1000", "5000"})
+    public int maxInFlight;
+
+    @Param({"5000"})
+    public int pages;
+
+    @Param({"200"})
+    public int delayMillis;
+
+    // Attributes
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] body = "<html><body><p>a slow page</p></body></html>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0),
+                pages);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    // Benchmarks
+    /**
+     * Fetches all the pages.
+     *
+     * @return number of fetched pages
+     * @throws java.lang.InterruptedException
+     */
+    @Benchmark
+    public int fetchAll() throws InterruptedException {
+        AtomicInteger fetched = new AtomicInteger();
+        FetchExecutor executor = new FetchExecutor(new JsoupParser(), mode,
+                maxInFlight);
+
+        FetchExecutor.FetchHandler handler = new FetchExecutor.FetchHandler() {
+            @Override
+            public void onPage(String url, String text) {
+                fetched.incrementAndGet();
+            }
+
+            @Override
+            public void onFailure(String url, IOException e) {
+            }
+        };
+
+        for (int i = 0; i < pages; i++) {
+            executor.fetch(baseUrl + i, handler);
+        }
+
+        executor.awaitTermination();
+
+        return fetched.get();
+    }
+}
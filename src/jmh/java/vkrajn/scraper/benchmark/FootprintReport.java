@@ -0,0 +1,120 @@
+package vkrajn.scraper.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * Reports the heap retained by the mutable dictionaries and by a frozen
+ * dictionary per distinct word, on English- and German-like vocabularies.
+ * JMH measures time and allocation rates but not retained sizes, so this is
+ * a plain program: the heap in use is compared before and after building
+ * each dictionary, with garbage collections forced in between.
+ *
+ * Run e.g. with {@code java -Xmx8g -cp ... FootprintReport 1000000}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/12/2017
+ */
+public class FootprintReport {
+
+    // Constants
+    private static final int DEFAULT_WORDS = 200000;
+    private static final DictionaryType[] TYPES = {DictionaryType.TRIE,
+        DictionaryType.ARRAY_TRIE, DictionaryType.RADIX,
+        DictionaryType.VOCABULARY};
+
+    // Public Methods
+    public static void main(String[] args) {
+        int words = args.length > 0 ? Integer.parseInt(args[0])
+                : DEFAULT_WORDS;
+
+        System.out.printf("%-8s %-11s %12s %14s%n", "corpus", "type",
+                "words", "bytes/word");
+
+        for (LanguageVocabulary language : LanguageVocabulary.values()) {
+            String[] vocabulary = language.vocabulary(words, 42);
+
+            for (DictionaryType type : TYPES) {
+                long bytes = retainedBytes(type, vocabulary);
+
+                System.out.printf("%-8s %-11s %12d %14.1f%n", language, type,
+                        vocabulary.length, (double) bytes / vocabulary.length);
+            }
+
+            long bytes = retainedFrozenBytes(vocabulary);
+
+            System.out.printf("%-8s %-11s %12d %14.1f%n", language, "FROZEN",
+                    vocabulary.length, (double) bytes / vocabulary.length);
+        }
+    }
+
+    // Helper Methods
+    /**
+     * Measures the heap retained by a dictionary of a vocabulary.
+     *
+     * @param type type of the dictionary
+     * @param vocabulary distinct words to insert
+     * @return retained size in bytes
+     */
+    private static long retainedBytes(DictionaryType type,
+            String[] vocabulary) {
+        long before = usedHeap();
+        Dictionary dictionary = type.create();
+
+        for (String word : vocabulary) {
+            dictionary.insert(word);
+        }
+
+        long after = usedHeap();
+
+        // Keep the dictionary reachable until it is measured
+        if (dictionary.getWordFrequency(vocabulary[0]) != 1) {
+            throw new IllegalStateException("Word lost by " + type + ".");
+        }
+
+        return after - before;
+    }
+
+    /**
+     * Measures the heap retained by a frozen dictionary of a vocabulary,
+     * without the dictionary it was frozen from.
+     *
+     * @param vocabulary distinct words to insert
+     * @return retained size in bytes
+     */
+    private static long retainedFrozenBytes(String[] vocabulary) {
+        long before = usedHeap();
+        Dictionary source = DictionaryType.ARRAY_TRIE.create();
+
+        for (String word : vocabulary) {
+            source.insert(word);
+        }
+
+        Dictionary frozen = source.freeze();
+        source = null;
+
+        long after = usedHeap();
+
+        if (frozen.getWordFrequency(vocabulary[0]) != 1) {
+            throw new IllegalStateException("Word lost by freezing.");
+        }
+
+        return after - before;
+    }
+
+    /**
+     * Gets the heap in use after forcing garbage collections.
+     *
+     * @return used heap in bytes
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,101 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * Compares word lookups in the mutable dictionaries with lookups in their
+ * frozen copies, from several threads at once.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/10/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@Threads(4)
+public class FrozenLookupBenchmark {
+
+    // Constants
+    private static final int LOOKUPS = 4096;
+
+    // Parameters
+    @Param({"TRIE", "ARRAY_TRIE", "RADIX", "TREE_MAP"})
+    public DictionaryType type;
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    @Param({"1000000"})
+    public int distinctWords;
+
+    // Attributes
+    private Dictionary dictionary;
+    private String[] lookups;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = new ZipfCorpus(distinctWords,
+                ZipfCorpus.DEFAULT_EXPONENT, 42).getVocabulary();
+        Random random = new Random(42);
+
+        dictionary = type.create();
+        for (String word : vocabulary) {
+            dictionary.insert(word);
+        }
+
+        if (frozen) {
+            dictionary = dictionary.freeze();
+        }
+
+        // Every fourth lookup misses
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+
+            lookups[i] = i % 4 == 0 ? word + "'" : word;
+        }
+    }
+
+    // Benchmarks
+    @Benchmark
+    public int getWordFrequency(Cursor cursor) {
+        return dictionary.getWordFrequency(lookups[cursor.next()]);
+    }
+
+    // Inner Classes
+    /**
+     * Position of a thread in the lookups.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        // Attributes
+        private int position = 0;
+
+        // Package Methods
+        int next() {
+            position = (position + 1) % LOOKUPS;
+
+            return position;
+        }
+    }
+}
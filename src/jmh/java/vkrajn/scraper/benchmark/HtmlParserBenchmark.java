@@ -0,0 +1,104 @@
+package vkrajn.scraper.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.parser.JsoupParser;
+import vkrajn.scraper.parser.StreamingHtmlParser;
+
+/**
+ * Cost of getting the words of an HTML page by building a DOM with
+ * {@link JsoupParser} and by streaming it through
+ * {@link StreamingHtmlParser}.
+ *
+ * The interesting number is the memory, run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm}, the bytes allocated per page. The DOM
+ * is held in full until the text is taken from it, the streaming parser
+ * only allocates its fixed buffers and the tag names.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/07/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class HtmlParserBenchmark {
+
+    // Constants
+    private static final String BASE_URI = "http://localhost/";
+
+    // Parameters
+    @Param({"256", "4096"})
+    public int kilobytes;
+
+    // Attributes
+    private JsoupParser jsoup;
+    private StreamingHtmlParser streaming;
+    private byte[] page;
+    private int words;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZipfCorpus corpus = new ZipfCorpus(42);
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head>"
+                + "<title>Synthetic page</title><style>p { margin: 0; }"
+                + "</style></head><body><nav><ul>");
+
+        for (int i = 0; i < 20; i++) {
+            html.append("<li><a href=\"/section/").append(i).append("\">")
+                    .append(corpus.nextWord()).append("</a></li>");
+        }
+        html.append("</ul></nav><article>");
+
+        while (html.length() < kilobytes * 1024) {
+            html.append("<h2>").append(corpus.text(30)).append("</h2><p>")
+                    .append(corpus.text(300)).append(" <b>")
+                    .append(corpus.nextWord()).append("</b> &amp; <a href=")
+                    .append("\"/x\">").append(corpus.text(20))
+                    .append("</a></p><script>var x = \"<p>\" + 1;</script>");
+        }
+        html.append("</article></body></html>");
+
+        jsoup = new JsoupParser();
+        streaming = new StreamingHtmlParser();
+        page = html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Benchmarks
+    @Benchmark
+    public int jsoup() throws IOException {
+        String text = jsoup.parseText(new ByteArrayInputStream(page),
+                "UTF-8", BASE_URI);
+
+        words = 0;
+        jsoup.getWords(text, (chars, offset, length) -> words++);
+
+        return words;
+    }
+
+    @Benchmark
+    public int streaming() throws IOException {
+        words = 0;
+        streaming.parseWords(new ByteArrayInputStream(page), "UTF-8",
+                (chars, offset, length) -> words++);
+
+        return words;
+    }
+}
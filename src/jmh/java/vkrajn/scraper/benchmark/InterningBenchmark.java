@@ -0,0 +1,123 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.WordInterner;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryTreeMapImpl;
+import vkrajn.scraper.parser.JsoupParser;
+import vkrajn.scraper.parser.Parser;
+
+/**
+ * Compares tokenizing and counting with a {@link String} per token against
+ * interning the tokens in a {@link WordInterner}, on a text of a 30K word
+ * vocabulary.
+ *
+ * Run with the GC profiler ({@code -prof gc}) to see the allocation per
+ * operation.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/11/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InterningBenchmark {
+
+    // Constants
+    private static final Pattern WORD_PATTERN = Pattern.compile(
+            "[\\w'&&[^\\d]]+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    // Parameters
+    @Param({"30000"})
+    public int distinctWords;
+
+    @Param({"8192"})
+    public int kilobytes;
+
+    // Attributes
+    private Parser parser;
+    private String text;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = new JsoupParser();
+        text = new ZipfCorpus(distinctWords, ZipfCorpus.DEFAULT_EXPONENT, 42)
+                .text(kilobytes * 1024);
+    }
+
+    // Benchmarks
+    /**
+     * The words as listed before interning, a substring per token.
+     *
+     * @return the words
+     */
+    @Benchmark
+    public List<String> getWordsSubstrings() {
+        List<String> words = new ArrayList<>();
+        Matcher m = WORD_PATTERN.matcher(text);
+
+        while (m.find()) {
+            words.add(text.substring(m.start(), m.end()));
+        }
+
+        return words;
+    }
+
+    @Benchmark
+    public List<String> getWordsInterned() {
+        return parser.getWords(text);
+    }
+
+    @Benchmark
+    public int[] getWordIds() {
+        return parser.getWordIds(text, new WordInterner());
+    }
+
+    /**
+     * Counting the words as before interning, a substring per token.
+     *
+     * @return the dictionary
+     */
+    @Benchmark
+    public Dictionary countSubstrings() {
+        Dictionary dictionary = new DictionaryTreeMapImpl();
+        Matcher m = WORD_PATTERN.matcher(text);
+
+        while (m.find()) {
+            dictionary.insert(text.substring(m.start(), m.end()));
+        }
+
+        return dictionary;
+    }
+
+    @Benchmark
+    public Dictionary countIds() {
+        DictionaryTreeMapImpl dictionary = new DictionaryTreeMapImpl();
+
+        for (int id : parser.getWordIds(text, dictionary.getInterner())) {
+            dictionary.insertId(id, 1);
+        }
+
+        return dictionary;
+    }
+}
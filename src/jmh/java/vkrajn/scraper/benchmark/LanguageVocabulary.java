@@ -0,0 +1,105 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generators of synthetic vocabularies shaped like the vocabularies of
+ * natural languages: stems built of syllables, inflected by suffixes and, in
+ * German, joined into compounds. Unlike the random words of
+ * {@link ZipfCorpus}, the words share prefixes and have long unshared
+ * suffixes, as the words of a real text do.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/09/2017
+ */
+public enum LanguageVocabulary {
+
+    ENGLISH(1, new String[]{"th", "st", "pr", "c", "m", "b", "w", "r", "l",
+        "s", "t", "d", "p", "gr", "br", "tr"}, new String[]{"a", "e", "i",
+        "o", "u", "ea", "ou", "ai"}, new String[]{"n", "t", "r", "ll", "ck",
+        "nd", "st", "ng", "rt", "ss"}, new String[]{"", "s", "ed", "ing",
+        "er", "ers", "ly", "ness", "ment", "ments", "tion", "able"}),
+    GERMAN(3, new String[]{"sch", "st", "sp", "k", "w", "g", "h", "z", "b",
+        "f", "l", "m", "r", "tr", "br", "pf", "Sch", "St", "K", "W", "G",
+        "H", "Z", "B"}, new String[]{"a", "e", "i", "o", "u", "ei", "au",
+        "ie", "ä", "ü", "ö"}, new String[]{"n", "t", "r", "ll", "ck", "nd",
+        "st", "ng", "rt", "ch", "cht", "tz", "rg"}, new String[]{"", "e", "en",
+        "er", "es", "ern", "ung", "ungen", "keit", "lich", "chen", "s"});
+
+    // Constants
+    private static final int MAX_SYLLABLES = 3;
+
+    // Attributes
+    private final int maxStems;     // stems joined into a compound
+    private final String[] onsets;
+    private final String[] vowels;
+    private final String[] codas;
+    private final String[] suffixes;
+
+    // Constructors
+    LanguageVocabulary(int maxStems, String[] onsets, String[] vowels,
+            String[] codas, String[] suffixes) {
+        this.maxStems = maxStems;
+        this.onsets = onsets;
+        this.vowels = vowels;
+        this.codas = codas;
+        this.suffixes = suffixes;
+    }
+
+    // Public Methods
+    /**
+     * Generates a vocabulary of distinct words. The stems are drawn from a
+     * pool about a quarter of the vocabulary size, so most of them come in
+     * several inflections.
+     *
+     * @param size number of distinct words
+     * @param seed seed of the random generator
+     * @return the words, in the order generated
+     */
+    public String[] vocabulary(int size, long seed) {
+        Random random = new Random(seed);
+        String[] stems = new String[Math.max(1, size / 4)];
+        Set<String> words = new LinkedHashSet<>();
+
+        for (int i = 0; i < stems.length; i++) {
+            stems[i] = stem(random);
+        }
+
+        while (words.size() < size) {
+            StringBuilder word = new StringBuilder();
+            int compound = 1 + random.nextInt(maxStems);
+
+            for (int i = 0; i < compound; i++) {
+                String stem = stems[random.nextInt(stems.length)];
+
+                word.append(i == 0 ? stem : stem.toLowerCase());
+            }
+
+            word.append(suffixes[random.nextInt(suffixes.length)]);
+            words.add(word.toString());
+        }
+
+        return words.toArray(new String[size]);
+    }
+
+    // Helper Methods
+    /**
+     * Builds a stem of random syllables.
+     *
+     * @param random the random generator
+     * @return the stem
+     */
+    private String stem(Random random) {
+        StringBuilder stem = new StringBuilder();
+        int syllables = 1 + random.nextInt(MAX_SYLLABLES);
+
+        for (int i = 0; i < syllables; i++) {
+            stem.append(onsets[random.nextInt(onsets.length)])
+                    .append(vowels[random.nextInt(vowels.length)]);
+        }
+
+        return stem.append(codas[random.nextInt(codas.length)]).toString();
+    }
+}
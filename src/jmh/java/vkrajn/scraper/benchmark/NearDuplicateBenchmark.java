@@ -0,0 +1,110 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.parser.JsoupParser;
+import vkrajn.scraper.parser.Parser;
+import vkrajn.scraper.pipeline.NearDuplicateFilter;
+
+/**
+ * Cost of aggregating a synthetic crawl with and without dropping the
+ * near-duplicate pages.
+ *
+ * The corpus mimics boilerplate-heavy sites: a given percentage of the pages
+ * repeat the text of an earlier page with a short page-specific tail, like
+ * further pages of a listing. Comparing the two benchmarks shows the work
+ * saved on the dropped pages against the cost of the signatures of all the
+ * pages.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NearDuplicateBenchmark {
+
+    // Parameters
+    @Param({"0", "50", "90"})
+    public int duplicatePercent;
+
+    @Param({"1000"})
+    public int pageCount;
+
+    @Param({"8"})
+    public int kilobytes;
+
+    // Attributes
+    private Parser parser;
+    private String[] pages;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZipfCorpus corpus = new ZipfCorpus(42);
+        Random random = new Random(42);
+
+        parser = new JsoupParser();
+        pages = new String[pageCount];
+
+        for (int i = 0; i < pageCount; i++) {
+            if (i > 0 && random.nextInt(100) < duplicatePercent) {
+                pages[i] = pages[random.nextInt(i)] + " " + corpus.text(32);
+            } else {
+                pages[i] = corpus.text(kilobytes * 1024);
+            }
+        }
+    }
+
+    // Benchmarks
+    @Benchmark
+    public Dictionary aggregateAll() {
+        Dictionary target = new DictionaryArrayTrieImpl();
+
+        for (String page : pages) {
+            target.mergeFrom(tokenize(page));
+        }
+
+        return target;
+    }
+
+    @Benchmark
+    public Dictionary aggregateFiltered() {
+        Dictionary target = new DictionaryArrayTrieImpl();
+        NearDuplicateFilter filter = new NearDuplicateFilter();
+
+        for (String page : pages) {
+            if (!filter.isNearDuplicate(page)) {
+                target.mergeFrom(tokenize(page));
+            }
+        }
+
+        return target;
+    }
+
+    // Helper Methods
+    private Dictionary tokenize(String page) {
+        Dictionary dictionary = new DictionaryArrayTrieImpl();
+
+        parser.getWords(page, dictionary);
+
+        return dictionary;
+    }
+}
@@ -0,0 +1,100 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * Measures the prefix queries of the dictionaries on a large vocabulary
+ * with Zipf-distributed word counts. The prefixes are taken from random
+ * words of the vocabulary, so every query has an answer.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/08/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class PrefixQueryBenchmark {
+
+    // Constants
+    private static final int PREFIXES = 1024;
+
+    // Parameters
+    @Param({"TRIE", "TREE_MAP"})
+    public DictionaryType type;
+
+    @Param({"1000000"})
+    public int distinctWords;
+
+    @Param({"2", "4"})
+    public int prefixLength;
+
+    @Param({"8", "100"})
+    public int limit;
+
+    // Attributes
+    private Dictionary dictionary;
+    private String[] prefixes;
+    private int next;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = new ZipfCorpus(distinctWords,
+                ZipfCorpus.DEFAULT_EXPONENT, 42).getVocabulary();
+        Random random = new Random(42);
+
+        dictionary = type.create();
+        for (int rank = 0; rank < vocabulary.length; rank++) {
+            dictionary.insert(vocabulary[rank],
+                    Math.max(1, vocabulary.length / (rank + 1)));
+        }
+
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String word;
+
+            do {
+                word = vocabulary[random.nextInt(vocabulary.length)];
+            } while (word.length() < prefixLength);
+
+            prefixes[i] = word.substring(0, prefixLength);
+        }
+    }
+
+    // Benchmarks
+    @Benchmark
+    public List<WordFrequency> getWordsWithPrefix() {
+        return dictionary.getWordsWithPrefix(nextPrefix(), limit);
+    }
+
+    @Benchmark
+    public long totalOccurrencesWithPrefix() {
+        return dictionary.totalOccurrencesWithPrefix(nextPrefix());
+    }
+
+    // Helper Methods
+    private String nextPrefix() {
+        next = (next + 1) % PREFIXES;
+
+        return prefixes[next];
+    }
+}
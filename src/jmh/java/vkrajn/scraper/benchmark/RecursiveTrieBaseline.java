@@ -0,0 +1,147 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.utils.MutableInt;
+
+/**
+ * The recursive traversals of {@code DictionaryTrieImpl} as they were before
+ * being rewritten to iterative walks, kept as a baseline for
+ * {@link TrieTraversalBenchmark}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/28/2017
+ */
+public class RecursiveTrieBaseline {
+
+    // Attributes
+    private final Map<Character, Node> roots;
+
+    // Constructors
+    public RecursiveTrieBaseline() {
+        roots = new HashMap<>();
+    }
+
+    // Public Methods
+    /**
+     * Insert a word into the Trie.
+     *
+     * @param string the word to insert
+     */
+    public void insert(String string) {
+        Map<Character, Node> children = roots;
+        Node node = null;
+
+        for (int i = 0; i < string.length(); i++) {
+            node = children.get(string.charAt(i));
+
+            if (node == null) {
+                node = new Node();
+                children.put(string.charAt(i), node);
+            }
+
+            children = node.children;
+        }
+
+        node.wordCount++;
+    }
+
+    /**
+     * Gets frequencies for all words in the Trie.
+     *
+     * @return a {@link List} of {@link WordFrequency} objects
+     */
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>();
+
+        roots.forEach((prefix, node) -> {
+            if (node.wordCount > 0) {
+                wordFrequencies.add(
+                        new WordFrequency(prefix.toString(), node.wordCount));
+            }
+
+            wordFrequencies.addAll(getWordFreqsRec(prefix.toString(), node));
+        });
+
+        return wordFrequencies;
+    }
+
+    /**
+     * Finds the longest words in the Trie.
+     *
+     * @return a {@link List} of the longest words
+     */
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+
+        MutableInt wordLength = new MutableInt();
+        wordLength.set(0);
+
+        roots.forEach((prefix, node) -> {
+            if (node.wordCount > 0) {
+                if (wordLength.get() == 0) {
+                    wordLength.increment();
+                }
+
+                if (wordLength.get() == 1) {
+                    longestWords.add(prefix.toString());
+                }
+            }
+
+            getLongestWordsRec(prefix.toString(), wordLength, node,
+                    longestWords, 1);
+        });
+
+        return longestWords;
+    }
+
+    // Helper Methods
+    private List<WordFrequency> getWordFreqsRec(String str, Node curNode) {
+        List<WordFrequency> wfs = new ArrayList<>();
+
+        curNode.children.forEach((prefix, node) -> {
+            String curPrefix = str.concat(prefix.toString());
+            if (node.wordCount > 0) {
+                wfs.add(new WordFrequency(curPrefix, node.wordCount));
+            }
+
+            wfs.addAll(getWordFreqsRec(curPrefix, node));
+        });
+
+        return wfs;
+    }
+
+    private void getLongestWordsRec(String str, MutableInt curMax, Node curNode,
+            List<String> longestWords, int depth) {
+
+        int curDepth = depth + 1;
+
+        curNode.children.forEach((prefix, node) -> {
+
+            if (node.wordCount > 0) {
+                if (curDepth > curMax.get()) {
+                    curMax.set(curDepth);
+
+                    longestWords.clear();
+                    longestWords.add(str.concat(prefix.toString()));
+                } else if (curDepth == curMax.get()) {
+                    longestWords.add(str.concat(prefix.toString()));
+                }
+            }
+
+            getLongestWordsRec(str.concat(prefix.toString()),
+                    curMax, node, longestWords, curDepth);
+        });
+    }
+
+    // Inner Classes
+    private static class Node {
+
+        // Attributes
+        private int wordCount;
+        private final Map<Character, Node> children = new HashMap<>();
+    }
+}
@@ -0,0 +1,63 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.parser.JsoupParser;
+import vkrajn.scraper.parser.Parser;
+
+/**
+ * Throughput of splitting page text into words.
+ *
+ * The text size is given in kilobytes and the score in texts split per
+ * second, so the throughput in megabytes per second is the score multiplied
+ * by the size and divided by 1024.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/21/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    // Parameters
+    @Param({"64", "1024", "8192"})
+    public int kilobytes;
+
+    // Attributes
+    private Parser parser;
+    private String text;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = new JsoupParser();
+        text = new ZipfCorpus(42).text(kilobytes * 1024);
+    }
+
+    // Benchmarks
+    @Benchmark
+    public List<String> getWords() {
+        return parser.getWords(text);
+    }
+
+    @Benchmark
+    public List<String> scanWords() {
+        return parser.scanWords(text);
+    }
+}
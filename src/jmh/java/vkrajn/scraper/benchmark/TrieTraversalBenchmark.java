@@ -0,0 +1,78 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.DictionaryTrieImpl;
+
+/**
+ * Compares the iterative traversals of {@link DictionaryTrieImpl} with the
+ * recursive ones they replaced, on a large vocabulary.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/28/2017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class TrieTraversalBenchmark {
+
+    // Parameters
+    @Param({"1000000"})
+    public int distinctWords;
+
+    // Attributes
+    private DictionaryTrieImpl iterative;
+    private RecursiveTrieBaseline recursive;
+
+    // Setup
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = new ZipfCorpus(distinctWords,
+                ZipfCorpus.DEFAULT_EXPONENT, 42).getVocabulary();
+
+        iterative = new DictionaryTrieImpl();
+        recursive = new RecursiveTrieBaseline();
+
+        for (String word : vocabulary) {
+            iterative.insert(word);
+            recursive.insert(word);
+        }
+    }
+
+    // Benchmarks
+    @Benchmark
+    public List<WordFrequency> getWordFrequenciesIterative() {
+        return iterative.getWordFrequencies();
+    }
+
+    @Benchmark
+    public List<WordFrequency> getWordFrequenciesRecursive() {
+        return recursive.getWordFrequencies();
+    }
+
+    @Benchmark
+    public List<String> getLongestWordsIterative() {
+        return iterative.getLongestWords();
+    }
+
+    @Benchmark
+    public List<String> getLongestWordsRecursive() {
+        return recursive.getLongestWords();
+    }
+}
@@ -0,0 +1,144 @@
+package vkrajn.scraper.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A generator of synthetic word corpora whose word frequencies follow Zipf's
+ * law, as natural language texts do.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/21/2017
+ */
+public class ZipfCorpus {
+
+    // Constants
+    public static final int DEFAULT_VOCABULARY_SIZE = 50000;
+    public static final double DEFAULT_EXPONENT = 1.0;
+
+    private static final String LETTERS
+            = "eeeeeeeeeeeetttttttttaaaaaaaaooooooooiiiiiiinnnnnnn"
+            + "ssssssrrrrrrhhhhhlllldddcccuuummwwffggyyppbbvkjxqzEAST'_";
+    private static final int MIN_WORD_LENGTH = 1;
+    private static final int MAX_WORD_LENGTH = 14;
+
+    // Attributes
+    private final String[] vocabulary;
+    private final double[] cumulative;
+    private final Random random;
+
+    // Constructors
+    public ZipfCorpus(long seed) {
+        this(DEFAULT_VOCABULARY_SIZE, DEFAULT_EXPONENT, seed);
+    }
+
+    /**
+     * Creates a generator over a random vocabulary of a given size.
+     *
+     * @param vocabularySize number of distinct words
+     * @param exponent exponent of the Zipf distribution
+     * @param seed seed of the random generator
+     */
+    public ZipfCorpus(int vocabularySize, double exponent, long seed) {
+        random = new Random(seed);
+        vocabulary = new String[vocabularySize];
+        cumulative = new double[vocabularySize];
+
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary[i] = randomWord();
+        }
+
+        double sum = 0;
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    // Getters
+    public String[] getVocabulary() {
+        return vocabulary;
+    }
+
+    // Public Methods
+    /**
+     * Draws the next word from the distribution.
+     *
+     * @return a word of the vocabulary
+     */
+    public String nextWord() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+
+        return vocabulary[Math.min(rank, vocabulary.length - 1)];
+    }
+
+    /**
+     * Draws a given number of words from the distribution.
+     *
+     * @param tokens number of words to draw
+     * @return an array of words
+     */
+    public String[] tokens(int tokens) {
+        String[] corpus = new String[tokens];
+
+        for (int i = 0; i < tokens; i++) {
+            corpus[i] = nextWord();
+        }
+
+        return corpus;
+    }
+
+    /**
+     * Creates a text of at least a given length from the distribution, with
+     * words separated by whitespace, punctuation and numbers.
+     *
+     * @param length minimal number of characters of the text
+     * @return the generated text
+     */
+    public String text(int length) {
+        StringBuilder text = new StringBuilder(length + MAX_WORD_LENGTH + 8);
+
+        while (text.length() < length) {
+            text.append(nextWord());
+
+            int separator = random.nextInt(20);
+            if (separator == 0) {
+                text.append(", ");
+            } else if (separator == 1) {
+                text.append(". ");
+            } else if (separator == 2) {
+                text.append(' ').append(random.nextInt(2017)).append(' ');
+            } else {
+                text.append(' ');
+            }
+        }
+
+        return text.toString();
+    }
+
+    // Helper Methods
+    /**
+     * Creates a random word with a letter distribution similar to English.
+     *
+     * @return a random word
+     */
+    private String randomWord() {
+        int length = MIN_WORD_LENGTH
+                + random.nextInt(MAX_WORD_LENGTH - MIN_WORD_LENGTH + 1);
+        char[] word = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            word[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+
+        return new String(word);
+    }
+}
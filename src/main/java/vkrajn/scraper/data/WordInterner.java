@@ -0,0 +1,334 @@
+package vkrajn.scraper.data;
+
+import java.util.Arrays;
+
+/**
+ * An arena of distinct words, assigning every word a stable int ID.
+ *
+ * A word is interned straight from a range of the source text: its
+ * characters are hashed and looked up in an open-addressing table, and
+ * only a word seen for the first time is copied, to the end of a pooled
+ * {@code char[]}. Interning a known word therefore allocates nothing. The
+ * IDs are dense, starting at 0 in the order the words were first seen, so
+ * counters can be kept in plain arrays indexed by them. A {@link String} is
+ * created only when the word is asked for by {@link #getWord(int)}, once
+ * per distinct word.
+ *
+ * The interner is not thread-safe.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/11/2017
+ */
+public class WordInterner {
+
+    // Constants
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 64;     // a power of two
+
+    // Attributes
+    private char[] pool;        // characters of all words, by their ID
+    private int poolLength;
+    private int[] offsets;      // start of each word in the pool
+    private int[] hashes;       // hash of each word
+    private String[] strings;   // words created by getWord, by their ID
+    private int size;
+
+    private int[] table;        // ID + 1 of the word, 0 for an empty slot
+
+    // Constructors
+    public WordInterner() {
+        pool = new char[INITIAL_CAPACITY * 8];
+        poolLength = 0;
+        offsets = new int[INITIAL_CAPACITY + 1];
+        hashes = new int[INITIAL_CAPACITY];
+        strings = new String[INITIAL_CAPACITY];
+        size = 0;
+
+        table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    // Public Methods
+    /**
+     * Interns a word given by a range of characters.
+     *
+     * @param chars array containing the word
+     * @param offset index of the first character of the word
+     * @param length number of characters of the word
+     * @return ID of the word
+     */
+    public int intern(char[] chars, int offset, int length) {
+        int hash = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int slot = findSlot(hash, chars, offset, length);
+
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+
+        ensurePoolCapacity(length);
+        System.arraycopy(chars, offset, pool, poolLength, length);
+
+        return add(slot, hash, length);
+    }
+
+    /**
+     * Interns a word given by a range of a {@link CharSequence}.
+     *
+     * @param text text containing the word
+     * @param start index of the first character of the word
+     * @param end index after the last character of the word
+     * @return ID of the word
+     */
+    public int intern(CharSequence text, int start, int end) {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+
+        int slot = findSlot(hash, text, start, end);
+
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+
+        ensurePoolCapacity(end - start);
+        for (int i = start; i < end; i++) {
+            pool[poolLength + i - start] = text.charAt(i);
+        }
+
+        return add(slot, hash, end - start);
+    }
+
+    /**
+     * Finds the ID of a word without interning it.
+     *
+     * @param word the word
+     * @return ID of the word, {@link #NONE} if it is not interned
+     */
+    public int find(CharSequence word) {
+        int hash = 0;
+
+        for (int i = 0; i < word.length(); i++) {
+            hash = 31 * hash + word.charAt(i);
+        }
+
+        return table[findSlot(hash, word, 0, word.length())] - 1;
+    }
+
+    /**
+     * Gets an interned word. The {@link String} is created by the first call
+     * and shared by the later ones.
+     *
+     * @param id ID of the word
+     * @return the word
+     */
+    public String getWord(int id) {
+        if (strings[id] == null) {
+            strings[id] = new String(pool, offsets[id], length(id));
+        }
+
+        return strings[id];
+    }
+
+    /**
+     * Gets the length of an interned word.
+     *
+     * @param id ID of the word
+     * @return number of characters of the word
+     */
+    public int length(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets a character of an interned word.
+     *
+     * @param id ID of the word
+     * @param index index of the character in the word
+     * @return the character
+     */
+    public char charAt(int id, int index) {
+        return pool[offsets[id] + index];
+    }
+
+    /**
+     * Copies the characters of an interned word into an array.
+     *
+     * @param id ID of the word
+     * @param dst destination array
+     * @param dstBegin index in the destination to copy the word to
+     */
+    public void getChars(int id, char[] dst, int dstBegin) {
+        System.arraycopy(pool, offsets[id], dst, dstBegin, length(id));
+    }
+
+    /**
+     * Gets the number of distinct words interned.
+     *
+     * @return number of words, which is also the next ID to be assigned
+     */
+    public int size() {
+        return size;
+    }
+
+    // Helper Methods
+    /**
+     * Finds the slot of a word given by a range of characters, or the empty
+     * slot where it belongs.
+     *
+     * @param hash hash of the word
+     * @param chars array containing the word
+     * @param offset index of the first character of the word
+     * @param length number of characters of the word
+     * @return the slot
+     */
+    private int findSlot(int hash, char[] chars, int offset, int length) {
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+
+            if (hashes[id] == hash && length(id) == length
+                    && Arrays.equals(pool, offsets[id], offsets[id] + length,
+                            chars, offset, offset + length)) {
+                break;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Finds the slot of a word given by a range of a {@link CharSequence},
+     * or the empty slot where it belongs.
+     *
+     * @param hash hash of the word
+     * @param text text containing the word
+     * @param start index of the first character of the word
+     * @param end index after the last character of the word
+     * @return the slot
+     */
+    private int findSlot(int hash, CharSequence text, int start, int end) {
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+
+            if (hashes[id] == hash && length(id) == end - start
+                    && equals(id, text, start)) {
+                break;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Compares an interned word with a range of a {@link CharSequence} of
+     * the same length.
+     *
+     * @param id ID of the word
+     * @param text text containing the other word
+     * @param start index of the first character of the other word
+     * @return true if the words are equal
+     */
+    private boolean equals(int id, CharSequence text, int start) {
+        int offset = offsets[id];
+
+        for (int i = 0; i < length(id); i++) {
+            if (pool[offset + i] != text.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Registers a word whose characters were just appended to the pool.
+     *
+     * @param slot empty slot of the word
+     * @param hash hash of the word
+     * @param length number of characters of the word
+     * @return ID of the word
+     */
+    private int add(int slot, int hash, int length) {
+        if (size == hashes.length) {
+            int capacity = size * 2;
+
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            hashes = Arrays.copyOf(hashes, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+        }
+
+        int id = size++;
+
+        poolLength += length;
+        offsets[id + 1] = poolLength;
+        hashes[id] = hash;
+        table[slot] = id + 1;
+
+        if (size * 2 > table.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    /**
+     * Doubles the table, the IDs stay the same.
+     */
+    private void rehash() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            grown[slot] = id + 1;
+        }
+
+        table = grown;
+    }
+
+    /**
+     * Makes sure the pool can take a word of a given length.
+     *
+     * @param length number of characters to append
+     */
+    private void ensurePoolCapacity(int length) {
+        if (poolLength + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(poolLength + length,
+                    pool.length * 2));
+        }
+    }
+
+    /**
+     * Spreads the bits of a hash, so that words differing only in their last
+     * characters do not take adjacent slots.
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static int mix(int hash) {
+        int mixed = hash * 0x9e3779b9;
+
+        return mixed ^ (mixed >>> 16);
+    }
+}
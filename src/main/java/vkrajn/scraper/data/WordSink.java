@@ -0,0 +1,22 @@
+package vkrajn.scraper.data;
+
+/**
+ * A consumer of words extracted from a text. Words are passed as ranges of a
+ * character array, so no {@link String} has to be created for them.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/22/2017
+ */
+@FunctionalInterface
+public interface WordSink {
+
+    /**
+     * Accepts a word given by a range of characters. The array may be reused
+     * by the caller once the method returns.
+     *
+     * @param chars array containing the word
+     * @param offset index of the first character of the word
+     * @param length number of characters of the word
+     */
+    void insert(char[] chars, int offset, int length);
+}
@@ -0,0 +1,107 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Utility methods for working with multiple {@link Dictionary} instances.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/25/2017
+ */
+public final class Dictionaries {
+
+    // Constructors
+    private Dictionaries() {
+    }
+
+    // Public Methods
+    /**
+     * Merges a list of dictionaries into one, in parallel using the common
+     * {@link ForkJoinPool}.
+     *
+     * @param <D> type of the dictionaries
+     * @param dictionaries dictionaries to merge
+     * @return the merged dictionary
+     * @see #mergeAll(List, ForkJoinPool)
+     */
+    public static <D extends Dictionary> D mergeAll(List<D> dictionaries) {
+        return mergeAll(dictionaries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merges a list of dictionaries into one, in parallel using a given
+     * {@link ForkJoinPool}. The list is split in halves recursively and the
+     * merged halves are merged pairwise.
+     *
+     * The dictionaries are merged in place to avoid copying, so all of them
+     * except the first one should be considered consumed afterwards. The
+     * first one holds the result.
+     *
+     * @param <D> type of the dictionaries
+     * @param dictionaries dictionaries to merge
+     * @param pool pool to run the merge in
+     * @return the merged dictionary, which is the first one of the list
+     * @throws IllegalArgumentException if the list is empty
+     */
+    public static <D extends Dictionary> D mergeAll(List<D> dictionaries,
+            ForkJoinPool pool) {
+        if (dictionaries.isEmpty()) {
+            throw new IllegalArgumentException("No dictionaries to merge");
+        }
+
+        return pool.invoke(new MergeTask<>(dictionaries));
+    }
+
+    // Inner Classes
+    /**
+     * A task merging a range of dictionaries into the first one of the range.
+     *
+     * @param <D> type of the dictionaries
+     */
+    // Serializable only as a ForkJoinTask, the tasks are never serialized
+    @SuppressWarnings("serial")
+    private static class MergeTask<D extends Dictionary>
+            extends RecursiveTask<D> {
+
+        // Constants
+        private static final int SEQUENTIAL_THRESHOLD = 2;
+
+        // Attributes
+        private final List<D> dictionaries;
+
+        // Constructors
+        private MergeTask(List<D> dictionaries) {
+            this.dictionaries = dictionaries;
+        }
+
+        // Override Methods
+        @Override
+        protected D compute() {
+            if (dictionaries.size() <= SEQUENTIAL_THRESHOLD) {
+                D merged = dictionaries.get(0);
+
+                for (int i = 1; i < dictionaries.size(); i++) {
+                    merged.mergeFrom(dictionaries.get(i));
+                }
+
+                return merged;
+            }
+
+            int middle = dictionaries.size() / 2;
+            MergeTask<D> left = new MergeTask<>(
+                    dictionaries.subList(0, middle));
+            MergeTask<D> right = new MergeTask<>(
+                    dictionaries.subList(middle, dictionaries.size()));
+
+            left.fork();
+            D merged = right.compute();
+            D result = left.join();
+
+            result.mergeFrom(merged);
+
+            return result;
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package vkrajn.scraper.data.dictionary;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.WordSink;
 
 /**
  * A dictionary interface for handling extracted words form a text.
  *
  * @author Vojtech Krajnansky
- * @version 07/18/2017
+ * @version 08/10/2017
  */
-public interface Dictionary {
+public interface Dictionary extends WordSink {
 
     /**
      * Insert a word into the dictionary.
@@ -18,6 +21,46 @@ public interface Dictionary {
      */
     void insert(String string);
 
+    /**
+     * Insert a word into the dictionary a given number of times.
+     *
+     * @param string the word to insert
+     * @param count number of occurrences of the word, nothing is inserted if
+     * it is not positive
+     */
+    void insert(String string, int count);
+
+    /**
+     * Insert a word given by a range of characters into the dictionary.
+     * Implementations should override this to avoid creating a
+     * {@link String} for words which are already in the dictionary.
+     *
+     * @param chars array containing the word
+     * @param offset index of the first character of the word
+     * @param length number of characters of the word
+     */
+    @Override
+    default void insert(char[] chars, int offset, int length) {
+        if (length > 0) {
+            insert(new String(chars, offset, length));
+        }
+    }
+
+    /**
+     * Adds all words of another dictionary into this dictionary, with their
+     * frequencies. The other dictionary is not modified.
+     *
+     * Implementations should override this to merge dictionaries of their
+     * own type structurally, without listing the words of the other one.
+     *
+     * @param other dictionary to merge into this one
+     */
+    default void mergeFrom(Dictionary other) {
+        other.getWordFrequencies().forEach(wf -> {
+            insert(wf.getWord(), wf.getFrequency());
+        });
+    }
+
     /**
      * Get frequency for a given word.
      *
@@ -29,13 +72,23 @@ public interface Dictionary {
 
     /**
      * Gets the most frequent letter in the dictionary, with respect to word
-     * counts.
+     * counts. If several letters share the highest frequency, the one which
+     * reached it first is returned.
      *
      * @return the most frequent letter in the dictionary, null if the
      * dictionary is empty
      */
     Character getMostFrequentLetter();
 
+    /**
+     * Gets the most frequent letters in the dictionary, with respect to word
+     * counts, ordered by decreasing frequency.
+     *
+     * @param k maximal number of letters to return
+     * @return a {@link List} of at most k most frequent letters
+     */
+    List<Character> getMostFrequentLetters(int k);
+
     /**
      * Gets frequencies for all words in the dictionary.
      *
@@ -44,10 +97,118 @@ public interface Dictionary {
      */
     List<WordFrequency> getWordFrequencies();
 
+    /**
+     * Gets the most frequent words in the dictionary, ordered by decreasing
+     * frequency.
+     *
+     * Implementations should override this to serve the query from an index
+     * kept current by the inserts, without listing all of the words.
+     *
+     * @param k maximal number of words to return
+     * @return a {@link List} of {@link WordFrequency} objects for at most k
+     * most frequent words
+     */
+    default List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> wordFrequencies = getWordFrequencies();
+
+        wordFrequencies.sort(Comparator.comparingInt(
+                WordFrequency::getFrequency).reversed());
+
+        return new ArrayList<>(wordFrequencies.subList(0,
+                Math.max(0, Math.min(k, wordFrequencies.size()))));
+    }
+
+    /**
+     * Counts the distinct words starting with a prefix.
+     *
+     * Implementations should override this to serve the query without
+     * listing all of the words.
+     *
+     * @param prefix the prefix, an empty prefix matches all words
+     * @return number of distinct words with the prefix
+     */
+    default int countWordsWithPrefix(String prefix) {
+        int count = 0;
+
+        for (WordFrequency wf : getWordFrequencies()) {
+            if (wf.getWord().startsWith(prefix)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Sums the frequencies of the words starting with a prefix.
+     *
+     * Implementations should override this to serve the query without
+     * listing all of the words.
+     *
+     * @param prefix the prefix, an empty prefix matches all words
+     * @return total number of occurrences of the words with the prefix
+     */
+    default long totalOccurrencesWithPrefix(String prefix) {
+        long total = 0;
+
+        for (WordFrequency wf : getWordFrequencies()) {
+            if (wf.getWord().startsWith(prefix)) {
+                total += wf.getFrequency();
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the most frequent words starting with a prefix, ordered by
+     * decreasing frequency, such as the completions of a typed word.
+     *
+     * Implementations should override this to serve the query without
+     * listing all of the words.
+     *
+     * @param prefix the prefix, an empty prefix matches all words
+     * @param limit maximal number of words to return
+     * @return a {@link List} of {@link WordFrequency} objects for at most
+     * limit most frequent words with the prefix
+     */
+    default List<WordFrequency> getWordsWithPrefix(String prefix,
+            int limit) {
+        List<WordFrequency> words = new ArrayList<>();
+
+        for (WordFrequency wf : getWordFrequencies()) {
+            if (wf.getWord().startsWith(prefix)) {
+                words.add(wf);
+            }
+        }
+
+        words.sort(Comparator.comparingInt(
+                WordFrequency::getFrequency).reversed());
+
+        return new ArrayList<>(words.subList(0,
+                Math.max(0, Math.min(limit, words.size()))));
+    }
+
     /**
      * Finds the longest words from the dictionary.
      *
      * @return a {@link List} of longest words in the dictionary
      */
     List<String> getLongestWords();
+
+    /**
+     * Creates an immutable copy of the dictionary for serving reads, with
+     * the words located by a minimal perfect hash and the answers of the
+     * ranking queries precomputed. The copy can be read by any number of
+     * threads without locking, this dictionary is not modified.
+     *
+     * The copy looks the words up by their exact spelling. Implementations
+     * matching words in another way should override this to keep their
+     * answers.
+     *
+     * @return the frozen copy
+     */
+    default FrozenDictionary freeze() {
+        return new FrozenDictionary(this);
+    }
 }
@@ -0,0 +1,423 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A {@link Dictionary} implemented using a Trie whose nodes are kept in flat
+ * primitive arrays instead of separate objects.
+ *
+ * Every node is identified by an index into the arrays. Children of a node
+ * form a singly linked list (first child, next sibling) kept sorted by their
+ * letter, so the words are traversed in lexicographic order. Each node also
+ * remembers its parent, which allows the whole Trie to be walked without
+ * recursion or an explicit stack.
+ *
+ * Nodes ending a word are ranked by their word counts as well, so the most
+ * frequent words are spelled out from their nodes without a traversal.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/20/2017
+ */
+public class DictionaryArrayTrieImpl implements Dictionary {
+
+    // Constants
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Attributes
+    private char[] letters;
+    private int[] wordCounts;   // if 0, the path to the node is not a word
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] parents;
+    private int[] wordIds;      // ID in wordRanking, NONE if not a word
+    private int nodeCount;
+
+    private int[] wordNodes;    // nodes ending a word, by their ID
+    private final FrequencyBuckets wordRanking;
+
+    private char[] wordBuffer;
+    private final LetterFrequencies letterFrequency;
+
+    // Constructors
+    public DictionaryArrayTrieImpl() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty dictionary with space preallocated for a given number
+     * of Trie nodes.
+     *
+     * @param initialCapacity expected number of nodes
+     */
+    public DictionaryArrayTrieImpl(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+
+        letters = new char[capacity];
+        wordCounts = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        parents = new int[capacity];
+        wordIds = new int[capacity];
+
+        wordNodes = new int[capacity];
+        wordRanking = new FrequencyBuckets();
+
+        wordBuffer = new char[16];
+        letterFrequency = new LetterFrequencies();
+
+        // The root represents the empty prefix
+        nodeCount = 0;
+        newNode(NONE, '\0');
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        int node = ROOT;
+
+        for (int i = 0; i < string.length(); i++) {
+            node = getOrAddChild(node, string.charAt(i));
+            letterFrequency.add(string.charAt(i), count);
+        }
+
+        addWordCount(node, count);
+    }
+
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+
+        int node = ROOT;
+
+        for (int i = offset; i < offset + length; i++) {
+            node = getOrAddChild(node, chars[i]);
+            letterFrequency.add(chars[i], 1);
+        }
+
+        addWordCount(node, 1);
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryArrayTrieImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionaryArrayTrieImpl trie = (DictionaryArrayTrieImpl) other;
+        int[] path = new int[16];   // nodes of this Trie matching the walk
+        int node = trie.firstChildren[ROOT];
+        int depth = 0;
+
+        // Walk the other Trie in pre-order, adding up the word counts
+        while (node != NONE) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+            }
+
+            int parent = depth == 0 ? ROOT : path[depth - 1];
+            path[depth] = getOrAddChild(parent, trie.letters[node]);
+
+            if (trie.wordCounts[node] > 0) {
+                addWordCount(path[depth], trie.wordCounts[node]);
+            }
+
+            if (trie.firstChildren[node] != NONE) {
+                node = trie.firstChildren[node];
+                depth++;
+            } else {
+                while (node != NONE && trie.nextSiblings[node] == NONE) {
+                    node = trie.parents[node];
+                    depth--;
+                }
+
+                if (node != NONE) {
+                    node = trie.nextSiblings[node];
+                }
+            }
+        }
+
+        letterFrequency.addAll(trie.letterFrequency);
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        int node = ROOT;
+
+        for (int i = 0; i < string.length() && node != NONE; i++) {
+            node = findChild(node, string.charAt(i));
+        }
+
+        if (node == NONE || wordCounts[node] == 0) {
+            return -1;
+        }
+
+        return wordCounts[node];
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
+    }
+
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>();
+
+        int node = firstChildren[ROOT];
+        int depth = 0;
+
+        // Walk the Trie in pre-order, following the parent links upwards
+        while (node != NONE) {
+            ensureBufferCapacity(depth + 1);
+            wordBuffer[depth] = letters[node];
+
+            if (wordCounts[node] > 0) {
+                wordFrequencies.add(new WordFrequency(
+                        new String(wordBuffer, 0, depth + 1),
+                        wordCounts[node]));
+            }
+
+            if (firstChildren[node] != NONE) {
+                node = firstChildren[node];
+                depth++;
+            } else {
+                while (node != NONE && nextSiblings[node] == NONE) {
+                    node = parents[node];
+                    depth--;
+                }
+
+                if (node != NONE) {
+                    node = nextSiblings[node];
+                }
+            }
+        }
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = wordRanking.first();
+
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            int node = wordNodes[id];
+
+            topWords.add(new WordFrequency(spellWord(node),
+                    wordCounts[node]));
+            id = wordRanking.next(id);
+        }
+
+        return topWords;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+
+        int node = firstChildren[ROOT];
+        int depth = 0;
+        int maxLength = 0;
+
+        // Walk the Trie in pre-order, following the parent links upwards
+        while (node != NONE) {
+            ensureBufferCapacity(depth + 1);
+            wordBuffer[depth] = letters[node];
+
+            if (wordCounts[node] > 0 && depth + 1 >= maxLength) {
+                if (depth + 1 > maxLength) {
+                    maxLength = depth + 1;
+                    longestWords.clear();
+                }
+
+                longestWords.add(new String(wordBuffer, 0, depth + 1));
+            }
+
+            if (firstChildren[node] != NONE) {
+                node = firstChildren[node];
+                depth++;
+            } else {
+                while (node != NONE && nextSiblings[node] == NONE) {
+                    node = parents[node];
+                    depth--;
+                }
+
+                if (node != NONE) {
+                    node = nextSiblings[node];
+                }
+            }
+        }
+
+        return longestWords;
+    }
+
+    // Helper Methods
+    /**
+     * Finds a child of a node labeled with a given letter.
+     *
+     * @param node index of the parent node
+     * @param letter label of the child
+     * @return index of the child, {@code NONE} if it does not exist
+     */
+    private int findChild(int node, char letter) {
+        int child = firstChildren[node];
+
+        // Siblings are sorted, so the search can stop at a greater letter
+        while (child != NONE && letters[child] < letter) {
+            child = nextSiblings[child];
+        }
+
+        if (child != NONE && letters[child] == letter) {
+            return child;
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Finds a child of a node labeled with a given letter, creates it at its
+     * sorted position among the siblings if it does not exist yet.
+     *
+     * @param node index of the parent node
+     * @param letter label of the child
+     * @return index of the child
+     */
+    private int getOrAddChild(int node, char letter) {
+        int previous = NONE;
+        int child = firstChildren[node];
+
+        while (child != NONE && letters[child] < letter) {
+            previous = child;
+            child = nextSiblings[child];
+        }
+
+        if (child != NONE && letters[child] == letter) {
+            return child;
+        }
+
+        int added = newNode(node, letter);
+        nextSiblings[added] = child;
+
+        if (previous == NONE) {
+            firstChildren[node] = added;
+        } else {
+            nextSiblings[previous] = added;
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds occurrences to the word ending at a node and updates its rank.
+     *
+     * @param node index of the last node of the word
+     * @param count positive number of occurrences
+     */
+    private void addWordCount(int node, int count) {
+        if (wordIds[node] == NONE) {
+            int id = wordRanking.newItem();
+
+            if (id == wordNodes.length) {
+                wordNodes = Arrays.copyOf(wordNodes, id * 2);
+            }
+
+            wordIds[node] = id;
+            wordNodes[id] = node;
+        }
+
+        wordCounts[node] += count;
+        wordRanking.increment(wordIds[node], count);
+    }
+
+    /**
+     * Spells the word ending at a node by following the parent links.
+     *
+     * @param node index of the last node of the word
+     * @return the word
+     */
+    private String spellWord(int node) {
+        int length = 0;
+
+        for (int n = node; n != NONE; n = parents[n]) {
+            length++;
+        }
+
+        char[] word = new char[length];
+
+        for (int n = node; n != NONE; n = parents[n]) {
+            word[--length] = letters[n];
+        }
+
+        return new String(word);
+    }
+
+    /**
+     * Allocates a new node at the end of the arrays, growing them if needed.
+     *
+     * @param parent index of the parent node
+     * @param letter label of the node
+     * @return index of the new node
+     */
+    private int newNode(int parent, char letter) {
+        if (nodeCount == letters.length) {
+            int capacity = letters.length * 2;
+
+            letters = Arrays.copyOf(letters, capacity);
+            wordCounts = Arrays.copyOf(wordCounts, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            wordIds = Arrays.copyOf(wordIds, capacity);
+        }
+
+        int node = nodeCount++;
+
+        letters[node] = letter;
+        wordCounts[node] = 0;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        parents[node] = parent == ROOT ? NONE : parent;
+        wordIds[node] = NONE;
+
+        return node;
+    }
+
+    /**
+     * Makes sure the word buffer can hold a word of a given length.
+     *
+     * @param length required length
+     */
+    private void ensureBufferCapacity(int length) {
+        if (wordBuffer.length < length) {
+            wordBuffer = Arrays.copyOf(wordBuffer,
+                    Math.max(length, wordBuffer.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A thread-safe {@link Dictionary} implemented using a
+ * {@link ConcurrentHashMap} of {@link LongAdder} counters.
+ *
+ * Inserts of many threads do not block each other. Counters are striped, so
+ * threads incrementing the same frequent word do not contend on a single
+ * memory location either. Queries are weakly consistent, a query running
+ * concurrently with inserts may or may not reflect them.
+ *
+ * Unlike the other implementations, letters sharing a frequency are ranked
+ * from the lowest letter rather than by the time they reached it. Keeping
+ * the arrival order would take a write to memory shared by all inserting
+ * threads, which the striped counters are here to avoid.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/24/2017
+ */
+public class DictionaryConcurrentImpl implements Dictionary {
+
+    // Attributes
+    private final ConcurrentMap<String, LongAdder> words;
+    private final ConcurrentMap<Character, LongAdder> letterFrequency;
+    private final AtomicInteger longestLength;
+
+    // Constructors
+    public DictionaryConcurrentImpl() {
+        words = new ConcurrentHashMap<>();
+        letterFrequency = new ConcurrentHashMap<>();
+        longestLength = new AtomicInteger();
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        LongAdder frequency = words.get(string);
+
+        if (frequency == null) {
+            frequency = getOrAdd(words, string);
+            updateLongestLength(string.length());
+        }
+
+        frequency.add(count);
+
+        increaseLetterFreq(string, count);
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        LongAdder count = words.get(string);
+
+        if (count == null) {
+            return -1;
+        }
+
+        return toInt(count.sum());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If several letters share the highest frequency, the lowest of them is
+     * returned.
+     */
+    @Override
+    public Character getMostFrequentLetter() {
+        Character mostFrequent = null;
+        long maxCount = 0;
+
+        for (Entry<Character, LongAdder> entry : letterFrequency.entrySet()) {
+            long count = entry.getValue().sum();
+
+            if (count > maxCount || (count == maxCount && count > 0
+                    && entry.getKey() < mostFrequent)) {
+                mostFrequent = entry.getKey();
+                maxCount = count;
+            }
+        }
+
+        return mostFrequent;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Letters sharing a frequency are ordered from the lowest one.
+     */
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        List<Entry<Character, Long>> counts = new ArrayList<>();
+
+        letterFrequency.forEach((letter, count) -> {
+            counts.add(new AbstractMap.SimpleEntry<>(letter, count.sum()));
+        });
+
+        counts.sort(Entry.<Character, Long>comparingByValue().reversed()
+                .thenComparing(Entry.comparingByKey()));
+
+        List<Character> mostFrequent = new ArrayList<>();
+        for (int i = 0; i < counts.size() && i < k; i++) {
+            mostFrequent.add(counts.get(i).getKey());
+        }
+
+        return mostFrequent;
+    }
+
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>(words.size());
+
+        words.forEach((word, count) -> {
+            wordFrequencies.add(new WordFrequency(word, toInt(count.sum())));
+        });
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+        int length = longestLength.get();
+
+        words.keySet().forEach(word -> {
+            if (word.length() == length) {
+                longestWords.add(word);
+            }
+        });
+
+        return longestWords;
+    }
+
+    // Helper Methods
+    /**
+     * Increases the frequency of characters in the string, inserts into the
+     * {@link ConcurrentMap} if they don't exist yet.
+     *
+     * @param string string of characters to increase frequency for
+     * @param count number of occurrences of the string
+     */
+    private void increaseLetterFreq(String string, int count) {
+        for (int i = 0; i < string.length(); i++) {
+            LongAdder frequency = letterFrequency.get(string.charAt(i));
+
+            if (frequency == null) {
+                frequency = getOrAdd(letterFrequency, string.charAt(i));
+            }
+
+            frequency.add(count);
+        }
+    }
+
+    /**
+     * Raises the length of the longest words, if the given length is greater.
+     *
+     * @param length length of an inserted word
+     */
+    private void updateLongestLength(int length) {
+        int current = longestLength.get();
+
+        while (length > current
+                && !longestLength.compareAndSet(current, length)) {
+            current = longestLength.get();
+        }
+    }
+
+    /**
+     * Gets a counter for a key, atomically adds a new one if it is missing.
+     *
+     * @param <K> type of the key
+     * @param map map of the counters
+     * @param key key to get the counter for
+     * @return the counter mapped to the key
+     */
+    private static <K> LongAdder getOrAdd(ConcurrentMap<K, LongAdder> map,
+            K key) {
+        LongAdder count = new LongAdder();
+        LongAdder existing = map.putIfAbsent(key, count);
+
+        return existing == null ? count : existing;
+    }
+
+    /**
+     * Narrows a counter value to an int, saturating on overflow.
+     *
+     * @param value value to narrow
+     * @return the narrowed value
+     */
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,532 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A {@link Dictionary} keeping its words and counters off the heap, in
+ * memory-mapped files.
+ *
+ * The words are appended to a words file as records of their length in
+ * characters, their length in bytes and their UTF-8 bytes. An index file
+ * holds an open-addressing hash table with linear probing, each slot holds
+ * the position of a word record, the hash of the word and its count. Both
+ * files are remapped at double the size when they fill up, the index is
+ * rehashed into a new file.
+ *
+ * Only the letter frequencies and a few buffers are kept on the heap. The
+ * files are scratch storage, they are deleted when the dictionary is closed.
+ * Each file is mapped as a single buffer, so it is limited to 2 GB.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/31/2017
+ */
+public class DictionaryMappedImpl implements Dictionary, AutoCloseable {
+
+    // Constants
+    private static final int SLOT_SIZE = 16;
+    private static final int SLOT_RECORD = 0;   // record position + 1
+    private static final int SLOT_HASH = 8;
+    private static final int SLOT_COUNT = 12;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final int INITIAL_SLOTS = 1 << 12;   // a power of two
+    private static final int INITIAL_WORDS_SIZE = 1 << 16;
+    private static final int MAX_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    // Attributes
+    private final Path indexFile;
+    private final Path wordsFile;
+    private FileChannel indexChannel;
+    private FileChannel wordsChannel;
+    private MappedByteBuffer index;
+    private MappedByteBuffer words;
+
+    private int slotCount;   // a power of two
+    private int wordCount;
+    private int wordsEnd;
+    private int longestLength;
+
+    private byte[] encodeBuffer;
+    private final LetterFrequencies letterFrequency;
+
+    // Constructors
+    /**
+     * Creates an empty dictionary with its files in the default temporary
+     * directory.
+     *
+     * @throws IOException if the files cannot be created
+     */
+    public DictionaryMappedImpl() throws IOException {
+        this(Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates an empty dictionary with its files in a given directory.
+     *
+     * @param directory directory to create the files in
+     * @throws IOException if the files cannot be created
+     */
+    public DictionaryMappedImpl(Path directory) throws IOException {
+        indexFile = Files.createTempFile(directory, "dictionary", ".index");
+        wordsFile = Files.createTempFile(directory, "dictionary", ".words");
+
+        indexChannel = open(indexFile);
+        wordsChannel = open(wordsFile);
+
+        slotCount = INITIAL_SLOTS;
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                (long) slotCount * SLOT_SIZE);
+        words = wordsChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                INITIAL_WORDS_SIZE);
+
+        wordCount = 0;
+        wordsEnd = 0;
+        longestLength = 0;
+
+        encodeBuffer = new byte[64];
+        letterFrequency = new LetterFrequencies();
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        int byteLength = encode(string, 0, string.length());
+
+        addWord(byteLength, string.length(), count);
+        letterFrequency.add(string, count);
+    }
+
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+
+        int byteLength = encode(CharBuffer.wrap(chars, offset, length), 0,
+                length);
+
+        addWord(byteLength, length, 1);
+
+        for (int i = offset; i < offset + length; i++) {
+            letterFrequency.add(chars[i], 1);
+        }
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryMappedImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionaryMappedImpl mapped = (DictionaryMappedImpl) other;
+
+        // Copy the encoded words over directly, without decoding them
+        for (int slot = 0; slot < mapped.slotCount; slot++) {
+            long position = mapped.index.getLong(slot * SLOT_SIZE);
+
+            if (position != 0) {
+                int record = (int) (position - 1);
+                int charLength = mapped.words.getInt(record);
+                int byteLength = mapped.words.getInt(record + 4);
+
+                ensureEncodeCapacity(byteLength);
+                mapped.words.get(record + RECORD_HEADER_SIZE, encodeBuffer, 0,
+                        byteLength);
+                addWord(byteLength, charLength,
+                        mapped.index.getInt(slot * SLOT_SIZE + SLOT_COUNT));
+            }
+        }
+
+        letterFrequency.addAll(mapped.letterFrequency);
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        int byteLength = encode(string, 0, string.length());
+        int slot = findSlot(hash(byteLength), byteLength);
+
+        if (index.getLong(slot * SLOT_SIZE + SLOT_RECORD) == 0) {
+            return -1;
+        }
+
+        return index.getInt(slot * SLOT_SIZE + SLOT_COUNT);
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
+    }
+
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>(wordCount);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            long position = index.getLong(slot * SLOT_SIZE + SLOT_RECORD);
+
+            if (position != 0) {
+                wordFrequencies.add(new WordFrequency(
+                        decode((int) (position - 1)),
+                        index.getInt(slot * SLOT_SIZE + SLOT_COUNT)));
+            }
+        }
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+        int record = 0;
+
+        // Walk the records in the words file, only the longest are decoded
+        while (record < wordsEnd) {
+            if (words.getInt(record) == longestLength) {
+                longestWords.add(decode(record));
+            }
+
+            record += RECORD_HEADER_SIZE + words.getInt(record + 4);
+        }
+
+        return longestWords;
+    }
+
+    /**
+     * Releases the mapped files and deletes them. The dictionary cannot be
+     * used afterwards.
+     *
+     * @throws IOException if the files cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        index = null;
+        words = null;
+
+        try {
+            indexChannel.close();
+            wordsChannel.close();
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(wordsFile);
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the number of distinct words in the dictionary.
+     *
+     * @return number of distinct words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    // Helper Methods
+    /**
+     * Adds occurrences of the word held encoded in the encode buffer.
+     *
+     * @param byteLength length of the encoded word
+     * @param charLength length of the word in characters
+     * @param count positive number of occurrences
+     */
+    private void addWord(int byteLength, int charLength, int count) {
+        int hash = hash(byteLength);
+        int slot = findSlot(hash, byteLength);
+        int offset = slot * SLOT_SIZE;
+
+        if (index.getLong(offset + SLOT_RECORD) != 0) {
+            index.putInt(offset + SLOT_COUNT,
+                    index.getInt(offset + SLOT_COUNT) + count);
+            return;
+        }
+
+        int record = appendRecord(byteLength, charLength);
+
+        index.putLong(offset + SLOT_RECORD, record + 1L);
+        index.putInt(offset + SLOT_HASH, hash);
+        index.putInt(offset + SLOT_COUNT, count);
+        wordCount++;
+
+        longestLength = Math.max(longestLength, charLength);
+
+        // Keep the table at most half full
+        if (wordCount * 2 > slotCount) {
+            growIndex();
+        }
+    }
+
+    /**
+     * Finds the slot of the word held encoded in the encode buffer, or the
+     * empty slot where it belongs.
+     *
+     * @param hash hash of the word
+     * @param byteLength length of the encoded word
+     * @return the slot
+     */
+    private int findSlot(int hash, int byteLength) {
+        int mask = slotCount - 1;
+        int slot = hash & mask;
+
+        while (true) {
+            int offset = slot * SLOT_SIZE;
+            long position = index.getLong(offset + SLOT_RECORD);
+
+            if (position == 0 || (index.getInt(offset + SLOT_HASH) == hash
+                    && recordEquals((int) (position - 1), byteLength))) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Compares a word record with the word held in the encode buffer.
+     *
+     * @param record position of the record in the words file
+     * @param byteLength length of the encoded word
+     * @return true if the record holds the word
+     */
+    private boolean recordEquals(int record, int byteLength) {
+        if (words.getInt(record + 4) != byteLength) {
+            return false;
+        }
+
+        int bytes = record + RECORD_HEADER_SIZE;
+
+        for (int i = 0; i < byteLength; i++) {
+            if (words.get(bytes + i) != encodeBuffer[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Appends a record of the word held in the encode buffer to the words
+     * file, remapping the file if it is full.
+     *
+     * @param byteLength length of the encoded word
+     * @param charLength length of the word in characters
+     * @return position of the record
+     */
+    private int appendRecord(int byteLength, int charLength) {
+        long end = (long) wordsEnd + RECORD_HEADER_SIZE + byteLength;
+
+        if (end > words.capacity()) {
+            long size = Math.max(end, (long) words.capacity() * 2);
+
+            words = remap(wordsChannel, Math.min(size, MAX_MAPPING_SIZE),
+                    end);
+        }
+
+        int record = wordsEnd;
+
+        words.putInt(record, charLength);
+        words.putInt(record + 4, byteLength);
+        words.put(record + RECORD_HEADER_SIZE, encodeBuffer, 0, byteLength);
+        wordsEnd = (int) end;
+
+        return record;
+    }
+
+    /**
+     * Rehashes the index into a new file with twice as many slots.
+     */
+    private void growIndex() {
+        long size = (long) slotCount * 2 * SLOT_SIZE;
+
+        if (size > MAX_MAPPING_SIZE) {
+            throw new IllegalStateException("Dictionary index is full");
+        }
+
+        try {
+            Path grownFile = Files.createTempFile(indexFile.getParent(),
+                    "dictionary", ".index");
+            FileChannel grownChannel = open(grownFile);
+            MappedByteBuffer grown = grownChannel.map(
+                    FileChannel.MapMode.READ_WRITE, 0, size);
+            int mask = slotCount * 2 - 1;
+
+            for (int slot = 0; slot < slotCount; slot++) {
+                int offset = slot * SLOT_SIZE;
+
+                if (index.getLong(offset + SLOT_RECORD) != 0) {
+                    int target = index.getInt(offset + SLOT_HASH) & mask;
+
+                    while (grown.getLong(target * SLOT_SIZE) != 0) {
+                        target = (target + 1) & mask;
+                    }
+
+                    // The hash and the count are copied as one long
+                    grown.putLong(target * SLOT_SIZE,
+                            index.getLong(offset + SLOT_RECORD));
+                    grown.putLong(target * SLOT_SIZE + SLOT_HASH,
+                            index.getLong(offset + SLOT_HASH));
+                }
+            }
+
+            indexChannel.close();
+            Files.move(grownFile, indexFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            indexChannel = grownChannel;
+            index = grown;
+            slotCount *= 2;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps a file again with a greater size, extending the file.
+     *
+     * @param channel channel of the file
+     * @param size new size of the mapping
+     * @param required size the mapping has to have at least
+     * @return the new mapping
+     */
+    private static MappedByteBuffer remap(FileChannel channel, long size,
+            long required) {
+        if (required > size) {
+            throw new IllegalStateException("Dictionary words file is full");
+        }
+
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes a range of characters into the encode buffer as UTF-8, an
+     * unpaired surrogate is encoded as '?' like {@link String#getBytes}
+     * does.
+     *
+     * @param chars the characters
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return number of bytes written
+     */
+    private int encode(CharSequence chars, int start, int end) {
+        ensureEncodeCapacity((end - start) * 3);
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+
+            if (c < 0x80) {
+                encodeBuffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                encodeBuffer[length++] = (byte) (0xC0 | (c >> 6));
+                encodeBuffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, chars.charAt(++i));
+
+                encodeBuffer[length++] = (byte) (0xF0 | (cp >> 18));
+                encodeBuffer[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                encodeBuffer[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                encodeBuffer[length++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                encodeBuffer[length++] = '?';
+            } else {
+                encodeBuffer[length++] = (byte) (0xE0 | (c >> 12));
+                encodeBuffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                encodeBuffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Decodes the word of a record.
+     *
+     * @param record position of the record in the words file
+     * @return the word
+     */
+    private String decode(int record) {
+        int byteLength = words.getInt(record + 4);
+        byte[] bytes = new byte[byteLength];
+
+        words.get(record + RECORD_HEADER_SIZE, bytes, 0, byteLength);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes a FNV-1a hash of the word held in the encode buffer.
+     *
+     * @param byteLength length of the encoded word
+     * @return the hash
+     */
+    private int hash(int byteLength) {
+        int hash = 0x811c9dc5;
+
+        for (int i = 0; i < byteLength; i++) {
+            hash = (hash ^ (encodeBuffer[i] & 0xFF)) * 0x01000193;
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Makes sure the encode buffer can hold a given number of bytes.
+     *
+     * @param length required length
+     */
+    private void ensureEncodeCapacity(int length) {
+        if (encodeBuffer.length < length) {
+            encodeBuffer = Arrays.copyOf(encodeBuffer,
+                    Math.max(length, encodeBuffer.length * 2));
+        }
+    }
+
+    /**
+     * Opens a file for reading and writing.
+     *
+     * @param file the file
+     * @return channel of the file
+     * @throws IOException if the file cannot be opened
+     */
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+}
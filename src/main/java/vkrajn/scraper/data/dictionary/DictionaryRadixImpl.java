@@ -0,0 +1,548 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A {@link Dictionary} implemented using a radix tree, a Trie whose chains
+ * of nodes with a single child are merged into one node.
+ *
+ * Every edge is labeled by a run of characters instead of a single letter,
+ * so a word adds at most two nodes no matter how long its unshared suffix
+ * is. The labels are ranges of one shared character arena, which only grows
+ * by the unshared suffixes of new words: splitting an edge on insert splits
+ * its range without copying any characters. As in
+ * {@link DictionaryArrayTrieImpl}, the nodes are kept in flat primitive
+ * arrays, siblings form a sorted linked list and the parent links allow all
+ * walks to be iterative.
+ *
+ * Nodes ending a word are ranked by their word counts as well, so the most
+ * frequent words are spelled out from their nodes without a traversal.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/09/2017
+ */
+public class DictionaryRadixImpl implements Dictionary {
+
+    // Constants
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Attributes
+    private char[] arena;       // characters of all edge labels
+    private int arenaLength;
+
+    private int[] labelStarts;  // label of the edge into the node
+    private int[] labelLengths;
+    private int[] wordCounts;   // if 0, the path to the node is not a word
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] parents;
+    private int[] wordIds;      // ID in wordRanking, NONE if not a word
+    private int nodeCount;
+
+    private int[] wordNodes;    // nodes ending a word, by their ID
+    private final FrequencyBuckets wordRanking;
+
+    private char[] wordBuffer;
+    private final LetterFrequencies letterFrequency;
+
+    // Constructors
+    public DictionaryRadixImpl() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty dictionary with space preallocated for a given number
+     * of words.
+     *
+     * @param initialCapacity expected number of distinct words
+     */
+    public DictionaryRadixImpl(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+
+        arena = new char[capacity * 4];
+        arenaLength = 0;
+
+        labelStarts = new int[capacity];
+        labelLengths = new int[capacity];
+        wordCounts = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        parents = new int[capacity];
+        wordIds = new int[capacity];
+
+        wordNodes = new int[capacity];
+        wordRanking = new FrequencyBuckets();
+
+        wordBuffer = new char[16];
+        letterFrequency = new LetterFrequencies();
+
+        // The root represents the empty prefix
+        nodeCount = 0;
+        newNode(NONE, 0, 0);
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        ensureBufferCapacity(string.length());
+        string.getChars(0, string.length(), wordBuffer, 0);
+        insertWord(wordBuffer, 0, string.length(), count);
+    }
+
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length > 0) {
+            insertWord(chars, offset, length, 1);
+        }
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryRadixImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionaryRadixImpl tree = (DictionaryRadixImpl) other;
+        char[] word = new char[16];
+        int node = tree.firstChildren[ROOT];
+        int depth = 0;              // length of the path above the node
+
+        // Walk the other tree in pre-order, inserting the words as char runs
+        while (node != NONE) {
+            int length = depth + tree.labelLengths[node];
+
+            if (word.length < length) {
+                word = Arrays.copyOf(word, Math.max(length, word.length * 2));
+            }
+
+            System.arraycopy(tree.arena, tree.labelStarts[node], word, depth,
+                    tree.labelLengths[node]);
+
+            if (tree.wordCounts[node] > 0) {
+                insertWord(word, 0, length, tree.wordCounts[node]);
+            }
+
+            if (tree.firstChildren[node] != NONE) {
+                depth = length;
+                node = tree.firstChildren[node];
+            } else {
+                while (node != ROOT && tree.nextSiblings[node] == NONE) {
+                    node = tree.parents[node];
+                    depth -= tree.labelLengths[node];
+                }
+
+                node = node == ROOT ? NONE : tree.nextSiblings[node];
+            }
+        }
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        int node = ROOT;
+        int i = 0;
+
+        while (i < string.length()) {
+            node = findChild(node, string.charAt(i));
+
+            if (node == NONE || labelLengths[node] > string.length() - i) {
+                return -1;
+            }
+
+            for (int j = 0; j < labelLengths[node]; j++) {
+                if (arena[labelStarts[node] + j] != string.charAt(i + j)) {
+                    return -1;
+                }
+            }
+
+            i += labelLengths[node];
+        }
+
+        return wordCounts[node] == 0 ? -1 : wordCounts[node];
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
+    }
+
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>();
+
+        int node = firstChildren[ROOT];
+        int depth = 0;              // length of the path above the node
+
+        // Walk the tree in pre-order, following the parent links upwards
+        while (node != NONE) {
+            int length = spellLabel(node, depth);
+
+            if (wordCounts[node] > 0) {
+                wordFrequencies.add(new WordFrequency(
+                        new String(wordBuffer, 0, length), wordCounts[node]));
+            }
+
+            if (firstChildren[node] != NONE) {
+                depth = length;
+                node = firstChildren[node];
+            } else {
+                while (node != ROOT && nextSiblings[node] == NONE) {
+                    node = parents[node];
+                    depth -= labelLengths[node];
+                }
+
+                node = node == ROOT ? NONE : nextSiblings[node];
+            }
+        }
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = wordRanking.first();
+
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            int node = wordNodes[id];
+
+            topWords.add(new WordFrequency(spellWord(node),
+                    wordCounts[node]));
+            id = wordRanking.next(id);
+        }
+
+        return topWords;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+
+        int node = firstChildren[ROOT];
+        int depth = 0;              // length of the path above the node
+        int maxLength = 0;
+
+        // Walk the tree in pre-order, following the parent links upwards
+        while (node != NONE) {
+            int length = depth + labelLengths[node];
+
+            if (wordCounts[node] > 0 && length >= maxLength) {
+                if (length > maxLength) {
+                    maxLength = length;
+                    longestWords.clear();
+                }
+
+                longestWords.add(spellWord(node));
+            }
+
+            if (firstChildren[node] != NONE) {
+                depth = length;
+                node = firstChildren[node];
+            } else {
+                while (node != ROOT && nextSiblings[node] == NONE) {
+                    node = parents[node];
+                    depth -= labelLengths[node];
+                }
+
+                node = node == ROOT ? NONE : nextSiblings[node];
+            }
+        }
+
+        return longestWords;
+    }
+
+    // Getters
+    /**
+     * Gets the number of nodes of the tree, including the root.
+     *
+     * @return number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Helper Methods
+    /**
+     * Inserts occurrences of a word, splitting the edge the word leaves in
+     * the middle of and adding a node for its unshared suffix.
+     *
+     * @param chars array containing the word
+     * @param offset index of the first character of the word
+     * @param length positive number of characters of the word
+     * @param count positive number of occurrences
+     */
+    private void insertWord(char[] chars, int offset, int length, int count) {
+        int end = offset + length;
+        int node = ROOT;
+        int i = offset;
+
+        for (int j = offset; j < end; j++) {
+            letterFrequency.add(chars[j], count);
+        }
+
+        while (i < end) {
+            int child = findChild(node, chars[i]);
+
+            if (child == NONE) {
+                node = addChild(node, appendLabel(chars, i, end - i),
+                        end - i);
+                break;
+            }
+
+            int start = labelStarts[child];
+            int matched = 1;
+            int limit = Math.min(labelLengths[child], end - i);
+
+            while (matched < limit
+                    && arena[start + matched] == chars[i + matched]) {
+                matched++;
+            }
+
+            if (matched < labelLengths[child]) {
+                splitNode(child, matched);
+            }
+
+            node = child;
+            i += matched;
+        }
+
+        addWordCount(node, count);
+    }
+
+    /**
+     * Splits the edge into a node, so that the node keeps only the first
+     * characters of its label. The rest of the label and the children and
+     * word of the node move to a new child.
+     *
+     * @param node index of the node
+     * @param length number of label characters the node keeps
+     */
+    private void splitNode(int node, int length) {
+        int lower = newNode(node, labelStarts[node] + length,
+                labelLengths[node] - length);
+
+        firstChildren[lower] = firstChildren[node];
+        for (int c = firstChildren[lower]; c != NONE; c = nextSiblings[c]) {
+            parents[c] = lower;
+        }
+
+        wordCounts[lower] = wordCounts[node];
+        wordIds[lower] = wordIds[node];
+        if (wordIds[lower] != NONE) {
+            wordNodes[wordIds[lower]] = lower;
+        }
+
+        labelLengths[node] = length;
+        firstChildren[node] = lower;
+        wordCounts[node] = 0;
+        wordIds[node] = NONE;
+    }
+
+    /**
+     * Finds a child of a node whose label starts with a given letter.
+     *
+     * @param node index of the parent node
+     * @param letter first letter of the label
+     * @return index of the child, {@code NONE} if it does not exist
+     */
+    private int findChild(int node, char letter) {
+        int child = firstChildren[node];
+
+        // Siblings are sorted, so the search can stop at a greater letter
+        while (child != NONE && arena[labelStarts[child]] < letter) {
+            child = nextSiblings[child];
+        }
+
+        if (child != NONE && arena[labelStarts[child]] == letter) {
+            return child;
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Adds a child to a node at its sorted position among the siblings. No
+     * sibling may start with the same letter.
+     *
+     * @param node index of the parent node
+     * @param labelStart index of the label in the arena
+     * @param labelLength length of the label
+     * @return index of the child
+     */
+    private int addChild(int node, int labelStart, int labelLength) {
+        int added = newNode(node, labelStart, labelLength);
+        char letter = arena[labelStart];
+        int previous = NONE;
+        int child = firstChildren[node];
+
+        while (child != NONE && arena[labelStarts[child]] < letter) {
+            previous = child;
+            child = nextSiblings[child];
+        }
+
+        nextSiblings[added] = child;
+
+        if (previous == NONE) {
+            firstChildren[node] = added;
+        } else {
+            nextSiblings[previous] = added;
+        }
+
+        return added;
+    }
+
+    /**
+     * Copies a label to the end of the arena, growing it if needed.
+     *
+     * @param chars array containing the label
+     * @param offset index of the first character of the label
+     * @param length number of characters of the label
+     * @return index of the label in the arena
+     */
+    private int appendLabel(char[] chars, int offset, int length) {
+        if (arenaLength + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaLength + length,
+                    arena.length * 2));
+        }
+
+        int start = arenaLength;
+
+        System.arraycopy(chars, offset, arena, start, length);
+        arenaLength += length;
+
+        return start;
+    }
+
+    /**
+     * Adds occurrences to the word ending at a node and updates its rank.
+     *
+     * @param node index of the last node of the word
+     * @param count positive number of occurrences
+     */
+    private void addWordCount(int node, int count) {
+        if (wordIds[node] == NONE) {
+            int id = wordRanking.newItem();
+
+            if (id == wordNodes.length) {
+                wordNodes = Arrays.copyOf(wordNodes, id * 2);
+            }
+
+            wordIds[node] = id;
+            wordNodes[id] = node;
+        }
+
+        wordCounts[node] += count;
+        wordRanking.increment(wordIds[node], count);
+    }
+
+    /**
+     * Writes the label of a node into the word buffer after the path above
+     * it.
+     *
+     * @param node index of the node
+     * @param depth length of the path above the node
+     * @return length of the path ending with the node
+     */
+    private int spellLabel(int node, int depth) {
+        int length = depth + labelLengths[node];
+
+        ensureBufferCapacity(length);
+        System.arraycopy(arena, labelStarts[node], wordBuffer, depth,
+                labelLengths[node]);
+
+        return length;
+    }
+
+    /**
+     * Spells the word ending at a node by following the parent links.
+     *
+     * @param node index of the last node of the word
+     * @return the word
+     */
+    private String spellWord(int node) {
+        int length = 0;
+
+        for (int n = node; n != ROOT; n = parents[n]) {
+            length += labelLengths[n];
+        }
+
+        char[] word = new char[length];
+
+        for (int n = node; n != ROOT; n = parents[n]) {
+            length -= labelLengths[n];
+            System.arraycopy(arena, labelStarts[n], word, length,
+                    labelLengths[n]);
+        }
+
+        return new String(word);
+    }
+
+    /**
+     * Allocates a new node at the end of the arrays, growing them if needed.
+     *
+     * @param parent index of the parent node
+     * @param labelStart index of the label in the arena
+     * @param labelLength length of the label
+     * @return index of the new node
+     */
+    private int newNode(int parent, int labelStart, int labelLength) {
+        if (nodeCount == labelStarts.length) {
+            int capacity = labelStarts.length * 2;
+
+            labelStarts = Arrays.copyOf(labelStarts, capacity);
+            labelLengths = Arrays.copyOf(labelLengths, capacity);
+            wordCounts = Arrays.copyOf(wordCounts, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            wordIds = Arrays.copyOf(wordIds, capacity);
+        }
+
+        int node = nodeCount++;
+
+        labelStarts[node] = labelStart;
+        labelLengths[node] = labelLength;
+        wordCounts[node] = 0;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        parents[node] = parent;
+        wordIds[node] = NONE;
+
+        return node;
+    }
+
+    /**
+     * Makes sure the word buffer can hold a word of a given length.
+     *
+     * @param length required length
+     */
+    private void ensureBufferCapacity(int length) {
+        if (wordBuffer.length < length) {
+            wordBuffer = Arrays.copyOf(wordBuffer,
+                    Math.max(length, wordBuffer.length * 2));
+        }
+    }
+}
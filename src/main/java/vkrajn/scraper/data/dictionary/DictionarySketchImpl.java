@@ -0,0 +1,361 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * An approximate {@link Dictionary} whose memory does not grow with the
+ * number of distinct words.
+ *
+ * Word frequencies are estimated by a Count-Min Sketch, a table of counters
+ * with a row per hash function. With total word count N, an estimate never
+ * underestimates and overestimates by at most epsilon * N with probability
+ * at least 1 - delta. The most frequent words are tracked by the Space-Saving
+ * algorithm in a table of a fixed capacity: a new word replaces the word
+ * with the lowest count and inherits that count as its error. Every word
+ * occurring more than N / capacity times is guaranteed to be in the table,
+ * with its count overestimated by at most N / capacity.
+ *
+ * Letter frequencies are counted exactly, since there are few letters.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/30/2017
+ */
+public class DictionarySketchImpl implements Dictionary {
+
+    // Constants
+    public static final double DEFAULT_EPSILON = 0.0001;
+    public static final double DEFAULT_DELTA = 0.01;
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Attributes
+    private final int width;
+    private final int depth;
+    private final long[] sketch;   // depth rows of width counters
+    private long totalCount;
+
+    private final int capacity;
+    private final Map<String, Integer> heavyHitterIds;
+    private final String[] heavyHitters;   // monitored words by their ID
+    private final FrequencyBuckets heavyHitterRanking;
+
+    private final Set<String> longestWords;
+    private int longestLength;
+
+    private final LetterFrequencies letterFrequency;
+
+    // Constructors
+    public DictionarySketchImpl() {
+        this(DEFAULT_EPSILON, DEFAULT_DELTA, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty dictionary with given error bounds.
+     *
+     * @param epsilon maximal overestimate of a frequency, relative to the
+     * total word count
+     * @param delta probability of an estimate exceeding the epsilon bound
+     * @param capacity number of the most frequent words tracked
+     * @throws IllegalArgumentException if epsilon or delta are not between 0
+     * and 1, or the capacity is not positive
+     */
+    public DictionarySketchImpl(double epsilon, double delta, int capacity) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon out of (0, 1): "
+                    + epsilon);
+        }
+
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Delta out of (0, 1): "
+                    + delta);
+        }
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity not positive: "
+                    + capacity);
+        }
+
+        width = (int) Math.ceil(Math.E / epsilon);
+        depth = (int) Math.ceil(Math.log(1 / delta));
+        sketch = new long[width * depth];
+        totalCount = 0;
+
+        this.capacity = capacity;
+        heavyHitterIds = new HashMap<>(capacity * 2);
+        heavyHitters = new String[capacity];
+        heavyHitterRanking = new FrequencyBuckets(capacity);
+
+        longestWords = new LinkedHashSet<>();
+        longestLength = 0;
+
+        letterFrequency = new LetterFrequencies();
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        addToSketch(hash(string), count);
+        addToHeavyHitters(string, count);
+        addToLongestWords(string);
+        letterFrequency.add(string, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Another sketch with the same dimensions is merged by adding up the
+     * counters, so the error bounds hold for the combined word count.
+     */
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionarySketchImpl)
+                || ((DictionarySketchImpl) other).width != width
+                || ((DictionarySketchImpl) other).depth != depth) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionarySketchImpl sketchDict = (DictionarySketchImpl) other;
+
+        for (int i = 0; i < sketch.length; i++) {
+            sketch[i] += sketchDict.sketch[i];
+        }
+
+        totalCount += sketchDict.totalCount;
+
+        for (int id = 0; id < sketchDict.heavyHitterRanking.size(); id++) {
+            addToHeavyHitters(sketchDict.heavyHitters[id],
+                    sketchDict.heavyHitterRanking.count(id));
+        }
+
+        sketchDict.longestWords.forEach(this::addToLongestWords);
+        letterFrequency.addAll(sketchDict.letterFrequency);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The frequency is an estimate which is never lower than the real one.
+     * A word which was never inserted may get a positive estimate.
+     */
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        long estimate = estimate(hash(string));
+        Integer id = heavyHitterIds.get(string);
+
+        // Both counts are upper bounds, the lower one is more accurate
+        if (id != null) {
+            estimate = Math.min(estimate, heavyHitterRanking.count(id));
+        }
+
+        if (estimate == 0) {
+            return -1;
+        }
+
+        return (int) Math.min(estimate, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the tracked most frequent words are listed, with their estimated
+     * frequencies.
+     */
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        return getTopWords(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The words and their frequencies are estimates of the Space-Saving
+     * table, at most the capacity of the table is returned.
+     */
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = heavyHitterRanking.first();
+
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            topWords.add(new WordFrequency(heavyHitters[id],
+                    heavyHitterRanking.count(id)));
+            id = heavyHitterRanking.next(id);
+        }
+
+        return topWords;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * At most the capacity of the dictionary is returned, the words which
+     * were inserted first are kept.
+     */
+    @Override
+    public List<String> getLongestWords() {
+        return new ArrayList<>(longestWords);
+    }
+
+    // Getters
+    /**
+     * Gets the number of words inserted into the dictionary, with their
+     * repetitions.
+     *
+     * @return the total word count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    // Helper Methods
+    /**
+     * Adds occurrences of a word to the sketch. Only the counters which are
+     * at the current estimate are raised (the conservative update), the
+     * others are already high enough to bound the new frequency.
+     *
+     * @param hash 64-bit hash of the word
+     * @param count positive number of occurrences
+     */
+    private void addToSketch(long hash, int count) {
+        long updated = estimate(hash) + count;
+
+        for (int row = 0; row < depth; row++) {
+            int counter = counterIndex(hash, row);
+
+            if (sketch[counter] < updated) {
+                sketch[counter] = updated;
+            }
+        }
+
+        totalCount += count;
+    }
+
+    /**
+     * Gets the estimated frequency of a word from the sketch.
+     *
+     * @param hash 64-bit hash of the word
+     * @return the lowest of the counters of the word
+     */
+    private long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, sketch[counterIndex(hash, row)]);
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Gets the index of the counter of a word in a row of the sketch. The
+     * row hashes are derived from two halves of one hash.
+     *
+     * @param hash 64-bit hash of the word
+     * @param row the row
+     * @return index of the counter in the sketch array
+     */
+    private int counterIndex(long hash, int row) {
+        int combined = (int) hash + row * ((int) (hash >>> 32) | 1);
+
+        return row * width + Math.floorMod(combined, width);
+    }
+
+    /**
+     * Adds occurrences of a word to the Space-Saving table. A word which is
+     * not tracked replaces the tracked word with the lowest count once the
+     * table is full.
+     *
+     * @param word the word
+     * @param count positive number of occurrences
+     */
+    private void addToHeavyHitters(String word, int count) {
+        Integer id = heavyHitterIds.get(word);
+
+        if (id == null) {
+            if (heavyHitterRanking.size() < capacity) {
+                id = heavyHitterRanking.newItem();
+            } else {
+                id = heavyHitterRanking.last();
+                heavyHitterIds.remove(heavyHitters[id]);
+            }
+
+            heavyHitterIds.put(word, id);
+            heavyHitters[id] = word;
+        }
+
+        heavyHitterRanking.increment(id, count);
+    }
+
+    /**
+     * Remembers a word if it is at least as long as the longest words, while
+     * there is room for it.
+     *
+     * @param word the word
+     */
+    private void addToLongestWords(String word) {
+        if (word.length() > longestLength) {
+            longestLength = word.length();
+            longestWords.clear();
+        }
+
+        if (word.length() == longestLength
+                && longestWords.size() < capacity) {
+            longestWords.add(word);
+        }
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of a word, with the bits mixed by the
+     * MurmurHash3 finalizer.
+     *
+     * @param word the word
+     * @return the hash
+     */
+    private static long hash(String word) {
+        long hash = FNV_OFFSET;
+
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
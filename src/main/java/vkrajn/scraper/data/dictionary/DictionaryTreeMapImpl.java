@@ -1,58 +1,127 @@
 package vkrajn.scraper.data.dictionary;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.TreeMap;
 import vkrajn.scraper.data.WordFrequency;
-import vkrajn.scraper.utils.MutableInt;
+import vkrajn.scraper.data.WordInterner;
 
 /**
  * A {@link Dictionary} implemented using a {@link TreeMap}.
  *
+ * The words are interned in a {@link WordInterner}, and the map is keyed by
+ * their interned IDs, ordered by the characters in the interner. The map
+ * assigns every word an ID, the word counts are kept by the IDs in counters
+ * ranked by frequency, so the most frequent words are found without going
+ * through the map. The interned IDs are mapped to the word IDs by an array,
+ * so counting a word already seen only hashes its characters: no
+ * {@link String} is created and the map is not searched. Strings are created
+ * when the words are listed.
+ *
+ * Words differing in case only are counted as one word. Their lower-case
+ * forms are interned in a second interner, mapped to the word IDs by another
+ * array, so a new spelling of a known word is found without the map.
+ *
  * @author Vojtech Krajnansky
- * @version 07/19/2017
+ * @version 08/11/2017
  */
 public class DictionaryTreeMapImpl implements Dictionary {
 
+    // Constants
+    private static final int NONE = -1;
+
     // Attributes
-    private final Map<String, Integer> words;
-    private final Map<Character, MutableInt> letterFrequency;
-    private final List<Entry<Character, MutableInt>> sortedLetters;
+    private final WordInterner interner;
+    private final Map<Integer, Integer> words;  // word IDs by interned IDs
+    private int[] wordIds;      // word IDs by interned IDs, NONE if unknown
+    private int[] wordsById;    // interned IDs by word IDs
+    private final WordInterner lowerCaseInterner;
+    private int[] lowerCaseIds; // word IDs by lower-case interned IDs
+    private final FrequencyBuckets wordRanking;
+    private final LetterFrequencies letterFrequency;
+    private char[] lowerCaseBuffer;
 
     // Constructors
     public DictionaryTreeMapImpl() {
-        words = new TreeMap<>((o1, o2) -> {
-            int compare = Integer.compare(o2.length(), o1.length());
-            if (compare == 0) {
-                return o1.toLowerCase().compareTo(o2.toLowerCase());
-            }
-            
-            return compare;
-        });
-        letterFrequency = new HashMap<>();
-        sortedLetters = new ArrayList<>();
+        this(new WordInterner());
+    }
+
+    /**
+     * Creates an empty dictionary over a given interner, so that words
+     * interned by a tokenizer can be counted by their IDs.
+     *
+     * @param interner interner of the words, not used concurrently
+     * @see #insertId(int, int)
+     */
+    public DictionaryTreeMapImpl(WordInterner interner) {
+        this.interner = interner;
+        words = new TreeMap<>(this::compareWords);
+        wordIds = new int[16];
+        Arrays.fill(wordIds, NONE);
+        wordsById = new int[16];
+        lowerCaseInterner = new WordInterner();
+        lowerCaseIds = new int[16];
+        Arrays.fill(lowerCaseIds, NONE);
+        wordRanking = new FrequencyBuckets();
+        letterFrequency = new LetterFrequencies();
+        lowerCaseBuffer = new char[16];
     }
 
     // Override Methods
     @Override
     public void insert(String string) {
-        if (string == null || string.length() == 0) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
             return;
         }
 
-        if (!words.containsKey(string)) {
-            words.put(string, 1);
-        } else {
-            int oldFrequency = words.get(string);
-            words.put(string, oldFrequency + 1);
+        insertId(interner.intern(string, 0, string.length()), count);
+    }
+
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length > 0) {
+            insertId(interner.intern(chars, offset, length), 1);
+        }
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryTreeMapImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
         }
 
-        increaseLetterFreq(string);
+        DictionaryTreeMapImpl treeMap = (DictionaryTreeMapImpl) other;
+
+        // Add up the word counts, the letter counts can be added directly
+        char[] word = new char[16];
+
+        for (Map.Entry<Integer, Integer> entry : treeMap.words.entrySet()) {
+            int length = treeMap.interner.length(entry.getKey());
+            int count = treeMap.wordRanking.count(entry.getValue());
+
+            if (treeMap.interner == interner) {
+                insertWord(entry.getKey(), count);
+                continue;
+            }
+
+            if (word.length < length) {
+                word = new char[Math.max(length, word.length * 2)];
+            }
+
+            treeMap.interner.getChars(entry.getKey(), word, 0);
+            insertWord(interner.intern(word, 0, length), count);
+        }
+
+        letterFrequency.addAll(treeMap.letterFrequency);
     }
 
     @Override
@@ -61,61 +130,91 @@ public class DictionaryTreeMapImpl implements Dictionary {
             return -1;
         }
 
-        if (words.containsKey(string)) {
-            return words.get(string);
+        int interned = interner.find(string);
+
+        if (interned != NONE && interned < wordIds.length
+                && wordIds[interned] != NONE) {
+            return wordRanking.count(wordIds[interned]);
         }
 
-        return -1;
-    }
+        // The word may differ from a known one in case only
+        char[] lowerCase = new char[string.length()];
 
-    @Override
-    public Character getMostFrequentLetter() {
+        for (int i = 0; i < lowerCase.length; i++) {
+            lowerCase[i] = Character.toLowerCase(string.charAt(i));
+        }
 
-        sortedLetters.clear();
-        sortedLetters.addAll(letterFrequency.entrySet());
+        int folded = lowerCaseInterner.find(new String(lowerCase));
 
-        // Sort the characters decreasing with respect to their frequency
-        Collections.sort(sortedLetters, (o1, o2) -> {
-            return o2.getValue().get() - o1.getValue().get();
-        });
+        return folded == NONE ? -1 : wordRanking.count(lowerCaseIds[folded]);
+    }
 
-        if (sortedLetters.isEmpty()) {
-            return null;
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * The copy looks the words up regardless of their case, as this
+     * dictionary does.
+     */
+    @Override
+    public FrozenDictionary freeze() {
+        return new FrozenDictionary(this, true);
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
 
-        return sortedLetters.get(0).getKey();
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
     }
 
     @Override
     public List<WordFrequency> getWordFrequencies() {
         List<WordFrequency> wordFrequencies = new ArrayList<>();
 
-        words.forEach((word, frequency) -> {
-            wordFrequencies.add(new WordFrequency(word, frequency));
+        words.forEach((interned, id) -> {
+            wordFrequencies.add(new WordFrequency(interner.getWord(interned),
+                    wordRanking.count(id)));
         });
 
         return wordFrequencies;
     }
 
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = wordRanking.first();
+
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            topWords.add(new WordFrequency(interner.getWord(wordsById[id]),
+                    wordRanking.count(id)));
+            id = wordRanking.next(id);
+        }
+
+        return topWords;
+    }
+
     @Override
     public List<String> getLongestWords() {
         List<String> longestWords = new ArrayList<>();
-        Iterator i = words.keySet().iterator();
+        Iterator<Integer> i = words.keySet().iterator();
         
         /*
             Get length of first element in the TreeMap, since this is sorted
             by key length, this is the length of the longest words
         */
         if (i.hasNext()) {
-            String longestWord = i.next().toString();
+            int longestWord = i.next();
             
-            int length = longestWord.length();
-            longestWords.add(longestWord);
+            int length = interner.length(longestWord);
+            longestWords.add(interner.getWord(longestWord));
             
             while (i.hasNext()) {
-                String candidate = i.next().toString();
-                if (candidate.length() == length) {
-                    longestWords.add(candidate);
+                int candidate = i.next();
+                if (interner.length(candidate) == length) {
+                    longestWords.add(interner.getWord(candidate));
                 } else {
                     break;
                 }
@@ -125,23 +224,120 @@ public class DictionaryTreeMapImpl implements Dictionary {
         return longestWords;
     }
 
+    // Public Methods
+    /**
+     * Adds occurrences of a word interned by the interner of the dictionary.
+     *
+     * @param id interned ID of the word
+     * @param count number of occurrences of the word, nothing is inserted if
+     * it is not positive
+     */
+    public void insertId(int id, int count) {
+        if (count <= 0 || interner.length(id) == 0) {
+            return;
+        }
+
+        insertWord(id, count);
+        for (int i = 0; i < interner.length(id); i++) {
+            letterFrequency.add(interner.charAt(id, i), count);
+        }
+    }
+
+    // Getters
+    public WordInterner getInterner() {
+        return interner;
+    }
+
     // Helper Methods
     /**
-     * Increases the frequency of characters in the string, inserts into the
-     * {@link Map} if they don't exist yet.
+     * Adds occurrences of a word into the map and updates its rank, the
+     * letter frequencies are not changed.
      *
-     * @param string string of characters to increase frequency for
+     * @param interned interned ID of the word
+     * @param count positive number of occurrences
      */
-    private void increaseLetterFreq(String string) {
-        for (int i = 0; i < string.length(); i++) {
-            MutableInt count = letterFrequency.get(string.charAt(i));
-
-            if (count == null) {
-                letterFrequency.put(string.charAt(i), new MutableInt());
-            } else {
-                count.increment();
+    private void insertWord(int interned, int count) {
+        if (interned >= wordIds.length) {
+            int capacity = Math.max(interned + 1, wordIds.length * 2);
+            int oldCapacity = wordIds.length;
+
+            wordIds = Arrays.copyOf(wordIds, capacity);
+            Arrays.fill(wordIds, oldCapacity, capacity, NONE);
+        }
+
+        int id = wordIds[interned];
+
+        if (id == NONE) {
+            // A spelling not seen before, possibly of a known word
+            int folded = internLowerCase(interned);
+
+            if (folded >= lowerCaseIds.length) {
+                int capacity = Math.max(folded + 1, lowerCaseIds.length * 2);
+                int oldCapacity = lowerCaseIds.length;
+
+                lowerCaseIds = Arrays.copyOf(lowerCaseIds, capacity);
+                Arrays.fill(lowerCaseIds, oldCapacity, capacity, NONE);
+            }
+
+            id = lowerCaseIds[folded];
+
+            if (id == NONE) {
+                id = wordRanking.newItem();
+                words.put(interned, id);
+
+                if (id == wordsById.length) {
+                    wordsById = Arrays.copyOf(wordsById, id * 2);
+                }
+
+                wordsById[id] = interned;
+                lowerCaseIds[folded] = id;
             }
+
+            wordIds[interned] = id;
+        }
+
+        wordRanking.increment(id, count);
+    }
+
+    /**
+     * Interns the lower-case form of an interned word.
+     *
+     * @param interned interned ID of the word
+     * @return ID of the lower-case form in the lower-case interner
+     */
+    private int internLowerCase(int interned) {
+        int length = interner.length(interned);
+
+        if (lowerCaseBuffer.length < length) {
+            lowerCaseBuffer = new char[Math.max(length,
+                    lowerCaseBuffer.length * 2)];
+        }
+
+        for (int i = 0; i < length; i++) {
+            lowerCaseBuffer[i] = Character.toLowerCase(
+                    interner.charAt(interned, i));
         }
+
+        return lowerCaseInterner.intern(lowerCaseBuffer, 0, length);
     }
 
+    /**
+     * Compares two words of the map, longer words first and the words of
+     * the same length in case-insensitive order.
+     *
+     * @param a interned ID of the first word
+     * @param b interned ID of the second word
+     * @return the comparison result
+     */
+    private int compareWords(int a, int b) {
+        int compare = Integer.compare(interner.length(b), interner.length(a));
+
+        for (int i = 0; compare == 0 && i < interner.length(a); i++) {
+            compare = Character.compare(
+                    Character.toLowerCase(interner.charAt(a, i)),
+                    Character.toLowerCase(interner.charAt(b, i)));
+        }
+
+        return compare;
+    }
 }
@@ -1,52 +1,146 @@
 package vkrajn.scraper.data.dictionary;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import vkrajn.scraper.data.WordFrequency;
-import vkrajn.scraper.utils.MutableInt;
 
 /**
  * A {@link Dictionary} implemented using a Trie.
  *
+ * Nodes ending a word are also ranked by their word counts, so the most
+ * frequent words are found without walking the tree. Every node also keeps
+ * aggregates of its subtree, the number of words and occurrences and the
+ * most frequent words, so prefix queries cost the length of the prefix plus
+ * the size of the answer.
+ *
  * @author Vojtech Krajnansky
- * @version 07/19/2017
+ * @version 08/08/2017
  */
 public class DictionaryTrieImpl implements Dictionary {
 
+    // Constants
+    public static final int DEFAULT_MAX_CACHED_COMPLETIONS = 8;
+
     // Attributes
+    private final int maxCachedCompletions;
     private final Map<Character, Node> roots;
-    private final Map<Character, MutableInt> letterFrequency;
-    private final List<Entry<Character, MutableInt>> sortedLetters;
+    private final LetterFrequencies letterFrequency;
+    private final FrequencyBuckets wordRanking;
+    private final List<Node> wordNodes;   // nodes ending a word, by their ID
+    private char[] prefixBuffer;   // reused by the traversals
 
     // Constructors
     public DictionaryTrieImpl() {
+        this(DEFAULT_MAX_CACHED_COMPLETIONS);
+    }
+
+    /**
+     * Creates an empty dictionary caching a given number of the most
+     * frequent words at every node. Prefix queries with limits up to that
+     * number are answered from the cache, a larger cache costs memory and
+     * insertion time at every node.
+     *
+     * @param maxCachedCompletions number of words cached at every node, 0
+     * disables the cache
+     */
+    public DictionaryTrieImpl(int maxCachedCompletions) {
+        if (maxCachedCompletions < 0) {
+            throw new IllegalArgumentException("Number of cached words must "
+                    + "not be negative.");
+        }
+
+        this.maxCachedCompletions = maxCachedCompletions;
         roots = new HashMap<>();
-        letterFrequency = new HashMap<>();
-        sortedLetters = new ArrayList<>();
+        letterFrequency = new LetterFrequencies();
+        wordRanking = new FrequencyBuckets();
+        wordNodes = new ArrayList<>();
+        prefixBuffer = new char[16];
     }
 
     // Override Methods
     @Override
     public void insert(String string) {
-        if (string == null || string.length() == 0) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
             return;
         }
 
-        if (!roots.containsKey(string.charAt(0))) {
-            roots.put(string.charAt(0), new Node());
+        Map<Character, Node> children = roots;
+        Node node = null;
+
+        // Walk down the tree, adding the missing nodes
+        for (int i = 0; i < string.length(); i++) {
+            node = getOrAddChild(node, children, string.charAt(i));
+            letterFrequency.add(string.charAt(i), count);
+            children = node.getChildren();
         }
 
-        increaseLetterFreq(string.charAt(0));
+        addWordCount(node, count);
+    }
 
-        /*
-            Recursively traverse the tree to add all the characters
-            or increment the number of words if it exists
-         */
-        insertWord(string.substring(1), roots.get(string.charAt(0)));
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+
+        Map<Character, Node> children = roots;
+        Node node = null;
+
+        // Walk the characters directly, no substrings are needed
+        for (int i = offset; i < offset + length; i++) {
+            node = getOrAddChild(node, children, chars[i]);
+            letterFrequency.add(chars[i], 1);
+            children = node.getChildren();
+        }
+
+        addWordCount(node, 1);
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryTrieImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionaryTrieImpl trie = (DictionaryTrieImpl) other;
+        Deque<Node> sources = new ArrayDeque<>();
+        Deque<Node> targets = new ArrayDeque<>();
+
+        trie.roots.forEach((letter, node) -> {
+            sources.push(node);
+            targets.push(getOrAddChild(null, roots, letter));
+        });
+
+        // Walk both trees side by side, adding up the word counts of nodes
+        while (!sources.isEmpty()) {
+            Node source = sources.pop();
+            Node target = targets.pop();
+
+            if (source.getWordCount() > 0) {
+                addWordCount(target, source.getWordCount());
+            }
+
+            source.getChildren().forEach((letter, node) -> {
+                sources.push(node);
+                targets.push(getOrAddChild(target, target.getChildren(),
+                        letter));
+            });
+        }
+
+        letterFrequency.addAll(trie.letterFrequency);
     }
 
     @Override
@@ -55,16 +149,21 @@ public class DictionaryTrieImpl implements Dictionary {
             return -1;
         }
 
-        if (roots.containsKey(string.charAt(0))) {
+        Map<Character, Node> children = roots;
+        Node node = null;
+
+        for (int i = 0; i < string.length(); i++) {
+            node = children.get(string.charAt(i));
 
-            if (string.length() == 1
-                    && roots.get(string.charAt(0)).getWordCount() > 0) {
-                return roots.get(string.charAt(0)).getWordCount();
+            if (node == null) {
+                return -1;
             }
 
-            // Recursively traverse the tree to search for the word
-            return getFrequencyRec(string.substring(1),
-                    roots.get(string.charAt(0)));
+            children = node.getChildren();
+        }
+
+        if (node.getWordCount() > 0) {
+            return node.getWordCount();
         }
 
         return -1;
@@ -72,196 +171,292 @@ public class DictionaryTrieImpl implements Dictionary {
 
     @Override
     public Character getMostFrequentLetter() {
-        sortedLetters.clear();
-        sortedLetters.addAll(letterFrequency.entrySet());
-
-        // Sort the characters decreasing with respect to their frequency
-        Collections.sort(sortedLetters, (o1, o2) -> {
-            return o2.getValue().get() - o1.getValue().get();
-        });
-
-        if (sortedLetters.isEmpty()) {
-            return null;
-        }
+        return letterFrequency.getMostFrequent();
+    }
 
-        return sortedLetters.get(0).getKey();
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
     }
 
     @Override
     public List<WordFrequency> getWordFrequencies() {
-        List<WordFrequency> wordFrequencies = new ArrayList<>();
+        List<WordFrequency> wordFrequencies = new ArrayList<>(
+                wordNodes.size());
+        Deque<Iterator<Entry<Character, Node>>> stack = new ArrayDeque<>();
+
+        stack.push(roots.entrySet().iterator());
+
+        /*
+            Walk the tree in pre-order, the stack holds the unvisited children
+            of each node on the current path, the buffer holds the path
+         */
+        while (!stack.isEmpty()) {
+            Iterator<Entry<Character, Node>> children = stack.peek();
+
+            if (!children.hasNext()) {
+                stack.pop();
+                continue;
+            }
+
+            Entry<Character, Node> child = children.next();
+            Node node = child.getValue();
+            int length = appendToPrefix(stack.size() - 1, child.getKey());
 
-        roots.forEach((prefix, node) -> {
             if (node.getWordCount() > 0) {
-                wordFrequencies.add(
-                        new WordFrequency(prefix.toString(),
-                                node.getWordCount()));
+                wordFrequencies.add(new WordFrequency(
+                        new String(prefixBuffer, 0, length),
+                        node.getWordCount()));
             }
 
-            /*
-                Recursively traverse the tree to find the frequencies of all
-                words in the dictionary
-             */
-            wordFrequencies.addAll(
-                    getWordFreqsRec(prefix.toString(), node));
-        });
+            if (!node.getChildren().isEmpty()) {
+                stack.push(node.getChildren().entrySet().iterator());
+            }
+        }
 
         return wordFrequencies;
     }
 
     @Override
-    public List<String> getLongestWords() {
-        List<String> longestWords = new ArrayList<>();
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = wordRanking.first();
 
-        MutableInt wordLength = new MutableInt();
-        wordLength.set(0);
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            Node node = wordNodes.get(id);
 
-        roots.forEach((prefix, node) -> {
-            int depth = 1;
-            if (node.getWordCount() > 0) {
-                if (wordLength.get() == 0) {
-                    wordLength.increment();
-                }
+            topWords.add(new WordFrequency(spellWord(node),
+                    node.getWordCount()));
+            id = wordRanking.next(id);
+        }
 
-                if (wordLength.get() == 1) {
-                    longestWords.add(prefix.toString());
-                }
+        return topWords;
+    }
+
+    @Override
+    public int countWordsWithPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return wordNodes.size();
+        }
+
+        Node node = findNode(prefix);
+
+        return node == null ? 0 : node.getSubtreeWords();
+    }
+
+    @Override
+    public long totalOccurrencesWithPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            long total = 0;
+
+            for (Node root : roots.values()) {
+                total += root.getSubtreeCount();
             }
 
-            // Recursively traverse the tree to find the longest words
-            getLongestWordsRec(prefix.toString(),
-                    wordLength, node, longestWords, depth);
-        });
+            return total;
+        }
 
-        return longestWords;
+        Node node = findNode(prefix);
+
+        return node == null ? 0 : node.getSubtreeCount();
     }
 
-    // Helper Methods
     /**
-     * Recursive method to insert a word into the dictionary or increase the
-     * frequency if it already exists.
+     * {@inheritDoc}
      *
-     * @param string a remaining suffix of the word to insert
-     * @param node node to insert the first character of the suffix into
+     * Up to the number of words cached at every node, set at construction,
+     * the words are read from the cache of the node ending the prefix. Only
+     * larger limits walk its subtree.
      */
-    private void insertWord(String string, Node node) {
-        if (string.length() == 0) {
-            return;
+    @Override
+    public List<WordFrequency> getWordsWithPrefix(String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return getTopWords(limit);
+        }
+
+        List<WordFrequency> words = new ArrayList<>();
+        Node node = findNode(prefix);
+
+        if (node == null || limit <= 0) {
+            return words;
+        }
+
+        Node[] completions = node.getCompletions();
+
+        if (limit <= completions.length
+                || completions.length == node.getSubtreeWords()) {
+            for (int i = 0; i < Math.min(limit, completions.length); i++) {
+                words.add(new WordFrequency(spellWord(completions[i]),
+                        completions[i].getWordCount()));
+            }
+
+            return words;
         }
 
-        final Node nextChild;
+        // Too many words for the cache, collect the whole subtree
+        List<Node> wordsInSubtree = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
 
-        if (node.getChildren().containsKey(string.charAt(0))) {
-            nextChild = node.getChildren().get(string.charAt(0));
-        } else {
-            nextChild = new Node();
-            node.getChildren().put(string.charAt(0), nextChild);
+            if (n.getWordCount() > 0) {
+                wordsInSubtree.add(n);
+            }
+
+            n.getChildren().values().forEach(stack::push);
         }
 
-        increaseLetterFreq(string.charAt(0));
+        wordsInSubtree.sort((n1, n2) -> Integer.compare(n2.getWordCount(),
+                n1.getWordCount()));
 
-        if (string.length() == 1) {
-            nextChild.incrementWordCount();
-        } else {
-            insertWord(string.substring(1), nextChild);
+        for (Node n : wordsInSubtree.subList(0, Math.min(limit,
+                wordsInSubtree.size()))) {
+            words.add(new WordFrequency(spellWord(n), n.getWordCount()));
         }
+
+        return words;
     }
 
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+        Deque<Iterator<Entry<Character, Node>>> stack = new ArrayDeque<>();
+        int maxLength = 0;
+
+        stack.push(roots.entrySet().iterator());
+
+        // Walk the tree in pre-order, the same way as getWordFrequencies
+        while (!stack.isEmpty()) {
+            Iterator<Entry<Character, Node>> children = stack.peek();
+
+            if (!children.hasNext()) {
+                stack.pop();
+                continue;
+            }
+
+            Entry<Character, Node> child = children.next();
+            Node node = child.getValue();
+            int length = appendToPrefix(stack.size() - 1, child.getKey());
+
+            if (node.getWordCount() > 0 && length >= maxLength) {
+                if (length > maxLength) {
+                    maxLength = length;
+                    longestWords.clear();
+                }
+
+                longestWords.add(new String(prefixBuffer, 0, length));
+            }
+
+            if (!node.getChildren().isEmpty()) {
+                stack.push(node.getChildren().entrySet().iterator());
+            }
+        }
+
+        return longestWords;
+    }
+
+    // Helper Methods
     /**
-     * Recursive method to search for a frequency for a given word
+     * Finds a child node for a given letter, creates it if it does not exist.
      *
-     * @param string a remaining suffix of the word to search for
-     * @param node node to search for the first character of the suffix in
-     * @return frequency of the word if it exists, -1 otherwise
+     * @param parent the parent node, null for the first letter of a word
+     * @param children children of the parent node
+     * @param letter letter of the child
+     * @return the child node
      */
-    private int getFrequencyRec(String string, Node node) {
-        if (string.length() == 0) {
-            if (node.getWordCount() > 0) {
-                return node.getWordCount();
-            } else {
-                return -1;
-            }
-        }
+    private Node getOrAddChild(Node parent, Map<Character, Node> children,
+            char letter) {
+        Node child = children.get(letter);
 
-        if (node.getChildren().containsKey(string.charAt(0))) {
-            return getFrequencyRec(string.substring(1),
-                    node.getChildren().get(string.charAt(0)));
-        } else {
-            return -1;
+        if (child == null) {
+            child = new Node(parent, letter);
+            children.put(letter, child);
         }
+
+        return child;
     }
 
     /**
-     * Increases the frequency of a given character, inserts into the
-     * {@link Map} if it doesn't exist yet.
+     * Finds the node ending a prefix.
      *
-     * @param letter character for which to increase the frequency
+     * @param prefix non-empty prefix
+     * @return the node, null if no word starts with the prefix
      */
-    private void increaseLetterFreq(char letter) {
-        MutableInt count = letterFrequency.get(letter);
+    private Node findNode(String prefix) {
+        Map<Character, Node> children = roots;
+        Node node = null;
 
-        if (count == null) {
-            letterFrequency.put(letter, new MutableInt());
-        } else {
-            count.increment();
+        for (int i = 0; i < prefix.length() && children != null; i++) {
+            node = children.get(prefix.charAt(i));
+            children = node == null ? null : node.getChildren();
         }
+
+        return node;
     }
 
     /**
-     * Recursive method to find the frequencies of all words in the current
-     * subtree of the Trie.
+     * Adds occurrences to the word ending at a node and updates its rank and
+     * the aggregates of the nodes on its path.
      *
-     * @param str a current prefix of the word
-     * @param curNode root of the subtree
-     * @return a list of frequencies of all words which end in the current
-     * subtree
+     * @param node last node of the word
+     * @param count positive number of occurrences
      */
-    private List<WordFrequency> getWordFreqsRec(String str, Node curNode) {
-        List<WordFrequency> wfs = new ArrayList<>();
+    private void addWordCount(Node node, int count) {
+        boolean newWord = node.getWordId() == FrequencyBuckets.NONE;
 
-        curNode.getChildren().forEach((prefix, node) -> {
-            String curPrefix = str.concat(prefix.toString());
-            if (node.getWordCount() > 0) {
-                wfs.add(
-                        new WordFrequency(curPrefix, node.getWordCount()));
-            }
+        if (newWord) {
+            node.setWordId(wordRanking.newItem());
+            wordNodes.add(node);
+        }
 
-            wfs.addAll(getWordFreqsRec(curPrefix, node));
-        });
+        node.setWordCount(node.getWordCount() + count);
+        wordRanking.increment(node.getWordId(), count);
 
-        return wfs;
+        for (Node n = node; n != null; n = n.getParent()) {
+            n.addToSubtree(newWord, count);
+            n.offerCompletion(node);
+        }
     }
 
     /**
-     * Recursive method to search for the longest words in the Trie.
+     * Spells the word ending at a node by following the parent links.
      *
-     * @param str current prefix
-     * @param curMax current maximum length of found word
-     * @param curNode node to recursively search in
-     * @param longestWords a list of current longest words
-     * @param depth depth of current node's parent
+     * @param node last node of the word
+     * @return the word
      */
-    private void getLongestWordsRec(String str, MutableInt curMax, Node curNode,
-            List<String> longestWords, int depth) {
+    private String spellWord(Node node) {
+        int length = 0;
 
-        int curDepth = depth + 1;
+        for (Node n = node; n != null; n = n.getParent()) {
+            length++;
+        }
 
-        curNode.getChildren().forEach((prefix, node) -> {
+        char[] word = new char[length];
 
-            if (node.getWordCount() > 0) {
-                if (depth > curMax.get()) {
-                    curMax.set(depth);
+        for (Node n = node; n != null; n = n.getParent()) {
+            word[--length] = n.getLetter();
+        }
 
-                    longestWords.clear();
-                    longestWords.add(str.concat(prefix.toString()));
-                } else if (depth == curMax.get()) {
-                    longestWords.add(str.concat(prefix.toString()));
-                }
-            }
+        return new String(word);
+    }
 
-            getLongestWordsRec(str.concat(prefix.toString()),
-                    curMax, node, longestWords, curDepth);
-        });
+    /**
+     * Writes a letter into the prefix buffer, growing it if needed.
+     *
+     * @param depth position of the letter in the prefix
+     * @param letter the letter
+     * @return length of the prefix ending with the letter
+     */
+    private int appendToPrefix(int depth, char letter) {
+        if (depth == prefixBuffer.length) {
+            prefixBuffer = Arrays.copyOf(prefixBuffer, depth * 2);
+        }
+
+        prefixBuffer[depth] = letter;
+
+        return depth + 1;
     }
 
     // Inner Classes
@@ -272,12 +467,26 @@ public class DictionaryTrieImpl implements Dictionary {
 
         // Attributes
         private int wordCount;   // if 0, the current path is not a word
+        private int wordId;      // ID in wordRanking, NONE if not a word
+        private final Node parent;
+        private final char letter;
         private final Map<Character, Node> children;
+        private int subtreeWords;   // words ending in the subtree
+        private long subtreeCount;  // occurrences of those words
+        private Node[] completions; // most frequent of those words
+        private int completionCount;
 
         // Constructors
-        private Node() {
+        private Node(Node parent, char letter) {
             this.wordCount = 0;
+            this.wordId = FrequencyBuckets.NONE;
+            this.parent = parent;
+            this.letter = letter;
             this.children = new HashMap<>();
+            this.subtreeWords = 0;
+            this.subtreeCount = 0;
+            this.completions = null;
+            this.completionCount = 0;
         }
 
         // Getters
@@ -285,18 +494,112 @@ public class DictionaryTrieImpl implements Dictionary {
             return wordCount;
         }
 
+        public int getWordId() {
+            return wordId;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public char getLetter() {
+            return letter;
+        }
+
         public Map<Character, Node> getChildren() {
             return children;
         }
 
+        public int getSubtreeWords() {
+            return subtreeWords;
+        }
+
+        public long getSubtreeCount() {
+            return subtreeCount;
+        }
+
+        /**
+         * Gets the most frequent words of the subtree, at most
+         * maxCachedCompletions of them.
+         *
+         * @return nodes ending the words, by decreasing word count
+         */
+        public Node[] getCompletions() {
+            return completions == null ? new Node[0]
+                    : Arrays.copyOf(completions, completionCount);
+        }
+
         // Setters
         public void setWordCount(int count) {
             wordCount = count;
         }
 
+        public void setWordId(int id) {
+            wordId = id;
+        }
+
         // Public Methods
-        public void incrementWordCount() {
-            wordCount++;
+        /**
+         * Adds occurrences of a word of the subtree to the aggregates.
+         *
+         * @param newWord whether the word was not in the subtree before
+         * @param count number of occurrences
+         */
+        public void addToSubtree(boolean newWord, int count) {
+            if (newWord) {
+                subtreeWords++;
+            }
+
+            subtreeCount += count;
+        }
+
+        /**
+         * Updates the most frequent words of the subtree after the count of
+         * one of its words grew. Counts never decrease, so a word can only
+         * enter the cache when its own count grows. Words reaching a count
+         * first stay ahead of words reaching it later.
+         *
+         * @param word node ending the word
+         */
+        public void offerCompletion(Node word) {
+            if (maxCachedCompletions == 0) {
+                return;
+            }
+
+            int i = 0;
+
+            while (i < completionCount && completions[i] != word) {
+                i++;
+            }
+
+            if (i == completionCount) {
+                if (completions == null) {
+                    completions = new Node[1];
+                } else if (completionCount < maxCachedCompletions
+                        && completionCount == completions.length) {
+                    completions = Arrays.copyOf(completions, Math.min(
+                            completionCount * 2, maxCachedCompletions));
+                }
+
+                if (completionCount < completions.length) {
+                    completionCount++;
+                } else if (completions[i - 1].getWordCount()
+                        < word.getWordCount()) {
+                    i--;
+                } else {
+                    return;
+                }
+
+                completions[i] = word;
+            }
+
+            // Move the word up past the words with lower counts
+            while (i > 0 && completions[i - 1].getWordCount()
+                    < word.getWordCount()) {
+                completions[i] = completions[i - 1];
+                completions[i - 1] = word;
+                i--;
+            }
         }
     }
 }
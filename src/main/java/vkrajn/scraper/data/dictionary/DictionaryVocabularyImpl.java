@@ -0,0 +1,271 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.WordInterner;
+
+/**
+ * A {@link Dictionary} built of two layers of primitive arrays: a
+ * vocabulary mapping the words to dense int IDs, and counters indexed by
+ * the IDs.
+ *
+ * The vocabulary is a {@link WordInterner}, the counts are kept by
+ * {@link FrequencyBuckets} in an {@code int[]} indexed by the same IDs,
+ * ranked as they are counted. The IDs of the words are also indexed by
+ * their length, so the longest words are found without going through the
+ * vocabulary. Inserting a word already known hashes its characters and
+ * updates the arrays, so it allocates nothing, whether the word is given as
+ * a {@link String} or as a range of characters.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/12/2017
+ */
+public class DictionaryVocabularyImpl implements Dictionary {
+
+    // Attributes
+    private final WordInterner vocabulary;
+    private final FrequencyBuckets wordRanking;     // counts by word IDs
+    private final LetterFrequencies letterFrequency;
+
+    private int[][] idsByLength;    // IDs of the counted words by length
+    private int[] lengthSizes;      // number of IDs of each length
+    private int maxLength;
+
+    private char[] wordBuffer;
+
+    // Constructors
+    public DictionaryVocabularyImpl() {
+        this(new WordInterner());
+    }
+
+    /**
+     * Creates an empty dictionary over a given vocabulary, so that words
+     * interned by a tokenizer can be counted by their IDs.
+     *
+     * @param vocabulary vocabulary of the words, not used concurrently
+     * @see #insertId(int, int)
+     */
+    public DictionaryVocabularyImpl(WordInterner vocabulary) {
+        this.vocabulary = vocabulary;
+        wordRanking = new FrequencyBuckets();
+        letterFrequency = new LetterFrequencies();
+
+        idsByLength = new int[16][];
+        lengthSizes = new int[16];
+        maxLength = 0;
+
+        wordBuffer = new char[16];
+    }
+
+    // Override Methods
+    @Override
+    public void insert(String string) {
+        insert(string, 1);
+    }
+
+    @Override
+    public void insert(String string, int count) {
+        if (string == null || string.length() == 0 || count <= 0) {
+            return;
+        }
+
+        insertId(vocabulary.intern(string, 0, string.length()), count);
+    }
+
+    @Override
+    public void insert(char[] chars, int offset, int length) {
+        if (length > 0) {
+            insertId(vocabulary.intern(chars, offset, length), 1);
+        }
+    }
+
+    @Override
+    public void mergeFrom(Dictionary other) {
+        if (!(other instanceof DictionaryVocabularyImpl)) {
+            Dictionary.super.mergeFrom(other);
+            return;
+        }
+
+        DictionaryVocabularyImpl dictionary = (DictionaryVocabularyImpl) other;
+
+        // Add up the word counts, the letter counts can be added directly
+        for (int id = 0; id < dictionary.wordRanking.size(); id++) {
+            int count = dictionary.wordRanking.count(id);
+
+            if (count == 0) {
+                continue;
+            }
+
+            if (dictionary.vocabulary == vocabulary) {
+                addWordCount(id, count);
+            } else {
+                int length = dictionary.vocabulary.length(id);
+
+                ensureBufferCapacity(length);
+                dictionary.vocabulary.getChars(id, wordBuffer, 0);
+                addWordCount(vocabulary.intern(wordBuffer, 0, length), count);
+            }
+        }
+
+        letterFrequency.addAll(dictionary.letterFrequency);
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty()) {
+            return -1;
+        }
+
+        int id = vocabulary.find(string);
+
+        if (id == WordInterner.NONE || id >= wordRanking.size()
+                || wordRanking.count(id) == 0) {
+            return -1;
+        }
+
+        return wordRanking.count(id);
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letterFrequency.getMostFrequent();
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        return letterFrequency.getMostFrequent(k);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The words are listed in the order they were first inserted.
+     */
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>();
+
+        for (int id = 0; id < wordRanking.size(); id++) {
+            if (wordRanking.count(id) > 0) {
+                wordFrequencies.add(new WordFrequency(vocabulary.getWord(id),
+                        wordRanking.count(id)));
+            }
+        }
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+        int id = wordRanking.first();
+
+        while (id != FrequencyBuckets.NONE && topWords.size() < k) {
+            topWords.add(new WordFrequency(vocabulary.getWord(id),
+                    wordRanking.count(id)));
+            id = wordRanking.next(id);
+        }
+
+        return topWords;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        List<String> longestWords = new ArrayList<>();
+
+        for (int i = 0; i < lengthSizes[maxLength]; i++) {
+            longestWords.add(vocabulary.getWord(idsByLength[maxLength][i]));
+        }
+
+        return longestWords;
+    }
+
+    // Public Methods
+    /**
+     * Adds occurrences of a word interned by the vocabulary of the
+     * dictionary.
+     *
+     * @param id ID of the word in the vocabulary
+     * @param count number of occurrences of the word, nothing is inserted if
+     * it is not positive
+     */
+    public void insertId(int id, int count) {
+        if (count <= 0 || vocabulary.length(id) == 0) {
+            return;
+        }
+
+        addWordCount(id, count);
+        for (int i = 0; i < vocabulary.length(id); i++) {
+            letterFrequency.add(vocabulary.charAt(id, i), count);
+        }
+    }
+
+    // Getters
+    public WordInterner getInterner() {
+        return vocabulary;
+    }
+
+    // Helper Methods
+    /**
+     * Adds occurrences to a word and updates its rank, the letter
+     * frequencies are not changed. A word counted for the first time is
+     * indexed by its length.
+     *
+     * @param id ID of the word in the vocabulary
+     * @param count positive number of occurrences
+     */
+    private void addWordCount(int id, int count) {
+        // The vocabulary may hold words not counted here, they stay at zero
+        while (wordRanking.size() <= id) {
+            wordRanking.newItem();
+        }
+
+        if (wordRanking.count(id) == 0) {
+            indexLength(id);
+        }
+
+        wordRanking.increment(id, count);
+    }
+
+    /**
+     * Adds a word to the index of the words by their length.
+     *
+     * @param id ID of the word in the vocabulary
+     */
+    private void indexLength(int id) {
+        int length = vocabulary.length(id);
+
+        if (length >= lengthSizes.length) {
+            int capacity = Math.max(length + 1, lengthSizes.length * 2);
+
+            idsByLength = Arrays.copyOf(idsByLength, capacity);
+            lengthSizes = Arrays.copyOf(lengthSizes, capacity);
+        }
+
+        int[] ids = idsByLength[length];
+
+        if (ids == null) {
+            ids = new int[4];
+        } else if (lengthSizes[length] == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+
+        ids[lengthSizes[length]++] = id;
+        idsByLength[length] = ids;
+        maxLength = Math.max(maxLength, length);
+    }
+
+    /**
+     * Makes sure the word buffer can hold a word of a given length.
+     *
+     * @param length required length
+     */
+    private void ensureBufferCapacity(int length) {
+        if (wordBuffer.length < length) {
+            wordBuffer = Arrays.copyOf(wordBuffer,
+                    Math.max(length, wordBuffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * Counters of items kept ranked by their counts at all times.
+ *
+ * Items are identified by dense int IDs. Items with an equal count share a
+ * bucket, buckets form a list ordered by decreasing count, and items of a
+ * bucket form a list in the order they reached the count. Incrementing a
+ * count by one moves the item to the neighbouring bucket, so it takes
+ * constant time, and the top K items are listed in O(K) by walking the
+ * lists. All the lists are kept in primitive arrays.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/29/2017
+ */
+class FrequencyBuckets {
+
+    // Constants
+    static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Attributes
+    private int[] counts;
+    private int[] itemBuckets;
+    private int[] previousItems;
+    private int[] nextItems;
+    private int itemCount;
+
+    private int[] bucketCounts;
+    private int[] heads;
+    private int[] tails;
+    private int[] higherBuckets;
+    private int[] lowerBuckets;
+    private int bucketCount;
+    private int freeBucket;   // first bucket of the list of unused buckets
+
+    private int highest;
+    private int lowest;
+
+    // Constructors
+    FrequencyBuckets() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates empty counters with space preallocated for a number of items.
+     *
+     * @param initialCapacity expected number of items
+     */
+    FrequencyBuckets(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+
+        counts = new int[capacity];
+        itemBuckets = new int[capacity];
+        previousItems = new int[capacity];
+        nextItems = new int[capacity];
+        itemCount = 0;
+
+        bucketCounts = new int[capacity];
+        heads = new int[capacity];
+        tails = new int[capacity];
+        higherBuckets = new int[capacity];
+        lowerBuckets = new int[capacity];
+        bucketCount = 0;
+        freeBucket = NONE;
+
+        highest = NONE;
+        lowest = NONE;
+    }
+
+    // Package Methods
+    /**
+     * Adds a new item with a zero count. Items with a zero count are not
+     * ranked.
+     *
+     * @return ID of the new item
+     */
+    int newItem() {
+        if (itemCount == counts.length) {
+            int capacity = itemCount * 2;
+
+            counts = Arrays.copyOf(counts, capacity);
+            itemBuckets = Arrays.copyOf(itemBuckets, capacity);
+            previousItems = Arrays.copyOf(previousItems, capacity);
+            nextItems = Arrays.copyOf(nextItems, capacity);
+        }
+
+        int item = itemCount++;
+
+        counts[item] = 0;
+        itemBuckets[item] = NONE;
+        previousItems[item] = NONE;
+        nextItems[item] = NONE;
+
+        return item;
+    }
+
+    /**
+     * Gets the number of items, including the ones with a zero count.
+     *
+     * @return number of items
+     */
+    int size() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the count of an item.
+     *
+     * @param item ID of the item
+     * @return count of the item
+     */
+    int count(int item) {
+        return counts[item];
+    }
+
+    /**
+     * Increases the count of an item. The item is ranked after all items
+     * which reached the new count before it.
+     *
+     * @param item ID of the item
+     * @param increment positive number to add to the count
+     */
+    void increment(int item, int increment) {
+        int bucket = itemBuckets[item];
+        int newCount = counts[item] + increment;
+
+        // Find the bucket with the new count or the place to create it
+        int below = bucket;
+        int above = bucket == NONE ? lowest : higherBuckets[bucket];
+
+        while (above != NONE && bucketCounts[above] < newCount) {
+            below = above;
+            above = higherBuckets[above];
+        }
+
+        int target;
+
+        if (above != NONE && bucketCounts[above] == newCount) {
+            target = above;
+        } else {
+            target = newBucket(newCount, above, below);
+        }
+
+        if (bucket != NONE) {
+            unlinkItem(item, bucket);
+        }
+
+        counts[item] = newCount;
+        itemBuckets[item] = target;
+        previousItems[item] = tails[target];
+        nextItems[item] = NONE;
+
+        if (tails[target] == NONE) {
+            heads[target] = item;
+        } else {
+            nextItems[tails[target]] = item;
+        }
+
+        tails[target] = item;
+    }
+
+    /**
+     * Gets the item with the highest count. Of items with equal counts, the
+     * one which reached it first is returned.
+     *
+     * @return ID of the first ranked item, {@code NONE} if there is none
+     */
+    int first() {
+        return highest == NONE ? NONE : heads[highest];
+    }
+
+    /**
+     * Gets the item ranked right after a given one.
+     *
+     * @param item ID of a ranked item
+     * @return ID of the next ranked item, {@code NONE} if there is none
+     */
+    int next(int item) {
+        if (nextItems[item] != NONE) {
+            return nextItems[item];
+        }
+
+        int lower = lowerBuckets[itemBuckets[item]];
+
+        return lower == NONE ? NONE : heads[lower];
+    }
+
+    /**
+     * Gets an item with the lowest positive count, the one which reached it
+     * first.
+     *
+     * @return ID of the item, {@code NONE} if there is no ranked item
+     */
+    int last() {
+        return lowest == NONE ? NONE : heads[lowest];
+    }
+
+    // Helper Methods
+    /**
+     * Removes an item from the list of a bucket, the bucket is released if it
+     * becomes empty.
+     *
+     * @param item ID of the item
+     * @param bucket bucket of the item
+     */
+    private void unlinkItem(int item, int bucket) {
+        if (previousItems[item] == NONE) {
+            heads[bucket] = nextItems[item];
+        } else {
+            nextItems[previousItems[item]] = nextItems[item];
+        }
+
+        if (nextItems[item] == NONE) {
+            tails[bucket] = previousItems[item];
+        } else {
+            previousItems[nextItems[item]] = previousItems[item];
+        }
+
+        if (heads[bucket] == NONE) {
+            releaseBucket(bucket);
+        }
+    }
+
+    /**
+     * Creates an empty bucket and links it between two neighbours.
+     *
+     * @param count count of the items of the bucket
+     * @param above the neighbour with a higher count, may be {@code NONE}
+     * @param below the neighbour with a lower count, may be {@code NONE}
+     * @return the new bucket
+     */
+    private int newBucket(int count, int above, int below) {
+        int bucket;
+
+        if (freeBucket != NONE) {
+            bucket = freeBucket;
+            freeBucket = lowerBuckets[bucket];
+        } else {
+            if (bucketCount == bucketCounts.length) {
+                int capacity = bucketCount * 2;
+
+                bucketCounts = Arrays.copyOf(bucketCounts, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                tails = Arrays.copyOf(tails, capacity);
+                higherBuckets = Arrays.copyOf(higherBuckets, capacity);
+                lowerBuckets = Arrays.copyOf(lowerBuckets, capacity);
+            }
+
+            bucket = bucketCount++;
+        }
+
+        bucketCounts[bucket] = count;
+        heads[bucket] = NONE;
+        tails[bucket] = NONE;
+        higherBuckets[bucket] = above;
+        lowerBuckets[bucket] = below;
+
+        if (above == NONE) {
+            highest = bucket;
+        } else {
+            lowerBuckets[above] = bucket;
+        }
+
+        if (below == NONE) {
+            lowest = bucket;
+        } else {
+            higherBuckets[below] = bucket;
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Unlinks an empty bucket and puts it on the list of unused buckets.
+     *
+     * @param bucket the bucket to release
+     */
+    private void releaseBucket(int bucket) {
+        int above = higherBuckets[bucket];
+        int below = lowerBuckets[bucket];
+
+        if (above == NONE) {
+            highest = below;
+        } else {
+            lowerBuckets[above] = below;
+        }
+
+        if (below == NONE) {
+            lowest = above;
+        } else {
+            higherBuckets[below] = above;
+        }
+
+        lowerBuckets[bucket] = freeBucket;
+        freeBucket = bucket;
+    }
+}
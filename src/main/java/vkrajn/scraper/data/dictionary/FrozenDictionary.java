@@ -0,0 +1,464 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * An immutable {@link Dictionary}, a compact read-only copy of another one
+ * created by {@link Dictionary#freeze()}.
+ *
+ * The words are located by a minimal perfect hash function built with the
+ * CHD (compress, hash and displace) algorithm: every word is hashed into a
+ * bucket, and every bucket stores the seed of a second hash which places all
+ * of its words into distinct slots, one slot per word. A lookup costs two
+ * hashes and one comparison with the word in its slot. The words are pooled
+ * in a single {@code char[]} in the order of their slots, their counts are
+ * packed in an {@code int[]}, and the hash function takes about two bytes
+ * per word.
+ *
+ * Lookups match the exact spelling of the words, unless the source counts
+ * words differing in case only as one word, such as a
+ * {@link DictionaryTreeMapImpl}. Its copy hashes and compares the words in
+ * lower case, so it answers the same as the source.
+ *
+ * The slots sorted by decreasing count, the longest words and the ranking
+ * of the letters are computed when the dictionary is frozen. Nothing is
+ * written afterwards, so any number of threads can read the dictionary
+ * without locking.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/10/2017
+ */
+public final class FrozenDictionary implements Dictionary {
+
+    // Constants
+    private static final int WORDS_PER_BUCKET = 2;
+    private static final int MAX_SEED = 1 << 20;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // Attributes
+    private final boolean ignoreCase;
+    private final long salt;
+    private final int[] seeds;      // per bucket, -slot - 1 for single words
+    private final char[] pool;      // the words, in the order of the slots
+    private final int[] offsets;    // start of each slot's word in the pool
+    private final int[] counts;
+    private final int[] ranking;    // slots by decreasing count
+
+    private final List<String> longestWords;
+    private final char[] letters;   // by decreasing frequency
+
+    // Constructors
+    /**
+     * Creates a frozen copy of a dictionary matching the exact spelling of
+     * the words.
+     *
+     * @param source dictionary to copy
+     */
+    FrozenDictionary(Dictionary source) {
+        this(source, false);
+    }
+
+    /**
+     * Creates a frozen copy of a dictionary.
+     *
+     * @param source dictionary to copy
+     * @param ignoreCase true if the source counts words differing in case
+     * only as one word
+     */
+    FrozenDictionary(Dictionary source, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        List<WordFrequency> words = source.getTopWords(Integer.MAX_VALUE);
+        int size = words.size();
+        long[] hashes = new long[size];
+        int[] slots = null;
+        long trySalt = 0;
+        int[] trySeeds = new int[Math.max(1, size / WORDS_PER_BUCKET)];
+
+        // A different salt is needed only if two words share a 64-bit hash
+        while (slots == null) {
+            trySalt++;
+            for (int i = 0; i < size; i++) {
+                hashes[i] = hash(trySalt, words.get(i).getWord(),
+                        ignoreCase);
+            }
+
+            slots = place(hashes, trySeeds);
+        }
+
+        salt = trySalt;
+        seeds = trySeeds;
+        offsets = new int[size + 1];
+        counts = new int[size];
+        ranking = new int[size];
+
+        // Lay the words out in the order of their slots
+        int[] wordInSlot = new int[size];
+        for (int i = 0; i < size; i++) {
+            wordInSlot[slots[i]] = i;
+            ranking[i] = slots[i];
+        }
+
+        int poolLength = 0;
+        for (int slot = 0; slot < size; slot++) {
+            offsets[slot] = poolLength;
+            poolLength += words.get(wordInSlot[slot]).getWord().length();
+        }
+        offsets[size] = poolLength;
+
+        pool = new char[poolLength];
+        for (int slot = 0; slot < size; slot++) {
+            WordFrequency wf = words.get(wordInSlot[slot]);
+
+            wf.getWord().getChars(0, wf.getWord().length(), pool,
+                    offsets[slot]);
+            counts[slot] = wf.getFrequency();
+        }
+
+        longestWords = Collections.unmodifiableList(
+                new ArrayList<>(source.getLongestWords()));
+
+        List<Character> ranked = source.getMostFrequentLetters(
+                Integer.MAX_VALUE);
+        letters = new char[ranked.size()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = ranked.get(i);
+        }
+    }
+
+    // Override Methods
+    /**
+     * Not supported, the dictionary is frozen.
+     *
+     * @param string ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(String string) {
+        throw new UnsupportedOperationException("Dictionary is frozen");
+    }
+
+    /**
+     * Not supported, the dictionary is frozen.
+     *
+     * @param string ignored
+     * @param count ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(String string, int count) {
+        throw new UnsupportedOperationException("Dictionary is frozen");
+    }
+
+    /**
+     * Not supported, the dictionary is frozen.
+     *
+     * @param other ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void mergeFrom(Dictionary other) {
+        throw new UnsupportedOperationException("Dictionary is frozen");
+    }
+
+    /**
+     * Gets this dictionary, which is frozen already.
+     *
+     * @return this dictionary
+     */
+    @Override
+    public FrozenDictionary freeze() {
+        return this;
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty() || counts.length == 0) {
+            return -1;
+        }
+
+        long hash = hash(salt, string, ignoreCase);
+        int seed = seeds[bucket(hash, seeds.length)];
+        int slot = seed < 0 ? -seed - 1 : slot(hash, seed, counts.length);
+
+        if (offsets[slot + 1] - offsets[slot] != string.length()) {
+            return -1;
+        }
+
+        for (int i = 0; i < string.length(); i++) {
+            if (fold(pool[offsets[slot] + i], ignoreCase)
+                    != fold(string.charAt(i), ignoreCase)) {
+                return -1;
+            }
+        }
+
+        return counts[slot];
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        return letters.length == 0 ? null : letters[0];
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        List<Character> mostFrequent = new ArrayList<>();
+
+        for (int i = 0; i < Math.min(k, letters.length); i++) {
+            mostFrequent.add(letters[i]);
+        }
+
+        return mostFrequent;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The words are listed by decreasing frequency.
+     */
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        return getTopWords(counts.length);
+    }
+
+    @Override
+    public List<WordFrequency> getTopWords(int k) {
+        List<WordFrequency> topWords = new ArrayList<>();
+
+        for (int i = 0; i < Math.min(k, ranking.length); i++) {
+            int slot = ranking[i];
+
+            topWords.add(new WordFrequency(new String(pool, offsets[slot],
+                    offsets[slot + 1] - offsets[slot]), counts[slot]));
+        }
+
+        return topWords;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned list is shared and cannot be modified.
+     */
+    @Override
+    public List<String> getLongestWords() {
+        return longestWords;
+    }
+
+    // Public Methods
+    /**
+     * Gets the number of distinct words in the dictionary.
+     *
+     * @return number of distinct words
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    // Helper Methods
+    /**
+     * Finds a seed for every bucket placing its words into free slots. The
+     * buckets are placed from the largest, while most slots are still free.
+     * Buckets of a single word take the remaining free slots directly.
+     *
+     * @param hashes hashes of the words
+     * @param seeds array to store the seeds of the buckets in
+     * @return slot of each word, null if two words could not be separated
+     */
+    private static int[] place(long[] hashes, int[] seeds) {
+        int size = hashes.length;
+        int bucketCount = seeds.length;
+        int[] bucketSizes = new int[bucketCount + 1];
+
+        // Group the words by their buckets, counting sort
+        for (long hash : hashes) {
+            bucketSizes[bucket(hash, bucketCount) + 1]++;
+        }
+
+        int[] bucketStarts = bucketSizes.clone();
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+
+        int[] members = new int[size];
+        int[] filled = Arrays.copyOf(bucketStarts, bucketCount);
+        for (int i = 0; i < size; i++) {
+            members[filled[bucket(hashes[i], bucketCount)]++] = i;
+        }
+
+        // Order the buckets by decreasing size, counting sort again
+        int maxBucket = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            maxBucket = Math.max(maxBucket, bucketSizes[b + 1]);
+        }
+
+        int[] bySize = new int[maxBucket + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            bySize[maxBucket - bucketSizes[b + 1] + 1]++;
+        }
+        for (int s = 0; s <= maxBucket; s++) {
+            bySize[s + 1] += bySize[s];
+        }
+
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[bySize[maxBucket - bucketSizes[b + 1]]++] = b;
+        }
+
+        int[] slots = new int[size];
+        boolean[] taken = new boolean[size];
+        int[] trial = new int[maxBucket];
+        int free = 0;               // lowest slot which may still be free
+
+        for (int b : order) {
+            int start = bucketStarts[b];
+            int bucketSize = bucketStarts[b + 1] - start;
+
+            if (bucketSize == 0) {
+                seeds[b] = 0;
+            } else if (bucketSize == 1) {
+                while (taken[free]) {
+                    free++;
+                }
+
+                taken[free] = true;
+                slots[members[start]] = free;
+                seeds[b] = -free - 1;
+            } else {
+                int seed = findSeed(hashes, members, start, bucketSize,
+                        taken, trial);
+
+                if (seed < 0) {
+                    return null;
+                }
+
+                for (int i = 0; i < bucketSize; i++) {
+                    taken[trial[i]] = true;
+                    slots[members[start + i]] = trial[i];
+                }
+
+                seeds[b] = seed;
+            }
+        }
+
+        return slots;
+    }
+
+    /**
+     * Finds the first seed placing all words of a bucket into distinct free
+     * slots.
+     *
+     * @param hashes hashes of the words
+     * @param members words grouped by their buckets
+     * @param start index of the first word of the bucket in members
+     * @param bucketSize number of words of the bucket
+     * @param taken slots already taken
+     * @param trial array to store the slots of the words in
+     * @return the seed, -1 if none was found
+     */
+    private static int findSeed(long[] hashes, int[] members, int start,
+            int bucketSize, boolean[] taken, int[] trial) {
+        for (int seed = 0; seed < MAX_SEED; seed++) {
+            int placed = 0;
+
+            while (placed < bucketSize) {
+                int slot = slot(hashes[members[start + placed]], seed,
+                        taken.length);
+                boolean collides = taken[slot];
+
+                for (int i = 0; i < placed && !collides; i++) {
+                    collides = trial[i] == slot;
+                }
+
+                if (collides) {
+                    break;
+                }
+
+                trial[placed++] = slot;
+            }
+
+            if (placed == bucketSize) {
+                return seed;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Hashes a word with the 64-bit FNV-1a hash, mixed with a salt.
+     *
+     * @param salt the salt
+     * @param word the word
+     * @param ignoreCase true to hash the word in lower case
+     * @return the hash
+     */
+    private static long hash(long salt, String word, boolean ignoreCase) {
+        long hash = FNV_OFFSET ^ (salt * GOLDEN_GAMMA);
+
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ fold(word.charAt(i), ignoreCase)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Folds a character of a word to the case the words are matched in.
+     *
+     * @param c the character
+     * @param ignoreCase true to match the words in lower case
+     * @return the character to match
+     */
+    private static char fold(char c, boolean ignoreCase) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * Maps a hash to a bucket by its upper bits.
+     *
+     * @param hash hash of the word
+     * @param bucketCount number of buckets
+     * @return the bucket
+     */
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Maps a hash to a slot with a seeded second hash.
+     *
+     * @param hash hash of the word
+     * @param seed seed of the bucket of the word
+     * @param slotCount number of slots
+     * @return the slot
+     */
+    private static int slot(long hash, int seed, int slotCount) {
+        long mixed = mix(hash + (seed + 1) * GOLDEN_GAMMA);
+
+        return (int) (((mixed >>> 32) * slotCount) >>> 32);
+    }
+
+    /**
+     * Mixes the bits of a hash with the MurmurHash3 finalizer.
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -0,0 +1,177 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frequencies of letters of a dictionary, ranked as they are counted.
+ *
+ * Letters are mapped to dense IDs by a small open-addressing table, their
+ * counts are kept in {@link FrequencyBuckets}. Counting a letter therefore
+ * allocates nothing once the letter is known, and both the most frequent
+ * letter and the top K letters are available without sorting.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/29/2017
+ */
+class LetterFrequencies {
+
+    // Constants
+    private static final int INITIAL_TABLE_SIZE = 64;   // a power of two
+
+    // Attributes
+    private char[] tableLetters;
+    private int[] tableIds;   // ID + 1 of the letter, 0 for an empty slot
+    private char[] letters;   // letters by their ID
+    private final FrequencyBuckets counts;
+
+    // Constructors
+    LetterFrequencies() {
+        tableLetters = new char[INITIAL_TABLE_SIZE];
+        tableIds = new int[INITIAL_TABLE_SIZE];
+        letters = new char[INITIAL_TABLE_SIZE / 2];
+        counts = new FrequencyBuckets(INITIAL_TABLE_SIZE / 2);
+    }
+
+    // Package Methods
+    /**
+     * Increases the frequency of a letter.
+     *
+     * @param letter the letter
+     * @param count positive number of occurrences to add
+     */
+    void add(char letter, int count) {
+        counts.increment(getOrAddId(letter), count);
+    }
+
+    /**
+     * Increases the frequencies of all letters of a string.
+     *
+     * @param string the string
+     * @param count positive number of occurrences of the string
+     */
+    void add(String string, int count) {
+        for (int i = 0; i < string.length(); i++) {
+            add(string.charAt(i), count);
+        }
+    }
+
+    /**
+     * Adds the frequencies of all letters counted by another instance.
+     *
+     * @param other the letter frequencies to add
+     */
+    void addAll(LetterFrequencies other) {
+        for (int id = 0; id < other.counts.size(); id++) {
+            add(other.letters[id], other.counts.count(id));
+        }
+    }
+
+    /**
+     * Gets the frequency of a letter.
+     *
+     * @param letter the letter
+     * @return frequency of the letter, 0 if it was not counted
+     */
+    int getFrequency(char letter) {
+        int slot = findSlot(letter);
+
+        return tableIds[slot] == 0 ? 0 : counts.count(tableIds[slot] - 1);
+    }
+
+    /**
+     * Gets the most frequent letter. Of letters with equal frequencies, the
+     * one which reached it first is returned.
+     *
+     * @return the most frequent letter, null if no letter was counted
+     */
+    Character getMostFrequent() {
+        int first = counts.first();
+
+        return first == FrequencyBuckets.NONE ? null : letters[first];
+    }
+
+    /**
+     * Gets the most frequent letters, in decreasing order of frequency.
+     *
+     * @param k maximal number of letters to return
+     * @return a {@link List} of at most k letters
+     */
+    List<Character> getMostFrequent(int k) {
+        List<Character> mostFrequent = new ArrayList<>(
+                Math.max(0, Math.min(k, counts.size())));
+
+        for (int id = counts.first(); id != FrequencyBuckets.NONE
+                && mostFrequent.size() < k; id = counts.next(id)) {
+            mostFrequent.add(letters[id]);
+        }
+
+        return mostFrequent;
+    }
+
+    // Helper Methods
+    /**
+     * Gets the ID of a letter, assigns a new one if the letter is not known.
+     *
+     * @param letter the letter
+     * @return ID of the letter
+     */
+    private int getOrAddId(char letter) {
+        int slot = findSlot(letter);
+
+        if (tableIds[slot] != 0) {
+            return tableIds[slot] - 1;
+        }
+
+        int id = counts.newItem();
+
+        if (id == letters.length) {
+            letters = Arrays.copyOf(letters, id * 2);
+        }
+
+        letters[id] = letter;
+        tableLetters[slot] = letter;
+        tableIds[slot] = id + 1;
+
+        // Keep the table at most half full
+        if (counts.size() * 2 > tableIds.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    /**
+     * Finds the slot of a letter in the table, or the empty slot where it
+     * belongs.
+     *
+     * @param letter the letter
+     * @return index of the slot
+     */
+    private int findSlot(char letter) {
+        int mask = tableIds.length - 1;
+        int slot = (letter * 0x9E3779B1 >>> 16) & mask;
+
+        while (tableIds[slot] != 0 && tableLetters[slot] != letter) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Doubles the size of the table.
+     */
+    private void rehash() {
+        tableLetters = new char[tableLetters.length * 2];
+        tableIds = new int[tableIds.length * 2];
+
+        for (int id = 0; id < counts.size(); id++) {
+            int slot = findSlot(letters[id]);
+
+            tableLetters[slot] = letters[id];
+            tableIds[slot] = id + 1;
+        }
+    }
+}
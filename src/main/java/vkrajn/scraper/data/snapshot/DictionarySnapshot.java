@@ -0,0 +1,324 @@
+package vkrajn.scraper.data.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * Saving of dictionaries into a compact binary snapshot file, and loading of
+ * the snapshots as read-only dictionaries.
+ *
+ * A snapshot holds the words sorted by their UTF-8 bytes, split into blocks
+ * of {@link #BLOCK_SIZE} words. The first word of a block is stored whole,
+ * the others only store the length of the prefix they share with the
+ * previous word and the rest of their bytes (front coding). Lengths and
+ * counts are stored as varints. The file layout is:
+ * <ul>
+ * <li>a header of {@link #HEADER_SIZE} bytes: magic number, version, word
+ * count, block size, length of the longest words and the positions of the
+ * sections below,</li>
+ * <li>the word entries,</li>
+ * <li>the positions of the blocks, for binary search,</li>
+ * <li>the ordinals of the longest words,</li>
+ * <li>the letters, by decreasing frequency.</li>
+ * </ul>
+ * All numbers outside of the entries are big-endian.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/01/2017
+ */
+public final class DictionarySnapshot {
+
+    // Constants
+    static final int MAGIC = 0x564B4453;   // "VKDS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 44;
+    static final int BLOCK_SIZE = 16;
+
+    // Constructors
+    private DictionarySnapshot() {
+    }
+
+    // Public Methods
+    /**
+     * Saves the words and frequencies of a dictionary into a snapshot file,
+     * replacing the file if it exists.
+     *
+     * @param dictionary dictionary to save
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(Dictionary dictionary, Path file)
+            throws IOException {
+        List<WordFrequency> wordFrequencies = dictionary.getWordFrequencies();
+        Entry[] entries = new Entry[wordFrequencies.size()];
+
+        for (int i = 0; i < entries.length; i++) {
+            WordFrequency wf = wordFrequencies.get(i);
+
+            entries[i] = new Entry(wf.getWord().getBytes(
+                    StandardCharsets.UTF_8), wf.getFrequency());
+        }
+
+        Arrays.sort(entries, (e1, e2) -> Arrays.compareUnsigned(e1.bytes,
+                e2.bytes));
+
+        Set<String> longestWords = new HashSet<>(dictionary
+                .getLongestWords());
+        int longestLength = longestWords.isEmpty() ? 0
+                : longestWords.iterator().next().length();
+        List<Character> letters = dictionary.getMostFrequentLetters(
+                Integer.MAX_VALUE);
+
+        int[] blocks = new int[(entries.length + BLOCK_SIZE - 1)
+                / BLOCK_SIZE];
+        int[] longest = new int[longestWords.size()];
+        int longestCount = 0;
+        long blocksPosition;
+        long longestPosition;
+        long lettersPosition;
+
+        try (CountingOutputStream counter = new CountingOutputStream(
+                Files.newOutputStream(file));
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(counter))) {
+            // The header is written once the section positions are known
+            out.write(new byte[HEADER_SIZE]);
+
+            byte[] previous = new byte[0];
+
+            for (int i = 0; i < entries.length; i++) {
+                byte[] bytes = entries[i].bytes;
+                int shared = 0;
+
+                if (i % BLOCK_SIZE == 0) {
+                    out.flush();
+                    blocks[i / BLOCK_SIZE] = toPosition(counter.count);
+                } else {
+                    int max = Math.min(previous.length, bytes.length);
+
+                    while (shared < max && previous[shared] == bytes[shared]) {
+                        shared++;
+                    }
+                }
+
+                writeVarint(out, shared);
+                writeVarint(out, bytes.length - shared);
+                out.write(bytes, shared, bytes.length - shared);
+                writeVarint(out, entries[i].count);
+
+                // A word has at least as many bytes as characters
+                if (bytes.length >= longestLength
+                        && longestWords.contains(new String(bytes,
+                                StandardCharsets.UTF_8))) {
+                    longest[longestCount++] = i;
+                }
+
+                previous = bytes;
+            }
+
+            out.flush();
+            blocksPosition = counter.count;
+
+            for (int block : blocks) {
+                out.writeInt(block);
+            }
+
+            out.flush();
+            longestPosition = counter.count;
+
+            out.writeInt(longestCount);
+            for (int i = 0; i < longestCount; i++) {
+                out.writeInt(longest[i]);
+            }
+
+            out.flush();
+            lettersPosition = counter.count;
+
+            out.writeInt(letters.size());
+            for (char letter : letters) {
+                out.writeChar(letter);
+            }
+
+            // The whole snapshot has to fit into one mapping
+            out.flush();
+            toPosition(counter.count);
+        }
+
+        writeHeader(file, entries.length, longestLength, blocksPosition,
+                longestPosition, lettersPosition);
+    }
+
+    /**
+     * Loads a snapshot file as a read-only dictionary. The file is memory
+     * mapped and queried in place, so loading takes constant time. To get a
+     * modifiable dictionary, merge the loaded one into an empty one.
+     *
+     * @param file the snapshot file
+     * @return the dictionary of the snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static SnapshotDictionary load(Path file) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE
+                    || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a dictionary snapshot: " + file);
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary snapshot: " + file);
+        }
+
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version "
+                    + buffer.getInt(4) + ": " + file);
+        }
+
+        return new SnapshotDictionary(buffer);
+    }
+
+    // Helper Methods
+    /**
+     * Writes the header at the beginning of a snapshot file.
+     *
+     * @param file the snapshot file
+     * @param wordCount number of words
+     * @param longestLength length of the longest words
+     * @param blocksPosition position of the block positions
+     * @param longestPosition position of the longest word ordinals
+     * @param lettersPosition position of the letters
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeHeader(Path file, int wordCount,
+            int longestLength, long blocksPosition, long longestPosition,
+            long lettersPosition) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(wordCount)
+                .putInt(BLOCK_SIZE)
+                .putInt(longestLength)
+                .putLong(blocksPosition)
+                .putLong(longestPosition)
+                .putLong(lettersPosition)
+                .flip();
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    /**
+     * Writes a non-negative number as a varint, seven bits per byte from the
+     * lowest, the highest bit of a byte is set if more bytes follow.
+     *
+     * @param out stream to write to
+     * @param value the number
+     * @throws IOException if writing fails
+     */
+    private static void writeVarint(DataOutputStream out, int value)
+            throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write(value);
+    }
+
+    /**
+     * Checks that a file position can be mapped.
+     *
+     * @param position the position
+     * @return the position as an int
+     * @throws IOException if the snapshot grows over 2 GB
+     */
+    private static int toPosition(long position) throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot larger than 2 GB");
+        }
+
+        return (int) position;
+    }
+
+    // Inner Classes
+    /**
+     * An encoded word with its count.
+     */
+    private static class Entry {
+
+        // Attributes
+        private final byte[] bytes;
+        private final int count;
+
+        // Constructors
+        private Entry(byte[] bytes, int count) {
+            this.bytes = bytes;
+            this.count = count;
+        }
+    }
+
+    /**
+     * An output stream counting the bytes written through it.
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        // Attributes
+        private final OutputStream out;
+        private long count;
+
+        // Constructors
+        private CountingOutputStream(OutputStream out) {
+            this.out = out;
+            this.count = 0;
+        }
+
+        // Override Methods
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
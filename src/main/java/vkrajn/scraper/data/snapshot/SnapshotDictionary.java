@@ -0,0 +1,281 @@
+package vkrajn.scraper.data.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * A read-only {@link Dictionary} answering queries directly from the bytes
+ * of a snapshot created by {@link DictionarySnapshot}.
+ *
+ * Nothing is decoded up front. A word is looked up by a binary search over
+ * the first words of the blocks, followed by a scan of one block. Queries
+ * only read the buffer, so they can run concurrently.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/01/2017
+ */
+public class SnapshotDictionary implements Dictionary {
+
+    // Attributes
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int blockSize;
+    private final int blockCount;
+    private final int blocksPosition;
+    private final int longestPosition;
+    private final int lettersPosition;
+
+    // Constructors
+    /**
+     * Creates a dictionary over the bytes of a snapshot.
+     *
+     * @param buffer the snapshot, with a valid header
+     */
+    SnapshotDictionary(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        wordCount = buffer.getInt(8);
+        blockSize = buffer.getInt(12);
+        blockCount = (wordCount + blockSize - 1) / blockSize;
+        blocksPosition = (int) buffer.getLong(20);
+        longestPosition = (int) buffer.getLong(28);
+        lettersPosition = (int) buffer.getLong(36);
+    }
+
+    // Override Methods
+    /**
+     * Not supported, the dictionary is read-only.
+     *
+     * @param string ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(String string) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    /**
+     * Not supported, the dictionary is read-only.
+     *
+     * @param string ignored
+     * @param count ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(String string, int count) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public int getWordFrequency(String string) {
+        if (string == null || string.isEmpty() || wordCount == 0) {
+            return -1;
+        }
+
+        byte[] key = string.getBytes(StandardCharsets.UTF_8);
+
+        // Find the last block whose first word is not greater than the key
+        int low = 0;
+        int high = blockCount - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            Cursor head = new Cursor(blockPosition(middle));
+
+            head.next();
+            if (head.compareTo(key) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        Cursor cursor = new Cursor(blockPosition(low));
+        int end = Math.min(wordCount, (low + 1) * blockSize);
+
+        for (int i = low * blockSize; i < end; i++) {
+            cursor.next();
+            int compare = cursor.compareTo(key);
+
+            if (compare == 0) {
+                return cursor.count;
+            } else if (compare > 0) {
+                break;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Character getMostFrequentLetter() {
+        if (buffer.getInt(lettersPosition) == 0) {
+            return null;
+        }
+
+        return buffer.getChar(lettersPosition + 4);
+    }
+
+    @Override
+    public List<Character> getMostFrequentLetters(int k) {
+        int letterCount = Math.min(k, buffer.getInt(lettersPosition));
+        List<Character> letters = new ArrayList<>();
+
+        for (int i = 0; i < letterCount; i++) {
+            letters.add(buffer.getChar(lettersPosition + 4 + i * 2));
+        }
+
+        return letters;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The words are listed in the order of their UTF-8 bytes.
+     */
+    @Override
+    public List<WordFrequency> getWordFrequencies() {
+        List<WordFrequency> wordFrequencies = new ArrayList<>(wordCount);
+
+        if (wordCount == 0) {
+            return wordFrequencies;
+        }
+
+        Cursor cursor = new Cursor(blockPosition(0));
+
+        for (int i = 0; i < wordCount; i++) {
+            cursor.next();
+            wordFrequencies.add(new WordFrequency(cursor.word(),
+                    cursor.count));
+        }
+
+        return wordFrequencies;
+    }
+
+    @Override
+    public List<String> getLongestWords() {
+        int longestCount = buffer.getInt(longestPosition);
+        List<String> longestWords = new ArrayList<>(longestCount);
+
+        for (int i = 0; i < longestCount; i++) {
+            int ordinal = buffer.getInt(longestPosition + 4 + i * 4);
+            Cursor cursor = new Cursor(blockPosition(ordinal / blockSize));
+
+            for (int j = ordinal % blockSize; j >= 0; j--) {
+                cursor.next();
+            }
+
+            longestWords.add(cursor.word());
+        }
+
+        return longestWords;
+    }
+
+    // Public Methods
+    /**
+     * Gets the number of distinct words in the dictionary.
+     *
+     * @return number of distinct words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    // Helper Methods
+    /**
+     * Gets the position of the first entry of a block.
+     *
+     * @param block index of the block
+     * @return position of the block in the buffer
+     */
+    private int blockPosition(int block) {
+        return buffer.getInt(blocksPosition + block * 4);
+    }
+
+    // Inner Classes
+    /**
+     * Decodes consecutive front-coded entries starting at a block.
+     */
+    private class Cursor {
+
+        // Attributes
+        private int position;
+        private byte[] bytes;
+        private int length;
+        private int count;
+
+        // Constructors
+        private Cursor(int position) {
+            this.position = position;
+            this.bytes = new byte[32];
+            this.length = 0;
+            this.count = 0;
+        }
+
+        // Public Methods
+        /**
+         * Decodes the next entry, keeping the prefix shared with the
+         * previous word.
+         */
+        public void next() {
+            int shared = readVarint();
+            int suffix = readVarint();
+
+            if (bytes.length < shared + suffix) {
+                bytes = Arrays.copyOf(bytes, Math.max(shared + suffix,
+                        bytes.length * 2));
+            }
+
+            buffer.get(position, bytes, shared, suffix);
+            position += suffix;
+            length = shared + suffix;
+            count = readVarint();
+        }
+
+        /**
+         * Compares the current word with a key by their unsigned bytes.
+         *
+         * @param key the encoded key
+         * @return a negative number, zero or a positive number if the word
+         * is less than, equal to or greater than the key
+         */
+        public int compareTo(byte[] key) {
+            return Arrays.compareUnsigned(bytes, 0, length, key, 0,
+                    key.length);
+        }
+
+        /**
+         * Decodes the current word.
+         *
+         * @return the word
+         */
+        public String word() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        // Helper Methods
+        /**
+         * Reads a varint at the position, moving the position past it.
+         *
+         * @return the value
+         */
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            return value;
+        }
+    }
+}
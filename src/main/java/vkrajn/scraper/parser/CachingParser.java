@@ -0,0 +1,360 @@
+package vkrajn.scraper.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Parser} caching the pages it fetches, so repeated runs over the
+ * same URLs neither download nor parse unchanged pages again.
+ *
+ * The fetched bodies are kept in a size-bounded store on disk together with
+ * their ETag and Last-Modified headers, and every request revalidates the
+ * stored body with a conditional GET. When the server answers 304 Not
+ * Modified, the text is served from a size-bounded in-memory cache, or
+ * parsed again from the stored body if it was evicted from memory. The
+ * parsing itself is left to a {@link JsoupParser}.
+ *
+ * Redirects are followed by the parser itself, up to
+ * {@link #MAX_REDIRECTS} of them and between HTTP and HTTPS as well, and the
+ * final response is stored under the URL originally requested.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/03/2017
+ */
+public class CachingParser extends Parser {
+
+    // Constants
+    public static final long DEFAULT_MAX_DISK_BYTES = 256L * 1024 * 1024;
+    public static final long DEFAULT_MAX_MEMORY_CHARS = 16L * 1024 * 1024;
+    public static final int MAX_REDIRECTS = 5;
+
+    private static final int HTTP_TEMPORARY_REDIRECT = 307;
+    private static final int HTTP_PERMANENT_REDIRECT = 308;
+
+    // Attributes
+    private final JsoupParser parser;
+    private final ResponseStore store;
+    private final long maxMemoryChars;
+    private final Map<String, String> texts;   // extracted texts, LRU order
+    private long memoryChars;
+
+    private final AtomicLong memoryHits;
+    private final AtomicLong diskHits;
+    private final AtomicLong misses;
+
+    // Constructors
+    /**
+     * Creates a caching parser with the default cache sizes.
+     *
+     * @param parser parser extracting the text of the pages
+     * @param directory directory of the disk store
+     * @throws IOException if the disk store cannot be opened
+     */
+    public CachingParser(JsoupParser parser, Path directory)
+            throws IOException {
+        this(parser, directory, DEFAULT_MAX_DISK_BYTES,
+                DEFAULT_MAX_MEMORY_CHARS);
+    }
+
+    /**
+     * Creates a caching parser.
+     *
+     * @param parser parser extracting the text of the pages
+     * @param directory directory of the disk store
+     * @param maxDiskBytes maximal total size of the stored bodies
+     * @param maxMemoryChars maximal total length of the texts kept in memory
+     * @throws IOException if the disk store cannot be opened
+     */
+    public CachingParser(JsoupParser parser, Path directory,
+            long maxDiskBytes, long maxMemoryChars) throws IOException {
+        if (maxDiskBytes < 0 || maxMemoryChars < 0) {
+            throw new IllegalArgumentException("Cache sizes must not be "
+                    + "negative.");
+        }
+
+        this.parser = parser;
+        this.store = new ResponseStore(directory, maxDiskBytes);
+        this.maxMemoryChars = maxMemoryChars;
+        this.texts = new LinkedHashMap<>(16, 0.75f, true);
+        this.memoryChars = 0;
+
+        this.memoryHits = new AtomicLong();
+        this.diskHits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    // Override Methods
+    @Override
+    public String getText(String input) throws IOException {
+        URL url = toUrl(input);
+        ResponseStore.StoredResponse stored = store.get(input);
+
+        for (int redirects = 0;; redirects++) {
+            URLConnection connection = url.openConnection();
+
+            if (!(connection instanceof HttpURLConnection)) {
+                try (InputStream in = connection.getInputStream()) {
+                    return parseDownloaded(in, connection.getContentType(),
+                            input);
+                }
+            }
+
+            HttpURLConnection http = (HttpURLConnection) connection;
+
+            // Redirects across protocols are not followed automatically
+            http.setInstanceFollowRedirects(false);
+            http.setConnectTimeout(TIMEOUT);
+            http.setReadTimeout(TIMEOUT);
+
+            if (stored != null) {
+                if (stored.getEtag() != null) {
+                    http.setRequestProperty("If-None-Match",
+                            stored.getEtag());
+                }
+                if (stored.getLastModified() != null) {
+                    http.setRequestProperty("If-Modified-Since",
+                            stored.getLastModified());
+                }
+            }
+
+            try {
+                int status = http.getResponseCode();
+
+                if (isRedirect(status)) {
+                    if (redirects == MAX_REDIRECTS) {
+                        throw new IOException("Too many redirects fetching "
+                                + input);
+                    }
+
+                    url = redirectTarget(url, http.getHeaderField("Location"),
+                            input);
+                    continue;
+                }
+
+                return getText(input, http, status, stored);
+            } finally {
+                http.disconnect();
+            }
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the number of unmodified pages served from memory.
+     *
+     * @return number of memory hits
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Gets the number of unmodified pages parsed again from the disk store.
+     *
+     * @return number of disk hits
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * Gets the number of pages downloaded in full.
+     *
+     * @return number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of pages kept in the disk store.
+     *
+     * @return number of stored pages
+     */
+    public int getStoredCount() {
+        return store.size();
+    }
+
+    // Helper Methods
+    /**
+     * Gets the text of a page from the final response to its request. The
+     * response is stored under the URL originally requested, whether it was
+     * redirected or not.
+     *
+     * @param url URL of the page as requested
+     * @param http connection answered with a response other than a redirect
+     * @param status status code of the response
+     * @param stored the stored response, null if the page was not stored
+     * @return text content of the page
+     * @throws IOException if the response is an error or cannot be read
+     */
+    private String getText(String url, HttpURLConnection http, int status,
+            ResponseStore.StoredResponse stored) throws IOException {
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED && stored != null) {
+            return getUnmodifiedText(url, stored);
+        }
+
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("HTTP error " + status + " fetching "
+                    + url);
+        }
+
+        byte[] body;
+        try (InputStream in = http.getInputStream()) {
+            body = in.readAllBytes();
+        }
+
+        String contentType = http.getContentType();
+        store.put(url, http.getHeaderField("ETag"),
+                http.getHeaderField("Last-Modified"), contentType, body);
+
+        String text = parseDownloaded(new ByteArrayInputStream(body),
+                contentType, url);
+
+        remember(url, text);
+
+        return text;
+    }
+
+    /**
+     * Parses the text of a page downloaded in full and counts it as a miss.
+     *
+     * @param in the body of the page
+     * @param contentType Content-Type of the page, may be null
+     * @param url URL of the page as requested
+     * @return text content of the page
+     * @throws IOException if the body cannot be read
+     */
+    private String parseDownloaded(InputStream in, String contentType,
+            String url) throws IOException {
+        misses.incrementAndGet();
+
+        return parser.parseText(in, charsetOf(contentType), url);
+    }
+
+    /**
+     * Gets the text of a page the server reported as not modified.
+     *
+     * @param url URL of the page
+     * @param stored the stored response
+     * @return text content of the page
+     * @throws IOException if the stored body cannot be read
+     */
+    private String getUnmodifiedText(String url,
+            ResponseStore.StoredResponse stored) throws IOException {
+        String text;
+
+        synchronized (texts) {
+            text = texts.get(url);
+        }
+
+        if (text != null) {
+            memoryHits.incrementAndGet();
+            return text;
+        }
+
+        byte[] body = store.readBody(url);
+
+        if (body == null) {
+            // Evicted since it was revalidated, downloaded again in full
+            return getText(url);
+        }
+
+        text = parser.parseText(new ByteArrayInputStream(body),
+                charsetOf(stored.getContentType()), url);
+
+        diskHits.incrementAndGet();
+        remember(url, text);
+
+        return text;
+    }
+
+    /**
+     * Checks whether a status code redirects the request to another URL.
+     *
+     * @param status status code of a response
+     * @return true if the response is a redirect
+     */
+    private static boolean isRedirect(int status) {
+        return status == HttpURLConnection.HTTP_MOVED_PERM
+                || status == HttpURLConnection.HTTP_MOVED_TEMP
+                || status == HttpURLConnection.HTTP_SEE_OTHER
+                || status == HTTP_TEMPORARY_REDIRECT
+                || status == HTTP_PERMANENT_REDIRECT;
+    }
+
+    /**
+     * Resolves the target of a redirect. Only redirects to HTTP and HTTPS
+     * URLs are followed.
+     *
+     * @param url URL of the redirected request
+     * @param location value of the Location header, may be relative
+     * @param input URL of the page as requested
+     * @return URL to request next
+     * @throws IOException if the target is missing or not an HTTP URL
+     */
+    private static URL redirectTarget(URL url, String location, String input)
+            throws IOException {
+        if (location == null) {
+            throw new IOException("Redirect without a location fetching "
+                    + input);
+        }
+
+        URL target;
+        try {
+            target = url.toURI().resolve(location).toURL();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Malformed redirect to " + location
+                    + " fetching " + input, e);
+        }
+
+        if (!target.getProtocol().equals("http")
+                && !target.getProtocol().equals("https")) {
+            throw new IOException("Redirect to " + target + " fetching "
+                    + input);
+        }
+
+        return target;
+    }
+
+    /**
+     * Keeps the text of a page in memory, evicting the least recently used
+     * texts over the size limit. Texts larger than the limit are not kept.
+     *
+     * @param url URL of the page
+     * @param text text content of the page
+     */
+    private void remember(String url, String text) {
+        synchronized (texts) {
+            String previous = texts.remove(url);
+
+            if (previous != null) {
+                memoryChars -= previous.length();
+            }
+
+            if (text.length() > maxMemoryChars) {
+                return;
+            }
+
+            texts.put(url, text);
+            memoryChars += text.length();
+
+            Iterator<String> eldest = texts.values().iterator();
+
+            while (memoryChars > maxMemoryChars) {
+                memoryChars -= eldest.next().length();
+                eldest.remove();
+            }
+        }
+    }
+}
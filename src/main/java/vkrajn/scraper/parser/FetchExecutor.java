@@ -0,0 +1,155 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs page fetches of a {@link Parser} in the background, with a bounded
+ * number of fetches in flight.
+ *
+ * Fetching is blocking I/O, so in {@link Mode#VIRTUAL} mode every fetch gets
+ * its own virtual thread, which costs only a small heap-allocated stack while
+ * it waits for the network. Thousands of slow pages can then be fetched at
+ * once. In {@link Mode#PLATFORM} mode, fetches run on a pool of platform
+ * threads, one per allowed fetch in flight.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/27/2017
+ */
+public class FetchExecutor implements AutoCloseable {
+
+    // Attributes
+    private final Parser parser;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+
+    // Constructors
+    /**
+     * Creates an executor.
+     *
+     * @param parser parser used to fetch the pages
+     * @param mode kind of threads to fetch the pages on
+     * @param maxInFlight maximal number of fetches running at once
+     */
+    public FetchExecutor(Parser parser, Mode mode, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                    "Number of fetches in flight must be positive");
+        }
+
+        this.parser = parser;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        if (mode == Mode.VIRTUAL) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            executor = Executors.newFixedThreadPool(maxInFlight);
+        }
+    }
+
+    // Public Methods
+    /**
+     * Starts fetching a page in the background. Blocks while the maximal
+     * number of fetches is in flight.
+     *
+     * The handler is called on the fetching thread, and the fetch counts as
+     * in flight until the handler returns. A handler blocking on a full queue
+     * therefore holds back further fetches.
+     *
+     * @param url a {@link String} representation of the page URL
+     * @param handler handler of the result
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public void fetch(String url, FetchHandler handler)
+            throws InterruptedException {
+        inFlight.acquire();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String text;
+
+                    try {
+                        text = parser.getText(url);
+                    } catch (IOException e) {
+                        handler.onFailure(url, e);
+                        return;
+                    } catch (UncheckedIOException e) {
+                        handler.onFailure(url, e.getCause());
+                        return;
+                    } catch (RuntimeException e) {
+                        // E.g. a URL of a protocol the parser cannot fetch
+                        handler.onFailure(url, new IOException("Failed "
+                                + "fetching " + url, e));
+                        return;
+                    }
+
+                    handler.onPage(url, text);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for all started fetches to finish and releases the threads.
+     *
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Interrupts the running fetches and releases the threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Inner Classes
+    /**
+     * Kinds of threads the pages can be fetched on.
+     */
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    /**
+     * A handler of a result of a background fetch.
+     */
+    public interface FetchHandler {
+
+        /**
+         * Called with the text of a fetched page.
+         *
+         * @param url URL of the page
+         * @param text text content of the page
+         * @throws java.lang.InterruptedException if interrupted while handing
+         * the page over
+         */
+        void onPage(String url, String text) throws InterruptedException;
+
+        /**
+         * Called when a page could not be fetched. Runtime exceptions thrown
+         * by the parser are reported wrapped in an {@link IOException}.
+         *
+         * @param url URL of the page
+         * @param e cause of the failure
+         */
+        void onFailure(String url, IOException e);
+    }
+}
@@ -0,0 +1,470 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import org.jsoup.nodes.Entities;
+
+/**
+ * An event-based HTML tokenizer, reporting text and tags to a
+ * {@link Handler} as it reads them, without building a document tree.
+ *
+ * The tokenizer is a state machine fed one character at a time, so its
+ * memory does not depend on the size of the document. Character references
+ * in text are decoded, comments, declarations and the contents of
+ * {@code <script>} and {@code <style>} elements are skipped. Attributes are
+ * skipped too, tag names longer than {@link #MAX_TAG_NAME} characters are
+ * cut off. Malformed markup is recovered from the way a browser would in
+ * the common cases, such as a {@code '<'} not starting a tag.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/07/2017
+ */
+class HtmlTokenizer {
+
+    // Constants
+    static final int MAX_TAG_NAME = 16;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ENTITY = 32;
+
+    // Attributes
+    private final Handler handler;
+    private final char[] text;
+    private int textLength;
+    private final char[] name;
+    private int nameLength;
+    private boolean endTag;
+    private final char[] entity;
+    private int entityLength;
+    private String rawTag;          // name of the open script or style
+    private int rawMatched;         // characters of its end tag matched
+    private int dashes;             // dashes before a possible comment end
+    private State state;
+
+    // Constructors
+    HtmlTokenizer(Handler handler) {
+        this.handler = handler;
+        this.text = new char[BUFFER_SIZE];
+        this.name = new char[MAX_TAG_NAME];
+        this.entity = new char[MAX_ENTITY];
+        this.state = State.TEXT;
+    }
+
+    // Package Methods
+    /**
+     * Reads and tokenizes a whole document from a {@link Reader}. The reader
+     * is not closed.
+     *
+     * @param reader source of the document
+     * @throws IOException if reading fails
+     */
+    void tokenize(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                accept(buffer[i]);
+            }
+        }
+
+        finish();
+    }
+
+    /**
+     * Tokenizes a whole document.
+     *
+     * @param document the document
+     */
+    void tokenize(CharSequence document) {
+        for (int i = 0; i < document.length(); i++) {
+            accept(document.charAt(i));
+        }
+
+        finish();
+    }
+
+    // Helper Methods
+    /**
+     * Processes a single character of the document.
+     *
+     * @param c character to process
+     */
+    private void accept(char c) {
+        switch (state) {
+            case TEXT:
+                if (c == '<') {
+                    state = State.TAG_OPEN;
+                } else if (c == '&') {
+                    entityLength = 0;
+                    state = State.ENTITY;
+                } else {
+                    emit(c);
+                }
+                break;
+            case TAG_OPEN:
+                if (c == '/') {
+                    startTagName(true);
+                } else if (c == '!') {
+                    state = State.MARKUP_DECLARATION;
+                } else if (c == '?') {
+                    state = State.BOGUS_COMMENT;
+                } else if (Character.isLetter(c)) {
+                    startTagName(false);
+                    appendName(c);
+                } else {
+                    // Not a tag after all
+                    emit('<');
+                    state = State.TEXT;
+                    accept(c);
+                }
+                break;
+            case TAG_NAME:
+                if (c == '>') {
+                    endOfTag();
+                } else if (Character.isWhitespace(c) || c == '/') {
+                    state = State.ATTRIBUTES;
+                } else {
+                    appendName(c);
+                }
+                break;
+            case ATTRIBUTES:
+                if (c == '>') {
+                    endOfTag();
+                } else if (c == '"') {
+                    state = State.DOUBLE_QUOTED;
+                } else if (c == '\'') {
+                    state = State.SINGLE_QUOTED;
+                }
+                break;
+            case DOUBLE_QUOTED:
+                if (c == '"') {
+                    state = State.ATTRIBUTES;
+                }
+                break;
+            case SINGLE_QUOTED:
+                if (c == '\'') {
+                    state = State.ATTRIBUTES;
+                }
+                break;
+            case MARKUP_DECLARATION:
+                if (c == '-') {
+                    state = State.COMMENT_START;
+                } else {
+                    state = c == '>' ? State.TEXT : State.BOGUS_COMMENT;
+                }
+                break;
+            case COMMENT_START:
+                if (c == '-') {
+                    dashes = 0;
+                    state = State.COMMENT;
+                } else {
+                    state = c == '>' ? State.TEXT : State.BOGUS_COMMENT;
+                }
+                break;
+            case COMMENT:
+                if (c == '>' && dashes >= 2) {
+                    state = State.TEXT;
+                } else {
+                    dashes = c == '-' ? dashes + 1 : 0;
+                }
+                break;
+            case BOGUS_COMMENT:
+                if (c == '>') {
+                    state = State.TEXT;
+                }
+                break;
+            case RAW_TEXT:
+                acceptRawText(c);
+                break;
+            case ENTITY:
+                acceptEntity(c);
+                break;
+        }
+    }
+
+    /**
+     * Processes a character inside a script or style element, looking for
+     * its end tag.
+     *
+     * @param c character to process
+     */
+    private void acceptRawText(char c) {
+        boolean matches;
+
+        if (rawMatched == 0) {
+            matches = c == '<';
+        } else if (rawMatched == 1) {
+            matches = c == '/';
+        } else if (rawMatched - 2 < rawTag.length()) {
+            matches = Character.toLowerCase(c)
+                    == rawTag.charAt(rawMatched - 2);
+        } else {
+            // The whole name matched, it has to end here
+            matches = c == '>' || c == '/' || Character.isWhitespace(c);
+        }
+
+        if (!matches) {
+            rawMatched = c == '<' ? 1 : 0;
+            return;
+        }
+
+        rawMatched++;
+
+        if (rawMatched == rawTag.length() + 3) {
+            startTagName(true);
+            for (int i = 0; i < rawTag.length(); i++) {
+                appendName(rawTag.charAt(i));
+            }
+
+            rawTag = null;
+            if (c == '>') {
+                endOfTag();
+            } else {
+                state = State.ATTRIBUTES;
+            }
+        }
+    }
+
+    /**
+     * Processes a character of a character reference.
+     *
+     * @param c character to process
+     */
+    private void acceptEntity(char c) {
+        if (c != ';' && (Character.isLetterOrDigit(c) || c == '#')
+                && entityLength < MAX_ENTITY) {
+            entity[entityLength++] = c;
+            return;
+        }
+
+        if (!endEntity() || c != ';') {
+            accept(c);
+        }
+    }
+
+    /**
+     * Ends a character reference, emitting the decoded characters. A name
+     * without a semicolon may start with one of the legacy entities, which
+     * are decoded even then, like {@code &copy2017}.
+     *
+     * @return true if the whole reference was decoded
+     */
+    private boolean endEntity() {
+        String decoded = decodeEntity();
+        state = State.TEXT;
+
+        if (decoded != null) {
+            emit(decoded);
+            return true;
+        }
+
+        int prefix = 0;
+
+        if (entityLength > 0 && entity[0] != '#') {
+            prefix = entityLength - 1;
+            while (prefix > 1 && !Entities.isBaseNamedEntity(
+                    new String(entity, 0, prefix))) {
+                prefix--;
+            }
+        }
+
+        if (prefix > 1) {
+            emit(Entities.getByName(new String(entity, 0, prefix)));
+        } else {
+            emit('&');
+            prefix = 0;
+        }
+
+        for (int i = prefix; i < entityLength; i++) {
+            emit(entity[i]);
+        }
+
+        return false;
+    }
+
+    /**
+     * Decodes the collected character reference.
+     *
+     * @return the decoded characters, null if it is no valid reference
+     */
+    private String decodeEntity() {
+        if (entityLength == 0) {
+            return null;
+        }
+
+        if (entity[0] != '#') {
+            String decoded = Entities.getByName(new String(entity, 0,
+                    entityLength));
+
+            return decoded.isEmpty() ? null : decoded;
+        }
+
+        boolean hex = entityLength > 1
+                && (entity[1] == 'x' || entity[1] == 'X');
+        int start = hex ? 2 : 1;
+        int codePoint = 0;
+
+        if (start == entityLength) {
+            return null;
+        }
+
+        for (int i = start; i < entityLength; i++) {
+            int digit = Character.digit(entity[i], hex ? 16 : 10);
+
+            if (digit < 0) {
+                return null;
+            }
+
+            codePoint = codePoint * (hex ? 16 : 10) + digit;
+            if (codePoint > Character.MAX_CODE_POINT) {
+                return null;
+            }
+        }
+
+        return new String(Character.toChars(codePoint));
+    }
+
+    /**
+     * Starts collecting the name of a tag.
+     *
+     * @param end whether the tag is an end tag
+     */
+    private void startTagName(boolean end) {
+        endTag = end;
+        nameLength = 0;
+        state = State.TAG_NAME;
+    }
+
+    /**
+     * Appends a character to the tag name, cutting off long names.
+     *
+     * @param c character to append
+     */
+    private void appendName(char c) {
+        if (nameLength < name.length) {
+            name[nameLength++] = Character.toLowerCase(c);
+        }
+    }
+
+    /**
+     * Reports a complete tag, script and style elements switch to skipping
+     * their contents.
+     */
+    private void endOfTag() {
+        String tag = new String(name, 0, nameLength);
+
+        flushText();
+        state = State.TEXT;
+
+        if (endTag) {
+            handler.endTag(tag);
+        } else {
+            handler.startTag(tag);
+
+            if (tag.equals("script") || tag.equals("style")) {
+                rawTag = tag;
+                rawMatched = 0;
+                state = State.RAW_TEXT;
+            }
+        }
+    }
+
+    /**
+     * Appends a character of text, passing the text on when the buffer is
+     * full.
+     *
+     * @param c character to append
+     */
+    private void emit(char c) {
+        if (textLength == text.length) {
+            flushText();
+        }
+
+        text[textLength++] = c;
+    }
+
+    /**
+     * Appends a string of text.
+     *
+     * @param s the string
+     */
+    private void emit(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            emit(s.charAt(i));
+        }
+    }
+
+    /**
+     * Passes the buffered text to the handler.
+     */
+    private void flushText() {
+        if (textLength > 0) {
+            handler.text(text, 0, textLength);
+            textLength = 0;
+        }
+    }
+
+    /**
+     * Ends the document, passing on the pending text.
+     */
+    private void finish() {
+        if (state == State.ENTITY) {
+            endEntity();
+        } else if (state == State.TAG_OPEN) {
+            emit('<');
+        }
+
+        flushText();
+        state = State.TEXT;
+    }
+
+    // Inner Classes
+    /**
+     * States of the tokenizer.
+     */
+    private enum State {
+        TEXT,
+        TAG_OPEN,
+        TAG_NAME,
+        ATTRIBUTES,
+        DOUBLE_QUOTED,
+        SINGLE_QUOTED,
+        MARKUP_DECLARATION,
+        COMMENT_START,
+        COMMENT,
+        BOGUS_COMMENT,
+        RAW_TEXT,
+        ENTITY
+    }
+
+    /**
+     * A receiver of the events of the tokenizer.
+     */
+    interface Handler {
+
+        /**
+         * Called with a run of text. The array may be reused once the method
+         * returns, a run of text may be split into several calls.
+         *
+         * @param chars array containing the text
+         * @param offset index of the first character of the text
+         * @param length number of characters of the text
+         */
+        void text(char[] chars, int offset, int length);
+
+        /**
+         * Called with the lower-case name of a start tag.
+         *
+         * @param name the tag name
+         */
+        void startTag(String name);
+
+        /**
+         * Called with the lower-case name of an end tag.
+         *
+         * @param name the tag name
+         */
+        void endTag(String name);
+    }
+}
@@ -1,26 +1,115 @@
 package vkrajn.scraper.parser;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import vkrajn.scraper.data.WordSink;
 
 /**
  * A {@link Parser} using {@link Jsoup} to get text contained on a page.
  *
+ * In the {@link Mode#MAIN_CONTENT} mode, only the main content of the page
+ * is kept, see {@link MainContentExtractor}.
+ *
  * @author Vojtech Krajnansky
- * @version 07/18/2017
+ * @version 08/06/2017
  */
 public class JsoupParser extends Parser {
 
+    // Attributes
+    private final Mode mode;
+
+    // Constructors
+    public JsoupParser() {
+        this(Mode.FULL_TEXT);
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param mode which text of the pages to extract
+     */
+    public JsoupParser(Mode mode) {
+        this.mode = mode;
+    }
+
     // Override Methods
     @Override
     public String getText(String input) throws IOException {
 
-        URL url = new URL(input);
+        URL url = toUrl(input);
         Document doc = Jsoup.parse(url, TIMEOUT);
-        String text = doc.text();
+        String text = getText(doc);
 
         return text;
     }
+
+    @Override
+    public void parseWords(String input, WordSink sink) throws IOException {
+        if (mode == Mode.FULL_TEXT) {
+            super.parseWords(input, sink);
+            return;
+        }
+
+        // The text nodes are tokenized right from the document
+        Document doc = Jsoup.parse(toUrl(input), TIMEOUT);
+        MainContentExtractor.extract(doc).tokenize(
+                new StreamingTokenizer(sink));
+    }
+
+    // Public Methods
+    /**
+     * Parses an already fetched page to plaintext.
+     *
+     * @param body the page source
+     * @param charset name of the page charset, null to detect it from the
+     * page
+     * @param baseUri URL of the page
+     * @return text content of the page
+     * @throws java.io.IOException if the source cannot be read
+     */
+    public String parseText(InputStream body, String charset, String baseUri)
+            throws IOException {
+        Document doc = Jsoup.parse(body, charset, baseUri);
+
+        return getText(doc);
+    }
+
+    // Getters
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Helper Methods
+    /**
+     * Extracts the text of a document according to the mode.
+     *
+     * @param doc the document
+     * @return the text
+     */
+    private String getText(Document doc) {
+        if (mode == Mode.MAIN_CONTENT) {
+            return MainContentExtractor.extract(doc).getText();
+        }
+
+        return doc.text();
+    }
+
+    // Inner Classes
+    /**
+     * Which text of a page is extracted.
+     */
+    public enum Mode {
+        /**
+         * All the text of the page.
+         */
+        FULL_TEXT,
+        /**
+         * Only the main content of the page, without navigation, footers
+         * and similar boilerplate.
+         */
+        MAIN_CONTENT
+    }
 }
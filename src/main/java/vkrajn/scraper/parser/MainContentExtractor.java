@@ -0,0 +1,295 @@
+package vkrajn.scraper.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.jsoup.helper.StringUtil;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+/**
+ * A {@link NodeVisitor} picking the main content of a page, leaving out
+ * navigation, footers, banners and similar boilerplate.
+ *
+ * Elements which are boilerplate by their tag, such as {@code <nav>} or
+ * {@code <script>}, or by their class or id, such as a cookie banner, are
+ * skipped with their whole subtree. The remaining text is split into blocks
+ * by the block-level elements, and every block is scored by its number of
+ * words, the share of the words inside links, and the number of words per
+ * inline tag. Only the blocks scoring as content are kept. The DOM is walked
+ * once, the text nodes of the kept blocks are handed out afterwards without
+ * being joined into a single string.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/06/2017
+ */
+class MainContentExtractor implements NodeVisitor {
+
+    // Constants
+    private static final int MIN_WORDS = 10;
+    private static final double MAX_LINK_DENSITY = 0.33;
+    private static final int MIN_WORDS_PER_TAG = 2;
+
+    private static final Set<String> SKIPPED_TAGS = new HashSet<>(
+            Arrays.asList("head", "script", "style", "noscript", "template",
+                    "svg", "iframe", "nav", "footer", "aside", "menu", "form",
+                    "button", "select", "textarea"));
+
+    private static final Set<String> BLOCK_TAGS = new HashSet<>(
+            Arrays.asList("body", "div", "main", "article", "section", "p",
+                    "blockquote", "pre", "ul", "ol", "li", "dl", "dt", "dd",
+                    "table", "tr", "td", "th", "figcaption", "h1", "h2", "h3",
+                    "h4", "h5", "h6"));
+
+    private static final Set<String> HEADING_TAGS = new HashSet<>(
+            Arrays.asList("h1", "h2", "h3", "h4", "h5", "h6"));
+
+    private static final Set<String> UNNAMED_TAGS = new HashSet<>(
+            Arrays.asList("html", "body", "main", "article"));
+
+    // Whole words of a class or id, separated by '-', '_' or spaces
+    private static final Pattern BOILERPLATE_NAME = Pattern.compile(
+            "(?<![a-z0-9])(nav|navbar|navigation|menu|footer|cookies?|consent"
+            + "|banner|sidebar|breadcrumbs?|share|social|comments?|related"
+            + "|promo|advert|newsletter|popup|modal)(?![a-z0-9])",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final TextNode LINE_BREAK = new TextNode(" ", "");
+
+    // Attributes
+    private final List<TextNode> texts;
+    private final List<Block> owners;   // block of each of the texts
+    private final Deque<Block> blocks;
+    private Node skipped;
+    private int linkDepth;
+
+    // Constructors
+    private MainContentExtractor() {
+        this.texts = new ArrayList<>();
+        this.owners = new ArrayList<>();
+        this.blocks = new ArrayDeque<>();
+        this.skipped = null;
+        this.linkDepth = 0;
+
+        blocks.push(new Block(false));
+    }
+
+    // Override Methods
+    @Override
+    public void head(Node node, int depth) {
+        if (skipped != null) {
+            return;
+        }
+
+        if (node instanceof Element) {
+            Element element = (Element) node;
+            String tag = element.tagName();
+
+            if (SKIPPED_TAGS.contains(tag) || isBoilerplateName(element)) {
+                skipped = node;
+                return;
+            }
+
+            if (BLOCK_TAGS.contains(tag)) {
+                blocks.push(new Block(HEADING_TAGS.contains(tag)));
+            } else {
+                blocks.peek().tags++;
+            }
+
+            if (tag.equals("a")) {
+                linkDepth++;
+            } else if (tag.equals("br")) {
+                texts.add(LINE_BREAK);
+                owners.add(blocks.peek());
+            }
+        } else if (node instanceof TextNode) {
+            TextNode text = (TextNode) node;
+            Block block = blocks.peek();
+            int words = countWords(text.getWholeText());
+
+            // Whitespace is kept too, it separates the words around it
+            block.words += words;
+            if (linkDepth > 0) {
+                block.linkWords += words;
+            }
+
+            texts.add(text);
+            owners.add(block);
+        }
+    }
+
+    @Override
+    public void tail(Node node, int depth) {
+        if (skipped != null) {
+            if (node == skipped) {
+                skipped = null;
+            }
+
+            return;
+        }
+
+        if (node instanceof Element) {
+            String tag = ((Element) node).tagName();
+
+            if (tag.equals("a")) {
+                linkDepth--;
+            }
+
+            if (BLOCK_TAGS.contains(tag)) {
+                blocks.pop();
+            }
+        }
+    }
+
+    // Package Methods
+    /**
+     * Walks an element and picks its main content.
+     *
+     * @param root the element, usually the document
+     * @return the extractor holding the main content
+     */
+    static MainContentExtractor extract(Node root) {
+        MainContentExtractor extractor = new MainContentExtractor();
+
+        new NodeTraversor(extractor).traverse(root);
+
+        return extractor;
+    }
+
+    /**
+     * Passes the main content to a tokenizer. Words do not span blocks.
+     *
+     * @param tokenizer the tokenizer
+     */
+    void tokenize(StreamingTokenizer tokenizer) {
+        Block previous = null;
+
+        for (int i = 0; i < texts.size(); i++) {
+            Block block = owners.get(i);
+
+            if (block.isContent()) {
+                if (block != previous) {
+                    tokenizer.flush();
+                }
+
+                tokenizer.append(texts.get(i).getWholeText());
+                previous = block;
+            }
+        }
+
+        tokenizer.flush();
+    }
+
+    /**
+     * Gets the main content as text with normalized whitespace.
+     *
+     * @return the text
+     */
+    String getText() {
+        StringBuilder text = new StringBuilder();
+        Block previous = null;
+
+        for (int i = 0; i < texts.size(); i++) {
+            Block block = owners.get(i);
+
+            if (block.isContent()) {
+                boolean space = text.length() == 0
+                        || text.charAt(text.length() - 1) == ' ';
+
+                if (block != previous && !space) {
+                    text.append(' ');
+                    space = true;
+                }
+
+                StringUtil.appendNormalisedWhitespace(text,
+                        texts.get(i).getWholeText(), space);
+                previous = block;
+            }
+        }
+
+        return text.toString().trim();
+    }
+
+    // Helper Methods
+    /**
+     * Checks whether the class or id of an element names boilerplate. The
+     * root and the content elements are never boilerplate by their names,
+     * as themes name them by the layout of the whole page.
+     *
+     * @param element the element
+     * @return true if the element is boilerplate
+     */
+    private static boolean isBoilerplateName(Element element) {
+        if (UNNAMED_TAGS.contains(element.tagName())) {
+            return false;
+        }
+
+        return BOILERPLATE_NAME.matcher(element.className()).find()
+                || BOILERPLATE_NAME.matcher(element.id()).find();
+    }
+
+    /**
+     * Counts the runs of letters and digits in a text.
+     *
+     * @param text the text
+     * @return approximate number of words
+     */
+    private static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            boolean wordChar = Character.isLetterOrDigit(text.charAt(i));
+
+            if (wordChar && !inWord) {
+                words++;
+            }
+
+            inWord = wordChar;
+        }
+
+        return words;
+    }
+
+    // Inner Classes
+    /**
+     * Score of a block of text.
+     */
+    private static class Block {
+
+        // Attributes
+        private final boolean heading;
+        private int words = 0;
+        private int linkWords = 0;
+        private int tags = 0;   // inline tags
+
+        // Constructors
+        private Block(boolean heading) {
+            this.heading = heading;
+        }
+
+        /**
+         * Checks whether the block scores as content. Headings only need to
+         * be mostly outside of links, other blocks need enough words with
+         * few links and tags among them.
+         *
+         * @return true if the block is content
+         */
+        boolean isContent() {
+            if (linkWords > words * MAX_LINK_DENSITY) {
+                return false;
+            }
+
+            return heading || (words >= MIN_WORDS
+                    && words >= tags * MIN_WORDS_PER_TAG);
+        }
+    }
+}
@@ -1,22 +1,31 @@
 package vkrajn.scraper.parser;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import vkrajn.scraper.data.WordInterner;
+import vkrajn.scraper.data.WordSink;
 
 /**
  * An abstract parser for a web page.
  *
  * @author Vojtech Krajnansky
- * @version 07/18/2017
+ * @version 08/11/2017
  */
 public abstract class Parser {
 
     // Constants
     public static final int TIMEOUT = 10000;
 
+    private static final Pattern WORD_PATTERN = Pattern.compile(
+            "[\\w'&&[^\\d]]+", Pattern.UNICODE_CHARACTER_CLASS);
+
     // Abstract Methods
     /**
      * Parses a given web page to plaintext.
@@ -29,13 +38,16 @@ public abstract class Parser {
 
     // Public Methods
     /**
-     * Parses given text input into words.
+     * Parses given text input into words. The words are interned, so every
+     * distinct word is a single {@link String} shared by all of its
+     * occurrences in the list.
      *
      * @param text text to be parsed
      * @return a {@link List} of words
      */
     public List<String> getWords(String text) {
         List<String> words = new ArrayList<>();
+        WordInterner interner = new WordInterner();
 
         /*
             TODO: Implement a 3rd-party Parser/Lemmatizer (e.g. 
@@ -43,14 +55,133 @@ public abstract class Parser {
         */
         
         // Match against the pattern
-        Pattern p = Pattern.compile("[\\w'&&[^\\d]]+",
-                Pattern.UNICODE_CHARACTER_CLASS);
-        Matcher m = p.matcher(text);
+        Matcher m = WORD_PATTERN.matcher(text);
 
         while (m.find()) {
-            words.add(text.substring(m.start(), m.end()));
+            words.add(interner.getWord(interner.intern(text, m.start(),
+                    m.end())));
         }
 
         return words;
     }
+
+    /**
+     * Parses given text input into words using a hand-written scanner. The
+     * words are the same as the ones found by {@link #getWords(String)}, but
+     * the scan is considerably cheaper than matching a regular expression.
+     *
+     * @param text text to be parsed
+     * @return a {@link List} of words
+     */
+    public List<String> scanWords(String text) {
+        return WordScanner.scan(text);
+    }
+
+    /**
+     * Parses given text input into words and pushes them into a
+     * {@link WordSink} as they are found, without collecting them first.
+     *
+     * @param text text to be parsed
+     * @param sink consumer of the words
+     */
+    public void getWords(CharSequence text, WordSink sink) {
+        new StreamingTokenizer(sink).tokenize(text);
+    }
+
+    /**
+     * Parses given text input into words and interns them, without creating
+     * a {@link String} for any of them.
+     *
+     * @param text text to be parsed
+     * @param interner interner of the words
+     * @return interned IDs of the words in the order of their occurrence
+     */
+    public int[] getWordIds(CharSequence text, WordInterner interner) {
+        IdCollector ids = new IdCollector(interner);
+
+        getWords(text, ids);
+
+        return Arrays.copyOf(ids.ids, ids.size);
+    }
+
+    /**
+     * Parses a given web page and pushes its words into a {@link WordSink}.
+     *
+     * @param url a {@link String} representation of the page URL
+     * @param sink consumer of the words
+     * @throws java.io.IOException
+     */
+    public void parseWords(String url, WordSink sink) throws IOException {
+        getWords(getText(url), sink);
+    }
+
+    // Package Methods
+    /**
+     * Converts a {@link String} representation of a URL to a {@link URL},
+     * reporting malformed URLs as {@link URL}'s constructor used to.
+     *
+     * @param url a {@link String} representation of the URL
+     * @return the URL
+     * @throws MalformedURLException if the URL is malformed or relative
+     */
+    static URL toUrl(String url) throws MalformedURLException {
+        try {
+            return URI.create(url).toURL();
+        } catch (IllegalArgumentException e) {
+            MalformedURLException exception = new MalformedURLException(
+                    e.getMessage());
+
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * Gets the charset named in a Content-Type header.
+     *
+     * @param contentType value of the header, may be null
+     * @return name of the charset, null if none is named
+     */
+    static String charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                return trimmed.substring(8).replace("\"", "").trim();
+            }
+        }
+
+        return null;
+    }
+
+    // Inner Classes
+    /**
+     * A {@link WordSink} interning the words and collecting their IDs.
+     */
+    private static class IdCollector implements WordSink {
+
+        // Attributes
+        private final WordInterner interner;
+        private int[] ids = new int[64];
+        private int size = 0;
+
+        // Constructors
+        private IdCollector(WordInterner interner) {
+            this.interner = interner;
+        }
+
+        // Override Methods
+        @Override
+        public void insert(char[] chars, int offset, int length) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            ids[size++] = interner.intern(chars, offset, length);
+        }
+    }
 }
@@ -0,0 +1,345 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A disk store of fetched HTTP response bodies with the metadata needed to
+ * revalidate them, evicting the least recently used responses once a size
+ * limit is exceeded.
+ *
+ * Every response is kept in two files named by the SHA-256 hash of its URL,
+ * a body file and a properties file with the metadata. The recency of the
+ * responses is kept in the modification times of the metadata files, so it
+ * survives restarts.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/03/2017
+ */
+class ResponseStore {
+
+    // Constants
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final String URL = "url";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CONTENT_TYPE = "contentType";
+
+    // Attributes
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<String, Long> sizes;   // body sizes, least recent first
+    private long totalBytes;
+
+    // Constructors
+    /**
+     * Opens a store in a directory, picking up the responses stored there.
+     *
+     * @param directory directory of the store, created if it is missing
+     * @param maxBytes maximal total size of the stored bodies
+     * @throws IOException if the directory cannot be read
+     */
+    ResponseStore(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.sizes = new LinkedHashMap<>();
+        this.totalBytes = 0;
+
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    // Package Methods
+    /**
+     * Gets the stored response for a URL and marks it as recently used.
+     *
+     * @param url the URL
+     * @return the response, null if none is stored
+     * @throws IOException if the metadata cannot be read
+     */
+    synchronized StoredResponse get(String url) throws IOException {
+        String key = key(url);
+
+        if (!sizes.containsKey(key)) {
+            return null;
+        }
+
+        Path meta = directory.resolve(key + META_SUFFIX);
+        Properties properties = new Properties();
+
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+        }
+
+        // Guard against a collision of the hashes
+        if (!url.equals(properties.getProperty(URL))) {
+            return null;
+        }
+
+        touch(key, meta);
+
+        return new StoredResponse(properties.getProperty(ETAG),
+                properties.getProperty(LAST_MODIFIED),
+                properties.getProperty(CONTENT_TYPE));
+    }
+
+    /**
+     * Reads the stored body for a URL. The body is read under the lock of
+     * the store, so it is never replaced or evicted halfway through.
+     *
+     * @param url the URL
+     * @return the body, null if none is stored
+     * @throws IOException if the body cannot be read
+     */
+    synchronized byte[] readBody(String url) throws IOException {
+        String key = key(url);
+
+        if (!sizes.containsKey(key)) {
+            return null;
+        }
+
+        return Files.readAllBytes(directory.resolve(key + BODY_SUFFIX));
+    }
+
+    /**
+     * Stores a response, replacing the one stored for the URL, and evicts
+     * the least recently used responses over the size limit.
+     *
+     * @param url the URL
+     * @param etag entity tag of the response, may be null
+     * @param lastModified last modification date of the response, may be
+     * null
+     * @param contentType content type of the response, may be null
+     * @param body the body
+     * @throws IOException if the response cannot be written
+     */
+    synchronized void put(String url, String etag, String lastModified,
+            String contentType, byte[] body) throws IOException {
+        String key = key(url);
+        Properties properties = new Properties();
+
+        properties.setProperty(URL, url);
+        setIfPresent(properties, ETAG, etag);
+        setIfPresent(properties, LAST_MODIFIED, lastModified);
+        setIfPresent(properties, CONTENT_TYPE, contentType);
+
+        // Write the files aside first, so a crash leaves no torn response
+        Path bodyFile = directory.resolve(key + BODY_SUFFIX);
+        Path metaFile = directory.resolve(key + META_SUFFIX);
+        Path bodyTemporary = directory.resolve(key + BODY_SUFFIX
+                + TEMPORARY_SUFFIX);
+        Path metaTemporary = directory.resolve(key + META_SUFFIX
+                + TEMPORARY_SUFFIX);
+
+        Files.write(bodyTemporary, body);
+        try (OutputStream out = Files.newOutputStream(metaTemporary)) {
+            properties.store(out, null);
+        }
+
+        Files.move(bodyTemporary, bodyFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.move(metaTemporary, metaFile,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        Long previous = sizes.remove(key);
+        sizes.put(key, (long) body.length);
+        totalBytes += body.length - (previous == null ? 0 : previous);
+
+        evict();
+    }
+
+    /**
+     * Gets the number of stored responses.
+     *
+     * @return number of responses
+     */
+    synchronized int size() {
+        return sizes.size();
+    }
+
+    /**
+     * Gets the total size of the stored bodies.
+     *
+     * @return size in bytes
+     */
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    // Helper Methods
+    /**
+     * Builds the index of the stored responses, from the least recently
+     * used one. Leftovers of unfinished writes are deleted.
+     *
+     * @throws IOException if the directory cannot be read
+     */
+    private void loadIndex() throws IOException {
+        List<Path> metaFiles = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+
+                if (name.endsWith(TEMPORARY_SUFFIX)) {
+                    Files.delete(file);
+                } else if (name.endsWith(META_SUFFIX)) {
+                    metaFiles.add(file);
+                }
+            }
+        }
+
+        metaFiles.sort((f1, f2) -> {
+            try {
+                return Files.getLastModifiedTime(f1).compareTo(
+                        Files.getLastModifiedTime(f2));
+            } catch (IOException e) {
+                return 0;
+            }
+        });
+
+        for (Path meta : metaFiles) {
+            String name = meta.getFileName().toString();
+            String key = name.substring(0, name.length()
+                    - META_SUFFIX.length());
+            Path body = directory.resolve(key + BODY_SUFFIX);
+
+            if (Files.exists(body)) {
+                long size = Files.size(body);
+
+                sizes.put(key, size);
+                totalBytes += size;
+            } else {
+                Files.delete(meta);
+            }
+        }
+
+        evict();
+    }
+
+    /**
+     * Marks a response as the most recently used one, both in the index and
+     * in the modification time of its metadata file.
+     *
+     * @param key file name key of the response
+     * @param meta metadata file of the response
+     * @throws IOException if the modification time cannot be set
+     */
+    private void touch(String key, Path meta) throws IOException {
+        sizes.put(key, sizes.remove(key));
+        Files.setLastModifiedTime(meta, FileTime.fromMillis(
+                System.currentTimeMillis()));
+    }
+
+    /**
+     * Deletes the least recently used responses until the total size fits
+     * the limit.
+     *
+     * @throws IOException if a response cannot be deleted
+     */
+    private void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet()
+                .iterator();
+
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+
+            Files.deleteIfExists(directory.resolve(entry.getKey()
+                    + META_SUFFIX));
+            Files.deleteIfExists(directory.resolve(entry.getKey()
+                    + BODY_SUFFIX));
+
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Gets the file name key of a URL.
+     *
+     * @param url the URL
+     * @return hexadecimal SHA-256 hash of the URL
+     */
+    private static String key(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+                    url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(hash.length * 2);
+
+            for (byte b : hash) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets a property if its value is not null.
+     *
+     * @param properties the properties
+     * @param name name of the property
+     * @param value value of the property, may be null
+     */
+    private static void setIfPresent(Properties properties, String name,
+            String value) {
+        if (value != null) {
+            properties.setProperty(name, value);
+        }
+    }
+
+    // Inner Classes
+    /**
+     * A stored response.
+     */
+    static class StoredResponse {
+
+        // Attributes
+        private final String etag;
+        private final String lastModified;
+        private final String contentType;
+
+        // Constructors
+        private StoredResponse(String etag, String lastModified,
+                String contentType) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+        }
+
+        // Getters
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
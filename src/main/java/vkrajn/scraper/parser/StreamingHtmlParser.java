@@ -0,0 +1,200 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.jsoup.parser.Tag;
+import vkrajn.scraper.data.WordSink;
+
+/**
+ * A {@link Parser} streaming the page body through an {@link HtmlTokenizer}
+ * instead of building a document tree.
+ *
+ * The words are pushed into the sink as the body arrives, so the memory
+ * used by {@link #parseWords(String, WordSink)} is bounded by the buffer
+ * sizes no matter how large the page is. The contents of {@code <script>}
+ * and {@code <style>} elements are skipped, block-level tags separate words
+ * as in {@link JsoupParser}. The charset is taken from the Content-Type
+ * header, UTF-8 is assumed if there is none.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/07/2017
+ */
+public class StreamingHtmlParser extends Parser {
+
+    // Override Methods
+    @Override
+    public String getText(String url) throws IOException {
+        StringBuilder text = new StringBuilder();
+
+        fetch(url, new TextHandler(text));
+
+        return text.toString().trim();
+    }
+
+    @Override
+    public void parseWords(String url, WordSink sink) throws IOException {
+        StreamingTokenizer tokenizer = new StreamingTokenizer(sink);
+
+        fetch(url, new WordHandler(tokenizer));
+
+        // The last word is not followed by a separator
+        tokenizer.flush();
+    }
+
+    // Public Methods
+    /**
+     * Parses an already fetched page and pushes its words into a
+     * {@link WordSink}.
+     *
+     * @param body the page source
+     * @param charset name of the page charset, null for UTF-8
+     * @param sink consumer of the words
+     * @throws IOException if the source cannot be read
+     */
+    public void parseWords(InputStream body, String charset, WordSink sink)
+            throws IOException {
+        StreamingTokenizer tokenizer = new StreamingTokenizer(sink);
+
+        parse(body, charset, new WordHandler(tokenizer));
+        tokenizer.flush();
+    }
+
+    // Helper Methods
+    /**
+     * Fetches a page and passes its events to a handler.
+     *
+     * @param url a {@link String} representation of the page URL
+     * @param handler receiver of the events
+     * @throws IOException if the page cannot be fetched
+     */
+    private void fetch(String url, HtmlTokenizer.Handler handler)
+            throws IOException {
+        URLConnection connection = toUrl(url).openConnection();
+
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+
+        try (InputStream body = connection.getInputStream()) {
+            parse(body, charsetOf(connection.getContentType()), handler);
+        }
+    }
+
+    /**
+     * Decodes a page and passes its events to a handler.
+     *
+     * @param body the page source
+     * @param charset name of the page charset, null for UTF-8
+     * @param handler receiver of the events
+     * @throws IOException if the source cannot be read
+     */
+    private static void parse(InputStream body, String charset,
+            HtmlTokenizer.Handler handler) throws IOException {
+        Charset decoding = StandardCharsets.UTF_8;
+
+        if (charset != null) {
+            try {
+                decoding = Charset.forName(charset);
+            } catch (IllegalArgumentException e) {
+                // Unknown charsets fall back to UTF-8
+            }
+        }
+
+        Reader reader = new InputStreamReader(body, decoding);
+
+        new HtmlTokenizer(handler).tokenize(reader);
+    }
+
+    /**
+     * Checks whether a tag separates words.
+     *
+     * @param name lower-case name of the tag
+     * @return true for block-level tags and line breaks
+     */
+    private static boolean isBoundary(String name) {
+        return name.equals("br")
+                || (Tag.isKnownTag(name) && Tag.valueOf(name).isBlock());
+    }
+
+    // Inner Classes
+    /**
+     * A handler tokenizing the text into words.
+     */
+    private static class WordHandler implements HtmlTokenizer.Handler {
+
+        // Attributes
+        private final StreamingTokenizer tokenizer;
+
+        // Constructors
+        private WordHandler(StreamingTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        // Override Methods
+        @Override
+        public void text(char[] chars, int offset, int length) {
+            tokenizer.append(chars, offset, length);
+        }
+
+        @Override
+        public void startTag(String name) {
+            if (isBoundary(name)) {
+                tokenizer.flush();
+            }
+        }
+
+        @Override
+        public void endTag(String name) {
+            startTag(name);
+        }
+    }
+
+    /**
+     * A handler collecting the text with normalized whitespace.
+     */
+    private static class TextHandler implements HtmlTokenizer.Handler {
+
+        // Attributes
+        private final StringBuilder text;
+
+        // Constructors
+        private TextHandler(StringBuilder text) {
+            this.text = text;
+        }
+
+        // Override Methods
+        @Override
+        public void text(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (Character.isWhitespace(chars[i])) {
+                    appendSpace();
+                } else {
+                    text.append(chars[i]);
+                }
+            }
+        }
+
+        @Override
+        public void startTag(String name) {
+            if (isBoundary(name)) {
+                appendSpace();
+            }
+        }
+
+        @Override
+        public void endTag(String name) {
+            startTag(name);
+        }
+
+        // Helper Methods
+        private void appendSpace() {
+            if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+                text.append(' ');
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import vkrajn.scraper.data.WordSink;
+
+/**
+ * A tokenizer which splits text into words as it arrives and pushes them
+ * straight into a {@link WordSink}.
+ *
+ * Text can be appended in arbitrary chunks, a word spanning several chunks is
+ * passed to the sink only once it is complete. Words are matched with the
+ * same semantics as {@link Parser#getWords(String)}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/22/2017
+ */
+public class StreamingTokenizer {
+
+    // Constants
+    private static final int BUFFER_SIZE = 8192;
+
+    // Attributes
+    private final WordSink sink;
+    private char[] word;
+    private int length;
+    private char pendingSurrogate;   // if 0, no high surrogate is pending
+
+    // Constructors
+    public StreamingTokenizer(WordSink sink) {
+        this.sink = sink;
+        this.word = new char[32];
+        this.length = 0;
+        this.pendingSurrogate = 0;
+    }
+
+    // Public Methods
+    /**
+     * Appends a chunk of text to the tokenizer.
+     *
+     * @param text text to be tokenized
+     */
+    public void append(CharSequence text) {
+        append(text, 0, text.length());
+    }
+
+    /**
+     * Appends a range of a chunk of text to the tokenizer.
+     *
+     * @param text text to be tokenized
+     * @param start index of the first character of the range
+     * @param end index after the last character of the range
+     */
+    public void append(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    /**
+     * Appends a range of a character array to the tokenizer.
+     *
+     * @param chars text to be tokenized
+     * @param offset index of the first character of the range
+     * @param count number of characters of the range
+     */
+    public void append(char[] chars, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Ends the current word, as if a separator was appended.
+     */
+    public void flush() {
+        pendingSurrogate = 0;
+        endWord();
+    }
+
+    /**
+     * Reads and tokenizes all text from a {@link Reader}, the current word is
+     * ended when the reader is exhausted. The reader is not closed.
+     *
+     * @param reader source of the text
+     * @throws java.io.IOException if reading fails
+     */
+    public void tokenize(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+
+        while ((read = reader.read(buffer)) != -1) {
+            append(buffer, 0, read);
+        }
+
+        flush();
+    }
+
+    /**
+     * Tokenizes a whole text, the current word is ended after the text.
+     *
+     * @param text text to be tokenized
+     */
+    public void tokenize(CharSequence text) {
+        append(text);
+        flush();
+    }
+
+    // Helper Methods
+    /**
+     * Processes a single character of the text.
+     *
+     * @param c character to process
+     */
+    private void accept(char c) {
+        if (pendingSurrogate != 0) {
+            char high = pendingSurrogate;
+            pendingSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                if (WordScanner.isWordCharacter(
+                        Character.toCodePoint(high, c))) {
+                    appendChar(high);
+                    appendChar(c);
+                } else {
+                    endWord();
+                }
+
+                return;
+            }
+
+            // An unpaired high surrogate is never a word character
+            endWord();
+        }
+
+        if (Character.isHighSurrogate(c)) {
+            pendingSurrogate = c;
+        } else if (WordScanner.isWordCharacter(c)) {
+            appendChar(c);
+        } else {
+            endWord();
+        }
+    }
+
+    /**
+     * Appends a character to the current word.
+     *
+     * @param c character to append
+     */
+    private void appendChar(char c) {
+        if (length == word.length) {
+            word = Arrays.copyOf(word, length * 2);
+        }
+
+        word[length++] = c;
+    }
+
+    /**
+     * Passes the current word to the sink, if there is any.
+     */
+    private void endWord() {
+        if (length > 0) {
+            sink.insert(word, 0, length);
+            length = 0;
+        }
+    }
+}
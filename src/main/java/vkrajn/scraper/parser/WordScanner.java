@@ -0,0 +1,138 @@
+package vkrajn.scraper.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import vkrajn.scraper.data.WordInterner;
+
+/**
+ * A hand-written scanner splitting text into words, equivalent to matching
+ * the pattern {@code [\w'&&[^\d]]+} with Unicode character classes, but
+ * without the overhead of a regular expression engine.
+ *
+ * Characters of the Basic Multilingual Plane are classified by a bitmap
+ * precomputed when the class is loaded, supplementary code points fall back
+ * to {@link Character} lookups.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/11/2017
+ */
+public final class WordScanner {
+
+    // Constants
+    private static final int WORD_MARKS = (1 << Character.NON_SPACING_MARK)
+            | (1 << Character.ENCLOSING_MARK)
+            | (1 << Character.COMBINING_SPACING_MARK)
+            | (1 << Character.CONNECTOR_PUNCTUATION);
+    private static final long[] BMP_WORD_CHARACTERS = new long[1 << 10];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (classify(c)) {
+                BMP_WORD_CHARACTERS[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    // Constructors
+    private WordScanner() {
+    }
+
+    // Public Methods
+    /**
+     * Decides whether a character of the Basic Multilingual Plane is a part
+     * of a word. Surrogates are never word characters on their own.
+     *
+     * @param c character to classify
+     * @return true if the character is a word character
+     */
+    public static boolean isWordCharacter(char c) {
+        return (BMP_WORD_CHARACTERS[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * Decides whether a code point is a part of a word, i.e. whether it
+     * matches {@code [\w'&&[^\d]]} with Unicode character classes.
+     *
+     * @param codePoint code point to classify
+     * @return true if the code point is a word character
+     */
+    public static boolean isWordCharacter(int codePoint) {
+        if (codePoint <= Character.MAX_VALUE) {
+            return isWordCharacter((char) codePoint);
+        }
+
+        return classify(codePoint);
+    }
+
+    /**
+     * Splits given text into words. The words are interned, so every
+     * distinct word is a single {@link String} shared by all of its
+     * occurrences in the list.
+     *
+     * @param text text to be split
+     * @return a {@link List} of words in the order of their occurrence
+     */
+    public static List<String> scan(String text) {
+        List<String> words = new ArrayList<>();
+        WordInterner interner = new WordInterner();
+        int length = text.length();
+        int start = -1;
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+            int width = 1;
+            boolean word;
+
+            if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                word = classify(Character.toCodePoint(c, text.charAt(i + 1)));
+                width = 2;
+            } else {
+                word = isWordCharacter(c);
+            }
+
+            if (word) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(interner.getWord(interner.intern(text, start, i)));
+                start = -1;
+            }
+
+            i += width;
+        }
+
+        if (start >= 0) {
+            words.add(interner.getWord(interner.intern(text, start,
+                    length)));
+        }
+
+        return words;
+    }
+
+    // Helper Methods
+    /**
+     * Classifies a code point using the {@link Character} class, mirroring
+     * the definition of {@code \w} and {@code \d} of
+     * {@link java.util.regex.Pattern#UNICODE_CHARACTER_CLASS}.
+     *
+     * @param codePoint code point to classify
+     * @return true if the code point is a word character
+     */
+    private static boolean classify(int codePoint) {
+        if (codePoint == '\'') {
+            return true;
+        }
+
+        if (Character.isDigit(codePoint)
+                || Character.getType(codePoint) == Character.SURROGATE) {
+            return false;
+        }
+
+        return Character.isAlphabetic(codePoint)
+                || ((1 << Character.getType(codePoint)) & WORD_MARKS) != 0
+                || codePoint == 0x200C || codePoint == 0x200D;
+    }
+}
@@ -0,0 +1,78 @@
+package vkrajn.scraper.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.data.snapshot.DictionarySnapshot;
+import vkrajn.scraper.parser.FetchExecutor;
+import vkrajn.scraper.parser.JsoupParser;
+
+/**
+ * Launching point for crawling a list of URLs without a user interface.
+ * Prints the statistics of the crawled pages to the standard output, and
+ * optionally saves the resulting dictionary as a snapshot. With a journal
+ * directory, an interrupted crawl is resumed where it stopped.
+ *
+ * Usage: {@code CrawlApplication <url file> [fetch concurrency]
+ * [PLATFORM|VIRTUAL] [snapshot file] [journal directory]}
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/04/2017
+ */
+public class CrawlApplication {
+
+    /**
+     * Application main method.
+     *
+     * @param args the command line arguments
+     * @throws java.io.IOException if the URL file cannot be read or the
+     * snapshot cannot be written
+     * @throws java.lang.InterruptedException if interrupted
+     */
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println(
+                    "Usage: CrawlApplication <url file> [fetch concurrency]"
+                    + " [PLATFORM|VIRTUAL] [snapshot file]"
+                    + " [journal directory]");
+            System.exit(1);
+        }
+
+        Path urlFile = Paths.get(args[0]);
+        int fetchConcurrency = args.length > 1 ? Integer.parseInt(args[1])
+                : CrawlPipeline.DEFAULT_FETCH_CONCURRENCY;
+        FetchExecutor.Mode fetchMode = args.length > 2
+                ? FetchExecutor.Mode.valueOf(args[2])
+                : FetchExecutor.Mode.VIRTUAL;
+
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(),
+                DictionaryArrayTrieImpl::new, fetchMode, fetchConcurrency,
+                Runtime.getRuntime().availableProcessors(),
+                CrawlPipeline.DEFAULT_QUEUE_CAPACITY, new PageCache());
+        Dictionary dict = new DictionaryArrayTrieImpl();
+        CrawlStatistics statistics;
+
+        if (args.length > 4) {
+            try (CrawlJournal journal = CrawlJournal.open(
+                    Paths.get(args[4]), dict)) {
+                statistics = pipeline.run(urlFile, dict, journal);
+            }
+        } else {
+            statistics = pipeline.run(urlFile, dict);
+        }
+
+        System.out.println(statistics);
+        System.out.println("Distinct words: "
+                + dict.getWordFrequencies().size());
+        System.out.println("Most common letter: "
+                + dict.getMostFrequentLetter());
+        System.out.println("Longest words: " + dict.getLongestWords());
+
+        if (args.length > 3 && !args[3].isEmpty()) {
+            DictionarySnapshot.save(dict, Paths.get(args[3]));
+        }
+    }
+}
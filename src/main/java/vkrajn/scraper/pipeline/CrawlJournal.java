@@ -0,0 +1,511 @@
+package vkrajn.scraper.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.snapshot.DictionarySnapshot;
+
+/**
+ * A durable record of the pages aggregated by a {@link CrawlPipeline}, which
+ * allows an interrupted crawl to be resumed.
+ *
+ * The word counts of every aggregated page are appended to a log together
+ * with the URL of the page. Records are written and synced to the disk in
+ * groups, so a sync is not paid for every page. Every record carries a
+ * CRC32 checksum, a record torn by a crash is detected and dropped.
+ * Periodically, the whole aggregated dictionary is saved as a checkpoint,
+ * see {@link DictionarySnapshot}, together with the processed URLs, and a
+ * new empty log is started.
+ *
+ * Checkpoints and logs are numbered by generations. A checkpoint is complete
+ * once its dictionary file exists, since it is written last and renamed into
+ * place. On opening, the newest complete checkpoint is loaded and the log of
+ * its generation is replayed, the files of the other generations are
+ * deleted.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/02/2017
+ */
+public class CrawlJournal implements AutoCloseable {
+
+    // Constants
+    public static final int DEFAULT_SYNC_INTERVAL = 32;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10000;
+
+    private static final String LOG_PREFIX = "log-";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String DICTIONARY_SUFFIX = ".dict";
+    private static final String URLS_SUFFIX = ".urls";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    // Attributes
+    private final Path directory;
+    private final int syncInterval;
+    private final int checkpointInterval;
+    private final Set<String> processedUrls;
+
+    private long generation;
+    private FileChannel log;
+    private final ByteArrayOutputStream pending;   // records not written yet
+    private final ByteArrayOutputStream record;
+    private int pendingRecords;
+    private int loggedRecords;   // records in the log of this generation
+
+    // Constructors
+    private CrawlJournal(Path directory, int syncInterval,
+            int checkpointInterval) {
+        this.directory = directory;
+        this.syncInterval = syncInterval;
+        this.checkpointInterval = checkpointInterval;
+        this.processedUrls = ConcurrentHashMap.newKeySet();
+
+        this.pending = new ByteArrayOutputStream();
+        this.record = new ByteArrayOutputStream();
+        this.pendingRecords = 0;
+        this.loggedRecords = 0;
+    }
+
+    // Public Methods
+    /**
+     * Opens a journal in a directory with the default intervals, recovering
+     * the aggregated words into a dictionary.
+     *
+     * @param directory directory of the journal, created if it is missing
+     * @param target empty dictionary to recover the aggregated words into
+     * @return the journal
+     * @throws IOException if the journal cannot be read or created
+     * @see #open(Path, Dictionary, int, int)
+     */
+    public static CrawlJournal open(Path directory, Dictionary target)
+            throws IOException {
+        return open(directory, target, DEFAULT_SYNC_INTERVAL,
+                DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Opens a journal in a directory, recovering the aggregated words into
+     * a dictionary from the last checkpoint and the log written after it.
+     *
+     * @param directory directory of the journal, created if it is missing
+     * @param target empty dictionary to recover the aggregated words into
+     * @param syncInterval number of pages written and synced together
+     * @param checkpointInterval number of pages between checkpoints
+     * @return the journal
+     * @throws IOException if the journal cannot be read or created
+     */
+    public static CrawlJournal open(Path directory, Dictionary target,
+            int syncInterval, int checkpointInterval) throws IOException {
+        if (syncInterval < 1 || checkpointInterval < 1) {
+            throw new IllegalArgumentException("Intervals must be positive");
+        }
+
+        Files.createDirectories(directory);
+        CrawlJournal journal = new CrawlJournal(directory, syncInterval,
+                checkpointInterval);
+
+        journal.recover(target);
+
+        return journal;
+    }
+
+    /**
+     * Checks whether the words of a page with a given URL were already
+     * aggregated. Can be called from any thread.
+     *
+     * @param url URL of the page
+     * @return true if the page was aggregated
+     */
+    public boolean isProcessed(String url) {
+        return processedUrls.contains(url);
+    }
+
+    /**
+     * Appends the words of an aggregated page to the log. The record becomes
+     * durable with the next sync, which happens every sync interval pages.
+     *
+     * @param url URL of the page
+     * @param page words of the page
+     * @throws IOException if the log cannot be written
+     */
+    public void append(String url, Dictionary page) throws IOException {
+        List<WordFrequency> wordFrequencies = page.getWordFrequencies();
+        DataOutputStream out = new DataOutputStream(record);
+
+        record.reset();
+        writeString(out, url);
+        out.writeInt(wordFrequencies.size());
+
+        for (WordFrequency wf : wordFrequencies) {
+            writeString(out, wf.getWord());
+            out.writeInt(wf.getFrequency());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record.toByteArray());
+
+        DataOutputStream header = new DataOutputStream(pending);
+        header.writeInt(record.size());
+        header.writeInt((int) crc.getValue());
+        record.writeTo(pending);
+
+        processedUrls.add(url);
+        pendingRecords++;
+
+        if (pendingRecords >= syncInterval) {
+            sync();
+        }
+    }
+
+    /**
+     * Saves a checkpoint if enough pages were logged since the last one.
+     *
+     * @param aggregate dictionary holding all the aggregated words
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void checkpointIfDue(Dictionary aggregate) throws IOException {
+        if (loggedRecords + pendingRecords >= checkpointInterval) {
+            checkpoint(aggregate);
+        }
+    }
+
+    /**
+     * Saves the aggregated words and the processed URLs as a checkpoint and
+     * starts a new empty log.
+     *
+     * @param aggregate dictionary holding all the aggregated words
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void checkpoint(Dictionary aggregate) throws IOException {
+        sync();
+
+        long next = generation + 1;
+        Path urls = checkpointFile(next, URLS_SUFFIX);
+        Path dictionary = checkpointFile(next, DICTIONARY_SUFFIX);
+        Path temporary = checkpointFile(next, DICTIONARY_SUFFIX
+                + TEMPORARY_SUFFIX);
+
+        Files.write(urls, processedUrls, StandardCharsets.UTF_8);
+        force(urls);
+        DictionarySnapshot.save(aggregate, temporary);
+        force(temporary);
+
+        // The checkpoint is complete once its dictionary is in place
+        Files.move(temporary, dictionary, StandardCopyOption.ATOMIC_MOVE);
+
+        log.close();
+        generation = next;
+        log = openLog(generation);
+        loggedRecords = 0;
+
+        deleteOtherGenerations();
+    }
+
+    /**
+     * Writes the pending records to the log and syncs it to the disk.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    public void sync() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(pending.toByteArray());
+
+        while (bytes.hasRemaining()) {
+            log.write(bytes);
+        }
+
+        log.force(false);
+
+        loggedRecords += pendingRecords;
+        pendingRecords = 0;
+        pending.reset();
+    }
+
+    /**
+     * Syncs the pending records and closes the log.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            log.close();
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the number of pages aggregated, including the recovered ones.
+     *
+     * @return number of processed URLs
+     */
+    public int getProcessedCount() {
+        return processedUrls.size();
+    }
+
+    // Helper Methods
+    /**
+     * Loads the newest complete checkpoint, replays the log of its
+     * generation and opens the log for appending. A torn record at the end
+     * of the log is cut off.
+     *
+     * @param target dictionary to recover the aggregated words into
+     * @throws IOException if the journal cannot be read
+     */
+    private void recover(Dictionary target) throws IOException {
+        generation = findLastCheckpoint();
+
+        if (generation > 0) {
+            target.mergeFrom(DictionarySnapshot.load(checkpointFile(
+                    generation, DICTIONARY_SUFFIX)));
+            processedUrls.addAll(Files.readAllLines(checkpointFile(
+                    generation, URLS_SUFFIX), StandardCharsets.UTF_8));
+        }
+
+        Path logFile = directory.resolve(LOG_PREFIX + generation);
+        long validLength = 0;
+
+        if (Files.exists(logFile)) {
+            validLength = replay(logFile, target);
+        }
+
+        log = openLog(generation);
+        log.truncate(validLength);
+        log.position(validLength);
+
+        deleteOtherGenerations();
+    }
+
+    /**
+     * Replays the records of a log into a dictionary, stopping at the first
+     * incomplete or corrupted record.
+     *
+     * @param logFile the log
+     * @param target dictionary to insert the words into
+     * @return length of the valid records of the log
+     * @throws IOException if the log cannot be read
+     */
+    private long replay(Path logFile, Dictionary target) throws IOException {
+        long validLength = 0;
+        long fileLength = Files.size(logFile);
+
+        try (InputStream file = Files.newInputStream(logFile);
+                DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(file))) {
+            while (true) {
+                byte[] payload;
+                int checksum;
+
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+
+                    if (length < 0 || length > fileLength) {
+                        break;
+                    }
+
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                replayRecord(payload, target);
+                validLength += 8 + payload.length;
+                loggedRecords++;
+            }
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Inserts the words of a single log record into a dictionary.
+     *
+     * @param payload the record without its header
+     * @param target dictionary to insert the words into
+     * @throws IOException if the record cannot be decoded
+     */
+    private void replayRecord(byte[] payload, Dictionary target)
+            throws IOException {
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(payload));
+
+        String url = readString(in);
+        int wordCount = in.readInt();
+
+        for (int i = 0; i < wordCount; i++) {
+            String word = readString(in);
+            target.insert(word, in.readInt());
+        }
+
+        processedUrls.add(url);
+    }
+
+    /**
+     * Finds the generation of the newest complete checkpoint.
+     *
+     * @return the generation, 0 if there is no checkpoint
+     * @throws IOException if the directory cannot be listed
+     */
+    private long findLastCheckpoint() throws IOException {
+        long last = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory, CHECKPOINT_PREFIX + "*" + DICTIONARY_SUFFIX)) {
+            for (Path file : files) {
+                last = Math.max(last, parseGeneration(file,
+                        CHECKPOINT_PREFIX));
+            }
+        }
+
+        return last;
+    }
+
+    /**
+     * Deletes the logs and checkpoints of all generations but the current
+     * one, including unfinished ones.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    private void deleteOtherGenerations() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String prefix = name.startsWith(LOG_PREFIX) ? LOG_PREFIX
+                        : name.startsWith(CHECKPOINT_PREFIX)
+                        ? CHECKPOINT_PREFIX : null;
+
+                if (prefix != null
+                        && parseGeneration(file, prefix) != generation) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the log of a generation for appending, creating it if needed.
+     *
+     * @param logGeneration the generation
+     * @return channel of the log
+     * @throws IOException if the log cannot be opened
+     */
+    private FileChannel openLog(long logGeneration) throws IOException {
+        FileChannel channel = FileChannel.open(
+                directory.resolve(LOG_PREFIX + logGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        channel.position(channel.size());
+
+        return channel;
+    }
+
+    /**
+     * Gets the path of a checkpoint file.
+     *
+     * @param checkpointGeneration generation of the checkpoint
+     * @param suffix suffix of the file
+     * @return the path
+     */
+    private Path checkpointFile(long checkpointGeneration, String suffix) {
+        return directory.resolve(CHECKPOINT_PREFIX + checkpointGeneration
+                + suffix);
+    }
+
+    /**
+     * Parses the generation from the name of a journal file.
+     *
+     * @param file the file
+     * @param prefix prefix of the file name before the generation
+     * @return the generation, -1 if the name has none
+     */
+    private static long parseGeneration(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        int end = prefix.length();
+
+        while (end < name.length() && Character.isDigit(name.charAt(end))) {
+            end++;
+        }
+
+        if (end == prefix.length()) {
+            return -1;
+        }
+
+        return Long.parseLong(name.substring(prefix.length(), end));
+    }
+
+    /**
+     * Syncs a written file to the disk.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be synced
+     */
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes.
+     *
+     * @param out stream to write to
+     * @param string the string
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream out, String string)
+            throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString}.
+     *
+     * @param in stream to read from
+     * @return the string
+     * @throws IOException if reading fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
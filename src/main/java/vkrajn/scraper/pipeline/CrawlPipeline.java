@@ -0,0 +1,530 @@
+package vkrajn.scraper.pipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.parser.FetchExecutor;
+import vkrajn.scraper.parser.Parser;
+
+/**
+ * A headless pipeline crawling a list of URLs into a single
+ * {@link Dictionary}.
+ *
+ * The pipeline consists of three stages joined by bounded queues:
+ * <ol>
+ * <li>a fetch stage downloading pages with a bounded number of fetches in
+ * flight, see {@link FetchExecutor},</li>
+ * <li>a tokenize stage splitting the page texts into per-page dictionaries,
+ * sized to the number of processors,</li>
+ * <li>an aggregation stage merging the per-page dictionaries into the
+ * target dictionary on the calling thread.</li>
+ * </ol>
+ * When a stage falls behind, its input queue fills up and the preceding stage
+ * blocks, so the memory used by a run is bounded by the queue capacities no
+ * matter how many URLs are crawled.
+ *
+ * With a {@link CrawlJournal}, the aggregated pages are logged durably and
+ * the pages aggregated by an earlier, interrupted run are skipped. With a
+ * {@link PageCache}, pages with the same text as a page tokenized before are
+ * not tokenized again, the cached dictionary is merged instead. With a
+ * {@link NearDuplicateFilter}, pages nearly matching the words of a page
+ * seen before are dropped before tokenization.
+ *
+ * A page whose tokenization throws a {@link RuntimeException} is counted
+ * as broken and left out, it is not logged into the journal. Any other
+ * error stops the tokenize stage, and the run fails with an
+ * {@link IllegalStateException} as soon as the pages tokenized before are
+ * aggregated.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+public class CrawlPipeline {
+
+    // Constants
+    public static final int DEFAULT_FETCH_CONCURRENCY = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final Page END_OF_PAGES = new Page(null, null);
+    private static final PageWords END_OF_DICTIONARIES
+            = new PageWords(null, null);
+
+    // Attributes
+    private final Parser parser;
+    private final Supplier<? extends Dictionary> pageDictionaries;
+    private final FetchExecutor.Mode fetchMode;
+    private final int fetchConcurrency;
+    private final int tokenizeConcurrency;
+    private final int queueCapacity;
+    private final PageCache pageCache;
+    private final NearDuplicateFilter nearDuplicates;
+
+    // Constructors
+    public CrawlPipeline(Parser parser) {
+        this(parser, DictionaryArrayTrieImpl::new, FetchExecutor.Mode.VIRTUAL,
+                DEFAULT_FETCH_CONCURRENCY,
+                Runtime.getRuntime().availableProcessors(),
+                DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param parser parser used to fetch the pages
+     * @param pageDictionaries factory of the per-page dictionaries, using the
+     * type of the target dictionary allows them to be merged structurally
+     * @param fetchMode kind of threads to fetch the pages on
+     * @param fetchConcurrency maximal number of pages fetched at once
+     * @param tokenizeConcurrency number of threads tokenizing the pages
+     * @param queueCapacity capacity of each of the queues between the stages
+     */
+    public CrawlPipeline(Parser parser,
+            Supplier<? extends Dictionary> pageDictionaries,
+            FetchExecutor.Mode fetchMode, int fetchConcurrency,
+            int tokenizeConcurrency, int queueCapacity) {
+        this(parser, pageDictionaries, fetchMode, fetchConcurrency,
+                tokenizeConcurrency, queueCapacity, null, null);
+    }
+
+    /**
+     * Creates a pipeline sharing the dictionaries of pages with the same
+     * text.
+     *
+     * @param parser parser used to fetch the pages
+     * @param pageDictionaries factory of the per-page dictionaries, using the
+     * type of the target dictionary allows them to be merged structurally
+     * @param fetchMode kind of threads to fetch the pages on
+     * @param fetchConcurrency maximal number of pages fetched at once
+     * @param tokenizeConcurrency number of threads tokenizing the pages
+     * @param queueCapacity capacity of each of the queues between the stages
+     * @param pageCache cache of the per-page dictionaries, null for none
+     */
+    public CrawlPipeline(Parser parser,
+            Supplier<? extends Dictionary> pageDictionaries,
+            FetchExecutor.Mode fetchMode, int fetchConcurrency,
+            int tokenizeConcurrency, int queueCapacity, PageCache pageCache) {
+        this(parser, pageDictionaries, fetchMode, fetchConcurrency,
+                tokenizeConcurrency, queueCapacity, pageCache, null);
+    }
+
+    /**
+     * Creates a pipeline sharing the dictionaries of pages with the same
+     * text and dropping near-duplicate pages.
+     *
+     * @param parser parser used to fetch the pages
+     * @param pageDictionaries factory of the per-page dictionaries, using the
+     * type of the target dictionary allows them to be merged structurally
+     * @param fetchMode kind of threads to fetch the pages on
+     * @param fetchConcurrency maximal number of pages fetched at once
+     * @param tokenizeConcurrency number of threads tokenizing the pages
+     * @param queueCapacity capacity of each of the queues between the stages
+     * @param pageCache cache of the per-page dictionaries, null for none
+     * @param nearDuplicates filter of near-duplicate pages, null for none
+     */
+    public CrawlPipeline(Parser parser,
+            Supplier<? extends Dictionary> pageDictionaries,
+            FetchExecutor.Mode fetchMode, int fetchConcurrency,
+            int tokenizeConcurrency, int queueCapacity, PageCache pageCache,
+            NearDuplicateFilter nearDuplicates) {
+        if (fetchConcurrency < 1 || tokenizeConcurrency < 1
+                || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "Concurrency and queue capacity must be positive");
+        }
+
+        this.parser = parser;
+        this.pageDictionaries = pageDictionaries;
+        this.fetchMode = fetchMode;
+        this.fetchConcurrency = fetchConcurrency;
+        this.tokenizeConcurrency = tokenizeConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.pageCache = pageCache;
+        this.nearDuplicates = nearDuplicates;
+    }
+
+    // Public Methods
+    /**
+     * Crawls the URLs listed in a file, one per line, into a dictionary.
+     *
+     * @param urlFile file with the URLs
+     * @param target dictionary to aggregate the words into
+     * @return statistics of the run
+     * @throws java.io.IOException if the file cannot be read
+     * @throws java.lang.InterruptedException if the calling thread is
+     * interrupted, the pipeline is shut down in that case
+     */
+    public CrawlStatistics run(Path urlFile, Dictionary target)
+            throws IOException, InterruptedException {
+        return run(urlFile, target, null);
+    }
+
+    /**
+     * Crawls the URLs listed in a file, one per line, into a dictionary,
+     * logging the aggregated pages into a journal.
+     *
+     * @param urlFile file with the URLs
+     * @param target dictionary to aggregate the words into
+     * @param journal journal of the aggregated pages, null for none
+     * @return statistics of the run
+     * @throws java.io.IOException if the file cannot be read or the journal
+     * cannot be written
+     * @throws java.lang.InterruptedException if the calling thread is
+     * interrupted, the pipeline is shut down in that case
+     */
+    public CrawlStatistics run(Path urlFile, Dictionary target,
+            CrawlJournal journal) throws IOException, InterruptedException {
+        try (Reader reader = Files.newBufferedReader(urlFile,
+                StandardCharsets.UTF_8)) {
+            return run(reader, target, journal);
+        }
+    }
+
+    /**
+     * Crawls the URLs read from a {@link Reader}, one per line, into a
+     * dictionary. Blank lines and lines starting with '#' are skipped.
+     *
+     * @param urls source of the URLs
+     * @param target dictionary to aggregate the words into
+     * @return statistics of the run
+     * @throws java.io.IOException if the URLs cannot be read
+     * @throws java.lang.InterruptedException if the calling thread is
+     * interrupted, the pipeline is shut down in that case
+     */
+    public CrawlStatistics run(Reader urls, Dictionary target)
+            throws IOException, InterruptedException {
+        return run(urls, target, null);
+    }
+
+    /**
+     * Crawls the URLs read from a {@link Reader}, one per line, into a
+     * dictionary, logging the aggregated pages into a journal. URLs already
+     * processed according to the journal are skipped, the target should
+     * hold the words recovered by {@link CrawlJournal#open}.
+     *
+     * @param urls source of the URLs
+     * @param target dictionary to aggregate the words into
+     * @param journal journal of the aggregated pages, null for none
+     * @return statistics of the run
+     * @throws java.io.IOException if the URLs cannot be read or the journal
+     * cannot be written
+     * @throws java.lang.InterruptedException if the calling thread is
+     * interrupted, the pipeline is shut down in that case
+     * @throws IllegalStateException if a stage of the pipeline fails
+     */
+    public CrawlStatistics run(Reader urls, Dictionary target,
+            CrawlJournal journal) throws IOException, InterruptedException {
+        CrawlStatistics statistics = new CrawlStatistics();
+        AtomicReference<Throwable> tokenizeFailure = new AtomicReference<>();
+
+        BlockingQueue<Page> pageQueue
+                = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<PageWords> dictionaryQueue
+                = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger activeTokenizers
+                = new AtomicInteger(tokenizeConcurrency);
+
+        FetchExecutor fetchExecutor = new FetchExecutor(parser, fetchMode,
+                fetchConcurrency);
+        ExecutorService executor = Executors.newFixedThreadPool(
+                1 + tokenizeConcurrency);
+
+        try {
+            Future<?> fetching = executor.submit(() -> {
+                fetch(urls, fetchExecutor, pageQueue, journal, statistics);
+                return null;
+            });
+
+            for (int i = 0; i < tokenizeConcurrency; i++) {
+                executor.execute(() -> tokenize(pageQueue, dictionaryQueue,
+                        activeTokenizers, statistics, tokenizeFailure));
+            }
+
+            aggregate(dictionaryQueue, target, journal, statistics);
+
+            if (tokenizeFailure.get() != null) {
+                // Nothing takes the pages any more, the fetches would block
+                fetching.cancel(true);
+                throw new IllegalStateException("Tokenization failed",
+                        tokenizeFailure.get());
+            }
+
+            try {
+                fetching.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+
+                throw new IllegalStateException(e.getCause());
+            }
+        } finally {
+            fetchExecutor.close();
+            executor.shutdownNow();
+            executor.awaitTermination(Parser.TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+
+        return statistics;
+    }
+
+    // Helper Methods
+    /**
+     * Reads the URLs and fetches their pages into the page queue, then
+     * signals its end to all the tokenizers.
+     *
+     * @param urls source of the URLs
+     * @param fetchExecutor executor fetching the pages
+     * @param pageQueue queue to put the fetched pages into
+     * @param journal journal of the aggregated pages, null for none
+     * @param statistics statistics of the run
+     * @throws java.io.IOException if the URLs cannot be read
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private void fetch(Reader urls, FetchExecutor fetchExecutor,
+            BlockingQueue<Page> pageQueue, CrawlJournal journal,
+            CrawlStatistics statistics)
+            throws IOException, InterruptedException {
+        BufferedReader reader = new BufferedReader(urls);
+        FetchExecutor.FetchHandler handler = new FetchExecutor.FetchHandler() {
+            @Override
+            public void onPage(String url, String text)
+                    throws InterruptedException {
+                statistics.pageFetched();
+                pageQueue.put(new Page(url, text));
+            }
+
+            @Override
+            public void onFailure(String url, IOException e) {
+                statistics.pageFailed();
+            }
+        };
+
+        try {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String url = line.trim();
+
+                if (url.isEmpty() || url.startsWith("#")) {
+                    continue;
+                }
+
+                statistics.urlRead();
+
+                if (journal != null && journal.isProcessed(url)) {
+                    statistics.urlSkipped();
+                } else {
+                    fetchExecutor.fetch(url, handler);
+                }
+            }
+
+            fetchExecutor.awaitTermination();
+        } finally {
+            signalEnd(pageQueue, END_OF_PAGES, tokenizeConcurrency);
+        }
+    }
+
+    /**
+     * Tokenizes pages until the end of the page queue, the last tokenizer to
+     * finish signals the end to the aggregator. Pages failing with a
+     * {@link RuntimeException} are skipped, any other error ends the stage
+     * and signals the end to the aggregator at once.
+     *
+     * @param pageQueue queue to take the pages from
+     * @param dictionaryQueue queue to put the per-page dictionaries into
+     * @param activeTokenizers number of tokenizers which have not finished
+     * @param statistics statistics of the run
+     * @param failure holder of the error ending the stage
+     */
+    private void tokenize(BlockingQueue<Page> pageQueue,
+            BlockingQueue<PageWords> dictionaryQueue,
+            AtomicInteger activeTokenizers, CrawlStatistics statistics,
+            AtomicReference<Throwable> failure) {
+        try {
+            Page page;
+
+            while ((page = pageQueue.take()) != END_OF_PAGES) {
+                Dictionary dictionary;
+
+                try {
+                    dictionary = tokenize(page, statistics);
+                } catch (RuntimeException e) {
+                    statistics.pageBroken();
+                    continue;
+                }
+
+                dictionaryQueue.put(new PageWords(page.getUrl(), dictionary));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            signalEnd(dictionaryQueue, END_OF_DICTIONARIES, 1);
+        } finally {
+            if (activeTokenizers.decrementAndGet() == 0) {
+                signalEnd(dictionaryQueue, END_OF_DICTIONARIES, 1);
+            }
+        }
+    }
+
+    /**
+     * Gets the per-page dictionary of a page, empty for a near-duplicate
+     * page.
+     *
+     * @param page the page
+     * @param statistics statistics of the run
+     * @return the dictionary
+     */
+    private Dictionary tokenize(Page page, CrawlStatistics statistics) {
+        if (nearDuplicates != null
+                && nearDuplicates.isNearDuplicate(page.getText())) {
+            // Passed on empty, so the journal records the page
+            statistics.pageDropped();
+            return pageDictionaries.get();
+        } else if (pageCache == null) {
+            return buildDictionary(page.getText(), statistics);
+        } else {
+            return pageCache.getDictionary(page.getText(),
+                    text -> buildDictionary(text, statistics));
+        }
+    }
+
+    /**
+     * Tokenizes the text of a page into a new per-page dictionary.
+     *
+     * @param text text of the page
+     * @param statistics statistics of the run
+     * @return the dictionary
+     */
+    private Dictionary buildDictionary(String text,
+            CrawlStatistics statistics) {
+        Dictionary dictionary = pageDictionaries.get();
+
+        parser.getWords(text, dictionary);
+        statistics.pageTokenized();
+
+        return dictionary;
+    }
+
+    /**
+     * Merges the per-page dictionaries into the target until the end of the
+     * dictionary queue. Each page is logged into the journal before it is
+     * merged.
+     *
+     * @param dictionaryQueue queue to take the dictionaries from
+     * @param target dictionary to merge into
+     * @param journal journal of the aggregated pages, null for none
+     * @param statistics statistics of the run
+     * @throws java.io.IOException if the journal cannot be written
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private void aggregate(BlockingQueue<PageWords> dictionaryQueue,
+            Dictionary target, CrawlJournal journal,
+            CrawlStatistics statistics)
+            throws IOException, InterruptedException {
+        PageWords page;
+
+        while ((page = dictionaryQueue.take()) != END_OF_DICTIONARIES) {
+            if (journal != null) {
+                journal.append(page.getUrl(), page.getDictionary());
+            }
+
+            target.mergeFrom(page.getDictionary());
+            statistics.pageAggregated();
+
+            if (journal != null) {
+                journal.checkpointIfDue(target);
+            }
+        }
+
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    /**
+     * Puts a number of end markers into a queue. Gives up if the thread is
+     * interrupted, the pipeline is being shut down in that case.
+     *
+     * @param <T> type of the queue elements
+     * @param queue queue to signal the end to
+     * @param end the end marker
+     * @param consumers number of consumers of the queue
+     */
+    private static <T> void signalEnd(BlockingQueue<T> queue, T end,
+            int consumers) {
+        try {
+            for (int i = 0; i < consumers; i++) {
+                queue.put(end);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Inner Classes
+    /**
+     * A fetched page waiting for tokenization.
+     */
+    private static class Page {
+
+        // Attributes
+        private final String url;
+        private final String text;
+
+        // Constructors
+        private Page(String url, String text) {
+            this.url = url;
+            this.text = text;
+        }
+
+        // Getters
+        public String getUrl() {
+            return url;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * The words of a tokenized page waiting for aggregation.
+     */
+    private static class PageWords {
+
+        // Attributes
+        private final String url;
+        private final Dictionary dictionary;
+
+        // Constructors
+        private PageWords(String url, Dictionary dictionary) {
+            this.url = url;
+            this.dictionary = dictionary;
+        }
+
+        // Getters
+        public String getUrl() {
+            return url;
+        }
+
+        public Dictionary getDictionary() {
+            return dictionary;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package vkrajn.scraper.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing the progress of a {@link CrawlPipeline} run. The
+ * counters are updated by the pipeline threads and can be read at any time.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+public class CrawlStatistics {
+
+    // Attributes
+    private final AtomicLong urlsRead;
+    private final AtomicLong urlsSkipped;
+    private final AtomicLong pagesFetched;
+    private final AtomicLong pagesFailed;
+    private final AtomicLong pagesDropped;
+    private final AtomicLong pagesBroken;
+    private final AtomicLong pagesTokenized;
+    private final AtomicLong pagesAggregated;
+
+    // Constructors
+    public CrawlStatistics() {
+        urlsRead = new AtomicLong();
+        urlsSkipped = new AtomicLong();
+        pagesFetched = new AtomicLong();
+        pagesFailed = new AtomicLong();
+        pagesDropped = new AtomicLong();
+        pagesBroken = new AtomicLong();
+        pagesTokenized = new AtomicLong();
+        pagesAggregated = new AtomicLong();
+    }
+
+    // Getters
+    public long getUrlsRead() {
+        return urlsRead.get();
+    }
+
+    public long getUrlsSkipped() {
+        return urlsSkipped.get();
+    }
+
+    public long getPagesFetched() {
+        return pagesFetched.get();
+    }
+
+    public long getPagesFailed() {
+        return pagesFailed.get();
+    }
+
+    public long getPagesDropped() {
+        return pagesDropped.get();
+    }
+
+    /**
+     * Gets the number of fetched pages left out because their tokenization
+     * failed.
+     *
+     * @return number of broken pages
+     */
+    public long getPagesBroken() {
+        return pagesBroken.get();
+    }
+
+    public long getPagesTokenized() {
+        return pagesTokenized.get();
+    }
+
+    public long getPagesAggregated() {
+        return pagesAggregated.get();
+    }
+
+    /**
+     * Gets the share of the fetched pages which were not tokenized, because
+     * a page with the same text was tokenized before. Dropped near-duplicate
+     * and broken pages are not counted. Only meaningful once the run has
+     * finished.
+     *
+     * @return the ratio, 0 if no pages were fetched
+     */
+    public double getDedupRatio() {
+        long fetched = getPagesFetched();
+        long deduplicated = fetched - getPagesDropped() - getPagesBroken()
+                - getPagesTokenized();
+
+        return fetched == 0 ? 0 : (double) deduplicated / fetched;
+    }
+
+    // Public Methods
+    @Override
+    public String toString() {
+        return "urls read: " + getUrlsRead()
+                + ", urls skipped: " + getUrlsSkipped()
+                + ", pages fetched: " + getPagesFetched()
+                + ", pages failed: " + getPagesFailed()
+                + ", pages dropped: " + getPagesDropped()
+                + ", pages broken: " + getPagesBroken()
+                + ", pages tokenized: " + getPagesTokenized()
+                + ", pages aggregated: " + getPagesAggregated()
+                + String.format(", dedup ratio: %.2f", getDedupRatio());
+    }
+
+    // Package Methods
+    void urlRead() {
+        urlsRead.incrementAndGet();
+    }
+
+    void urlSkipped() {
+        urlsSkipped.incrementAndGet();
+    }
+
+    void pageFetched() {
+        pagesFetched.incrementAndGet();
+    }
+
+    void pageFailed() {
+        pagesFailed.incrementAndGet();
+    }
+
+    void pageDropped() {
+        pagesDropped.incrementAndGet();
+    }
+
+    void pageBroken() {
+        pagesBroken.incrementAndGet();
+    }
+
+    void pageTokenized() {
+        pagesTokenized.incrementAndGet();
+    }
+
+    void pageAggregated() {
+        pagesAggregated.incrementAndGet();
+    }
+}
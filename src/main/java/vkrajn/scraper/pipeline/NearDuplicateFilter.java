@@ -0,0 +1,259 @@
+package vkrajn.scraper.pipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import vkrajn.scraper.data.WordSink;
+import vkrajn.scraper.parser.StreamingTokenizer;
+
+/**
+ * A filter of pages whose words nearly match the words of a page seen
+ * before, such as paginated listings or tag pages sharing most of their
+ * text.
+ *
+ * Every page is reduced to a 64-bit SimHash of its shingles, the triples of
+ * consecutive words. Single words would not do, as the most frequent words
+ * of a language dominate every page. A page is a near-duplicate if the Hamming
+ * distance of its SimHash to the SimHash of an earlier page is at most the
+ * maximal distance d. The signatures are indexed in d + 1 bands of bits:
+ * signatures within the distance agree on at least one whole band, so only
+ * the signatures sharing a band with the page are compared. The filter keeps
+ * only the signatures, a constant amount of memory per page.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+public class NearDuplicateFilter {
+
+    // Constants
+    public static final int DEFAULT_MAX_DISTANCE = 6;
+    public static final int MAX_DISTANCE_LIMIT = 15;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Attributes
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+    private final List<Map<Long, Bucket>> bands;
+
+    private final AtomicLong pagesChecked;
+    private final AtomicLong pagesDropped;
+
+    // Constructors
+    public NearDuplicateFilter() {
+        this(DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * Creates a filter.
+     *
+     * @param maxDistance maximal number of differing SimHash bits of
+     * near-duplicate pages, at most {@link #MAX_DISTANCE_LIMIT}
+     */
+    public NearDuplicateFilter(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE_LIMIT) {
+            throw new IllegalArgumentException("Distance must be between 0 "
+                    + "and " + MAX_DISTANCE_LIMIT + ".");
+        }
+
+        int bandCount = maxDistance + 1;
+
+        this.maxDistance = maxDistance;
+        this.bandShifts = new int[bandCount];
+        this.bandMasks = new long[bandCount];
+        this.bands = new ArrayList<>(bandCount);
+
+        for (int i = 0; i < bandCount; i++) {
+            int from = i * Long.SIZE / bandCount;
+            int to = (i + 1) * Long.SIZE / bandCount;
+
+            bandShifts[i] = from;
+            bandMasks[i] = to - from == Long.SIZE ? -1L
+                    : (1L << (to - from)) - 1;
+            bands.add(new HashMap<>());
+        }
+
+        this.pagesChecked = new AtomicLong();
+        this.pagesDropped = new AtomicLong();
+    }
+
+    // Public Methods
+    /**
+     * Checks whether a page is a near-duplicate of a page checked before.
+     * Pages which are not are remembered.
+     *
+     * @param text text of the page
+     * @return true if the page is a near-duplicate
+     */
+    public boolean isNearDuplicate(CharSequence text) {
+        return isNearDuplicate(simHash(text));
+    }
+
+    /**
+     * Checks whether a page is a near-duplicate of a page checked before.
+     * Pages which are not are remembered.
+     *
+     * @param signature SimHash of the page, see {@link #simHash}
+     * @return true if the page is a near-duplicate
+     */
+    public synchronized boolean isNearDuplicate(long signature) {
+        pagesChecked.incrementAndGet();
+
+        for (int i = 0; i < bands.size(); i++) {
+            Bucket bucket = bands.get(i).get(band(signature, i));
+
+            if (bucket != null && bucket.containsNear(signature,
+                    maxDistance)) {
+                pagesDropped.incrementAndGet();
+                return true;
+            }
+        }
+
+        for (int i = 0; i < bands.size(); i++) {
+            bands.get(i).computeIfAbsent(band(signature, i), b -> new Bucket())
+                    .add(signature);
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the SimHash of the shingles of a text.
+     *
+     * @param text the text
+     * @return the 64-bit signature
+     */
+    public static long simHash(CharSequence text) {
+        SimHasher hasher = new SimHasher();
+
+        new StreamingTokenizer(hasher).tokenize(text);
+
+        return hasher.getSignature();
+    }
+
+    // Getters
+    public long getPagesChecked() {
+        return pagesChecked.get();
+    }
+
+    public long getPagesDropped() {
+        return pagesDropped.get();
+    }
+
+    // Helper Methods
+    /**
+     * Gets a band of a signature.
+     *
+     * @param signature the signature
+     * @param band index of the band
+     * @return bits of the band
+     */
+    private long band(long signature, int band) {
+        return (signature >>> bandShifts[band]) & bandMasks[band];
+    }
+
+    // Inner Classes
+    /**
+     * Signatures sharing a band.
+     */
+    private static class Bucket {
+
+        // Attributes
+        private long[] signatures = new long[2];
+        private int size = 0;
+
+        // Package Methods
+        void add(long signature) {
+            if (size == signatures.length) {
+                signatures = Arrays.copyOf(signatures, size * 2);
+            }
+
+            signatures[size++] = signature;
+        }
+
+        boolean containsNear(long signature, int maxDistance) {
+            for (int i = 0; i < size; i++) {
+                if (Long.bitCount(signatures[i] ^ signature)
+                        <= maxDistance) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * A {@link WordSink} summing the bits of the shingle hashes.
+     */
+    private static class SimHasher implements WordSink {
+
+        // Attributes
+        private final int[] ones = new int[Long.SIZE];
+        private int shingles = 0;
+        private long previous = 0;       // hash of the previous word
+        private long beforePrevious = 0;
+
+        // Override Methods
+        @Override
+        public void insert(char[] chars, int offset, int length) {
+            long hash = FNV_OFFSET;
+
+            for (int i = offset; i < offset + length; i++) {
+                hash = (hash ^ chars[i]) * FNV_PRIME;
+            }
+
+            long shingle = mix(Long.rotateLeft(beforePrevious, 2)
+                    ^ Long.rotateLeft(previous, 1) ^ hash);
+
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                ones[bit] += (int) (shingle >>> bit) & 1;
+            }
+
+            beforePrevious = previous;
+            previous = hash;
+            shingles++;
+        }
+
+        // Getters
+        /**
+         * Gets the signature, with the bits set which are set in the hashes
+         * of most of the shingles.
+         *
+         * @return the signature
+         */
+        long getSignature() {
+            long signature = 0;
+
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                if (2 * ones[bit] > shingles) {
+                    signature |= 1L << bit;
+                }
+            }
+
+            return signature;
+        }
+
+        // Helper Methods
+        /**
+         * Mixes the bits of a hash with the MurmurHash3 finalizer.
+         *
+         * @param hash the hash
+         * @return the mixed hash
+         */
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+
+            return hash;
+        }
+    }
+}
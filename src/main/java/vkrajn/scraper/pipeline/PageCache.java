@@ -0,0 +1,212 @@
+package vkrajn.scraper.pipeline;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import vkrajn.scraper.data.dictionary.Dictionary;
+
+/**
+ * A content-addressed cache of per-page dictionaries. Pages with the same
+ * text, such as mirrors or unchanged republishes, share the dictionary built
+ * for the first of them, so their text is tokenized only once.
+ *
+ * The pages are keyed by the SHA-256 hash of their text. The cache holds the
+ * least recently used dictionaries up to a total size in bytes, estimated
+ * from the length of the page texts, so that the dictionaries do not have
+ * to be listed to be measured. The cached dictionaries are shared and must
+ * not be modified.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/04/2017
+ */
+public class PageCache {
+
+    // Constants
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final int ENTRY_BYTES = 128;
+    private static final int TEXT_CHAR_BYTES = 4;  // per character of text
+
+    // Attributes
+    private final long maxBytes;
+    private final Map<ByteBuffer, Entry> entries;   // in access order
+    private long totalBytes;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    // Constructors
+    public PageCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxBytes maximal estimated size of the cached dictionaries
+     */
+    public PageCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Size must not be negative.");
+        }
+
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.totalBytes = 0;
+
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    // Public Methods
+    /**
+     * Gets the dictionary of a page text, building and caching it if no
+     * page with the same text is cached. The dictionary is built outside of
+     * the cache lock, so pages can be tokenized concurrently.
+     *
+     * @param text text of the page
+     * @param builder function building the dictionary of a text
+     * @return the dictionary of the text
+     */
+    public Dictionary getDictionary(String text,
+            Function<? super String, ? extends Dictionary> builder) {
+        ByteBuffer key = hash(text);
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry.dictionary;
+            }
+        }
+
+        Dictionary dictionary = builder.apply(text);
+        long bytes = ENTRY_BYTES + (long) TEXT_CHAR_BYTES * text.length();
+
+        misses.incrementAndGet();
+        put(key, new Entry(dictionary, bytes));
+
+        return dictionary;
+    }
+
+    // Getters
+    /**
+     * Gets the number of pages whose dictionary was found in the cache.
+     *
+     * @return number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of pages whose dictionary had to be built.
+     *
+     * @return number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the share of the pages whose dictionary was found in the cache.
+     *
+     * @return ratio of hits to all lookups, 0 if there were none
+     */
+    public double getDedupRatio() {
+        long hitCount = getHits();
+        long lookups = hitCount + getMisses();
+
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Gets the estimated size of the cached dictionaries.
+     *
+     * @return size in bytes
+     */
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Gets the number of cached dictionaries.
+     *
+     * @return number of dictionaries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Helper Methods
+    /**
+     * Caches a dictionary, evicting the least recently used ones over the
+     * size limit. Dictionaries larger than the limit are not cached.
+     *
+     * @param key hash of the page text
+     * @param entry the dictionary with its size
+     */
+    private void put(ByteBuffer key, Entry entry) {
+        if (entry.bytes > maxBytes) {
+            return;
+        }
+
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+
+            totalBytes += entry.bytes
+                    - (previous == null ? 0 : previous.bytes);
+
+            Iterator<Entry> eldest = entries.values().iterator();
+
+            while (totalBytes > maxBytes) {
+                totalBytes -= eldest.next().bytes;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Hashes a page text.
+     *
+     * @param text text of the page
+     * @return SHA-256 hash of the UTF-8 encoded text
+     */
+    private static ByteBuffer hash(String text) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Inner Classes
+    /**
+     * A cached dictionary with its estimated size.
+     */
+    private static class Entry {
+
+        // Attributes
+        private final Dictionary dictionary;
+        private final long bytes;
+
+        // Constructors
+        private Entry(Dictionary dictionary, long bytes) {
+            this.dictionary = dictionary;
+            this.bytes = bytes;
+        }
+    }
+}
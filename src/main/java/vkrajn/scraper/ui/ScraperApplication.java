@@ -1,7 +1,6 @@
 package vkrajn.scraper.ui;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.swing.JOptionPane;
@@ -219,18 +218,15 @@ public class ScraperApplication extends javax.swing.JFrame {
         // Update only if new URL has been provided
         if (url != null) {
             Dictionary dict = new DictionaryTrieImpl();
-            List<String> words = parseUrl(url);
 
             // Handle error when parsing
-            if (words == null) {
+            if (!parseUrl(url, dict)) {
                 setTitle("ERROR: No response recieved");
                 return;
             } else {
                 setTitle("Page Statistics");
             }
 
-            words.forEach(dict::insert);
-
             // Handle change of word frequencies
             DefaultTableModel modelFreq = (DefaultTableModel) tableFrequencies
                     .getModel();
@@ -260,22 +256,22 @@ public class ScraperApplication extends javax.swing.JFrame {
     }
 
     /**
-     * Gets and parses a web page with the given URL into a {@link List} of
-     * words.
+     * Gets and parses a web page with the given URL, inserting its words into
+     * a {@link Dictionary}.
      *
      * @param url a {@link String} representation of the page URL
-     * @return a {@link List} of parsed words
+     * @param dict dictionary to insert the parsed words into
+     * @return true if the page was parsed, false if an error occurred
      */
-    private List<String> parseUrl(String url) {
+    private boolean parseUrl(String url, Dictionary dict) {
         Parser parser = new JsoupParser();
 
         try {
-            String text = parser.getText(url);
-            List<String> words = parser.getWords(text);
+            parser.parseWords(url, dict);
 
-            return words;
+            return true;
         } catch (IOException e) {
-            return null;
+            return false;
         }
     }
 
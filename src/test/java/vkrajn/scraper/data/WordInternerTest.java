@@ -0,0 +1,103 @@
+package vkrajn.scraper.data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link WordInterner}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/11/2017
+ */
+public class WordInternerTest {
+
+    WordInterner interner = new WordInterner();
+
+    /**
+     * Test of intern method, of class WordInterner.
+     */
+    @Test
+    public void testIntern() {
+        char[] chars = "xx word words word".toCharArray();
+
+        int word = interner.intern(chars, 3, 4);
+        int words = interner.intern(chars, 8, 5);
+
+        assertTrue(word == 0);
+        assertTrue(words == 1);
+        assertTrue(interner.intern(chars, 14, 4) == word);
+        assertTrue(interner.intern("a word", 2, 6) == word);
+        assertTrue(interner.intern(chars, 0, 0) == 2);
+        assertTrue(interner.intern("", 0, 0) == 2);
+        assertTrue(interner.size() == 3);
+
+        // The interned characters are copied
+        chars[3] = 'c';
+        assertTrue(interner.getWord(word).equals("word"));
+    }
+
+    /**
+     * Test of find method, of class WordInterner.
+     */
+    @Test
+    public void testFind() {
+        assertTrue(interner.find("word") == WordInterner.NONE);
+
+        interner.intern("word", 0, 4);
+
+        assertTrue(interner.find("word") == 0);
+        assertTrue(interner.find("Word") == WordInterner.NONE);
+        assertTrue(interner.find("wor") == WordInterner.NONE);
+        assertTrue(interner.size() == 1);
+    }
+
+    /**
+     * Test of getWord, length, charAt and getChars methods, of class
+     * WordInterner.
+     */
+    @Test
+    public void testGetWord() {
+        int id = interner.intern("sugar-free", 0, 10);
+        char[] chars = new char[12];
+
+        assertTrue(interner.getWord(id).equals("sugar-free"));
+        assertTrue(interner.getWord(id) == interner.getWord(id));
+        assertTrue(interner.length(id) == 10);
+        assertTrue(interner.charAt(id, 5) == '-');
+
+        interner.getChars(id, chars, 1);
+        assertTrue(new String(chars, 1, 10).equals("sugar-free"));
+    }
+
+    /**
+     * Test of interning many words, of class WordInterner.
+     */
+    @Test
+    public void testManyWords() {
+        Random random = new Random(42);
+        Map<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            char[] word = new char[1 + random.nextInt(6)];
+
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(6));
+            }
+
+            int id = interner.intern(word, 0, word.length);
+            Integer known = expected.putIfAbsent(new String(word), id);
+
+            assertTrue(known == null ? id == expected.size() - 1
+                    : id == known);
+        }
+
+        assertTrue(interner.size() == expected.size());
+        expected.forEach((word, id) -> {
+            assertTrue(interner.getWord(id).equals(word));
+            assertTrue(interner.find(word) == id);
+        });
+    }
+}
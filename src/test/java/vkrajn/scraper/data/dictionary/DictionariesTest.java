@@ -0,0 +1,88 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A test class for {@link Dictionaries}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/25/2017
+ */
+public class DictionariesTest {
+
+    String[] vocabulary = {"a", "be", "the", "tree", "free", "sugar-free",
+        "longest", "longer", "Zebra"};
+
+    /**
+     * Test of mergeAll method, of class Dictionaries.
+     */
+    @Test
+    public void testMergeAll() {
+        Random random = new Random(42);
+        DictionaryArrayTrieImpl expected = new DictionaryArrayTrieImpl();
+
+        List<DictionaryTrieImpl> tries = new ArrayList<>();
+        List<DictionaryTreeMapImpl> treeMaps = new ArrayList<>();
+        List<DictionaryArrayTrieImpl> arrayTries = new ArrayList<>();
+
+        // Fill a number of per-page dictionaries with the same words
+        for (int page = 0; page < 37; page++) {
+            DictionaryTrieImpl trie = new DictionaryTrieImpl();
+            DictionaryTreeMapImpl treeMap = new DictionaryTreeMapImpl();
+            DictionaryArrayTrieImpl arrayTrie = new DictionaryArrayTrieImpl();
+
+            for (int i = random.nextInt(50); i > 0; i--) {
+                String word = vocabulary[random.nextInt(vocabulary.length)];
+
+                expected.insert(word);
+                trie.insert(word);
+                treeMap.insert(word);
+                arrayTrie.insert(word);
+            }
+
+            tries.add(trie);
+            treeMaps.add(treeMap);
+            arrayTries.add(arrayTrie);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertSameWords(expected, Dictionaries.mergeAll(tries, pool));
+            assertSameWords(expected, Dictionaries.mergeAll(treeMaps, pool));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertSameWords(expected, Dictionaries.mergeAll(arrayTries));
+    }
+
+    /**
+     * Test of mergeAll method with an empty list, of class Dictionaries.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeAllEmpty() {
+        Dictionaries.mergeAll(new ArrayList<Dictionary>());
+    }
+
+    // Helper Methods
+    private void assertSameWords(Dictionary expected, Dictionary actual) {
+        assertTrue(expected.getWordFrequencies().size()
+                == actual.getWordFrequencies().size());
+
+        for (WordFrequency wf : expected.getWordFrequencies()) {
+            assertTrue(wf.getFrequency()
+                    == actual.getWordFrequency(wf.getWord()));
+        }
+
+        assertEquals(expected.getMostFrequentLetter(),
+                actual.getMostFrequentLetter());
+        assertEquals(expected.getLongestWords(), actual.getLongestWords());
+    }
+}
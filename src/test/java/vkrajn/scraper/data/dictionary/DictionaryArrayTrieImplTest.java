@@ -0,0 +1,239 @@
+package vkrajn.scraper.data.dictionary;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link DictionaryArrayTrieImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/20/2017
+ */
+public class DictionaryArrayTrieImplTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss"};
+
+    DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+    /**
+     * Test of insert method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testInsert() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+
+        assertTrue(dict.getLongestWords().isEmpty());
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+    }
+
+    /**
+     * Test of getWordFrequency method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+
+        dict.insert(words[3]);
+        assertTrue(dict.getWordFrequency(words[0]) == -1);
+        assertTrue(dict.getWordFrequency(words[1]) == -1);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+        assertTrue(dict.getWordFrequency(words[3]) == 1);
+    }
+
+    /**
+     * Test of getMostFrequentLetter method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetter() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getMostFrequentLetter() == null);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getMostFrequentLetter().equals('a'));
+
+        // 'o' and 'r' are tied, 'o' reached the frequency first
+        dict.insert(words[3]);
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
+
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of getMostFrequentLetters method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 3);
+        assertTrue(dict.getTopWords(3).get(1).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(3).get(2).getWord().equals(words[4]));
+
+        DictionaryArrayTrieImpl other = new DictionaryArrayTrieImpl();
+        other.insert(words[6], 5);
+        dict.mergeFrom(other);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 7);
+    }
+
+    /**
+     * Test of getWordFrequencies method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetWordFrequencies() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 1);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 1);
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(1).getWord().equals(words[3]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 2);
+        assertTrue(dict.getWordFrequencies().get(1).getFrequency() == 1);
+
+        dict.insert(words[4]);
+        assertTrue(dict.getWordFrequencies().size() == 3);
+    }
+
+    /**
+     * Test of getLongestWords method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testGetLongestWords() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getLongestWords().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[2]));
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[3]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[5]);
+        assertTrue(dict.getLongestWords().size() == 2);
+        assertTrue(dict.getLongestWords().contains(words[3]));
+        assertTrue(dict.getLongestWords().contains(words[5]));
+
+        dict.insert(words[4]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+    }
+
+    /**
+     * Test of insert method with a count, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testInsertCount() {
+        dict.insert(words[2], 0);
+        assertTrue(dict.getWordFrequency(words[2]) == -1);
+
+        dict.insert(words[2], 3);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 4);
+
+        dict.insert(words[6], 2);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryArrayTrieImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionaryArrayTrieImpl other = new DictionaryArrayTrieImpl();
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        other.insert(words[3], 2);
+        other.insert(words[4]);
+        other.insert("a");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequency("a") == 1);
+        assertTrue(dict.getWordFrequencies().size() == 4);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+        assertTrue(other.getWordFrequency(words[3]) == 2);
+
+        DictionaryConcurrentImpl mixed = new DictionaryConcurrentImpl();
+        mixed.insert(words[5], 2);
+
+        dict.mergeFrom(mixed);
+        assertTrue(dict.getWordFrequency(words[5]) == 2);
+        assertTrue(dict.getMostFrequentLetter().equals('r'));
+    }
+}
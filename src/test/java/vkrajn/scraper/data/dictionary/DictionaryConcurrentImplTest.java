@@ -0,0 +1,237 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A test class for {@link DictionaryConcurrentImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/24/2017
+ */
+public class DictionaryConcurrentImplTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss"};
+
+    DictionaryConcurrentImpl dict = new DictionaryConcurrentImpl();
+
+    /**
+     * Test of getWordFrequency method, of class DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+
+        dict.insert(words[3]);
+        assertTrue(dict.getWordFrequency(words[0]) == -1);
+        assertTrue(dict.getWordFrequency(words[1]) == -1);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+        assertTrue(dict.getWordFrequency(words[3]) == 1);
+    }
+
+    /**
+     * Test of getMostFrequentLetter method, of class DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetter() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getMostFrequentLetter() == null);
+
+        // All letters are tied, the lowest one is returned
+        dict.insert(words[2]);
+        assertTrue(dict.getMostFrequentLetter().equals('W'));
+
+        dict.insert(words[3]);
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
+
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of getMostFrequentLetters method, of class
+     * DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        // 'o' and 'r' are tied behind 's', ranked from the lowest letter
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+
+        // 'e' joins the tie and becomes the lowest of the letters
+        dict.insert("e");
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('e'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('o'));
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+    }
+
+    /**
+     * Test of getWordFrequencies method, of class DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetWordFrequencies() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+
+        for (WordFrequency wf : dict.getWordFrequencies()) {
+            assertTrue(wf.getFrequency() == dict.getWordFrequency(wf.getWord()));
+        }
+    }
+
+    /**
+     * Test of getLongestWords method, of class DictionaryConcurrentImpl.
+     */
+    @Test
+    public void testGetLongestWords() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getLongestWords().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[2]));
+
+        dict.insert(words[3]);
+        dict.insert(words[5]);
+        assertTrue(dict.getLongestWords().size() == 2);
+        assertTrue(dict.getLongestWords().contains(words[3]));
+        assertTrue(dict.getLongestWords().contains(words[5]));
+
+        dict.insert(words[4]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+    }
+
+    /**
+     * Stress test of concurrent inserts, the result has to equal the result
+     * of single-threaded insertion.
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void testConcurrentInsert() throws InterruptedException {
+        int threadCount = 8;
+        int tokensPerThread = 50000;
+        String[] vocabulary = {"e", "ee", "the", "be", "tree", "free",
+            "sugar-free", "zebra", "Zebra", "longest", "longer", "a"};
+
+        List<String[]> corpora = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int t = 0; t < threadCount; t++) {
+            String[] corpus = new String[tokensPerThread];
+
+            // Skew the distribution so that a few words are highly contended
+            for (int i = 0; i < tokensPerThread; i++) {
+                int rank = (int) Math.floor(Math.pow(random.nextDouble(), 3)
+                        * vocabulary.length);
+                corpus[i] = vocabulary[rank];
+            }
+
+            corpora.add(corpus);
+        }
+
+        DictionaryArrayTrieImpl expected = new DictionaryArrayTrieImpl();
+        corpora.forEach(corpus -> {
+            for (String word : corpus) {
+                expected.insert(word);
+            }
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (String[] corpus : corpora) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (String word : corpus) {
+                    dict.insert(word);
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(dict.getWordFrequencies().size()
+                == expected.getWordFrequencies().size());
+
+        for (WordFrequency wf : expected.getWordFrequencies()) {
+            assertEquals(wf.getWord(), wf.getFrequency(),
+                    dict.getWordFrequency(wf.getWord()));
+        }
+
+        assertEquals(expected.getMostFrequentLetter(),
+                dict.getMostFrequentLetter());
+        assertTrue(dict.getLongestWords().containsAll(
+                expected.getLongestWords()));
+        assertTrue(dict.getLongestWords().size()
+                == expected.getLongestWords().size());
+    }
+}
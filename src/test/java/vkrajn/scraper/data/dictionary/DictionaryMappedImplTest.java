@@ -0,0 +1,186 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.io.IOException;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A test class for {@link DictionaryMappedImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/31/2017
+ */
+public class DictionaryMappedImplTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss",
+        "žluťoučký",
+        "𝔸lpha"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    DictionaryMappedImpl dict;
+
+    @Before
+    public void setUp() throws IOException {
+        dict = new DictionaryMappedImpl(folder.getRoot().toPath());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        dict.close();
+    }
+
+    /**
+     * Test of getWordFrequency method, of class DictionaryMappedImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+
+        dict.insert(words[3], 3);
+        dict.insert(words[7]);
+        dict.insert(words[8].toCharArray(), 0, words[8].length());
+        assertTrue(dict.getWordFrequency(words[0]) == -1);
+        assertTrue(dict.getWordFrequency(words[1]) == -1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == -1);
+        assertTrue(dict.getWordFrequency(words[7]) == 1);
+        assertTrue(dict.getWordFrequency(words[8]) == 1);
+        assertTrue(dict.size() == 4);
+    }
+
+    /**
+     * Test of getMostFrequentLetter method, of class DictionaryMappedImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetter() {
+        assertTrue(dict.getMostFrequentLetter() == null);
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of getWordFrequencies method, of class DictionaryMappedImpl.
+     */
+    @Test
+    public void testGetWordFrequencies() {
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+        dict.insert(words[7]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+
+        for (WordFrequency wf : dict.getWordFrequencies()) {
+            assertTrue(wf.getFrequency() == dict.getWordFrequency(
+                    wf.getWord()));
+        }
+    }
+
+    /**
+     * Test of getLongestWords method, of class DictionaryMappedImpl.
+     */
+    @Test
+    public void testGetLongestWords() {
+        assertTrue(dict.getLongestWords().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[2]));
+
+        dict.insert(words[3]);
+        dict.insert(words[5]);
+        assertTrue(dict.getLongestWords().size() == 2);
+        assertTrue(dict.getLongestWords().contains(words[3]));
+        assertTrue(dict.getLongestWords().contains(words[5]));
+
+        dict.insert(words[4]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+    }
+
+    /**
+     * Test of growing the mapped files, the counts have to equal the counts
+     * of an on-heap dictionary.
+     */
+    @Test
+    public void testGrowth() {
+        DictionaryArrayTrieImpl expected = new DictionaryArrayTrieImpl();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            String word = Integer.toString(random.nextInt(30000), 36)
+                    + "ř";
+
+            dict.insert(word);
+            expected.insert(word);
+        }
+
+        assertTrue(dict.size() == expected.getWordFrequencies().size());
+
+        for (WordFrequency wf : expected.getWordFrequencies()) {
+            assertEquals(wf.getWord(), wf.getFrequency(),
+                    dict.getWordFrequency(wf.getWord()));
+        }
+
+        assertTrue(dict.getLongestWords().containsAll(
+                expected.getLongestWords()));
+        assertEquals(expected.getMostFrequentLetter(),
+                dict.getMostFrequentLetter());
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryMappedImpl.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testMergeFrom() throws IOException {
+        try (DictionaryMappedImpl other = new DictionaryMappedImpl(
+                folder.getRoot().toPath())) {
+            dict.insert(words[2], 2);
+            other.insert(words[2]);
+            other.insert(words[7], 4);
+            dict.mergeFrom(other);
+        }
+
+        assertTrue(dict.getWordFrequency(words[2]) == 3);
+        assertTrue(dict.getWordFrequency(words[7]) == 4);
+        assertTrue(dict.getMostFrequentLetter().equals('u'));
+    }
+
+    /**
+     * Test of close method, of class DictionaryMappedImpl.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testClose() throws IOException {
+        dict.insert(words[2]);
+        assertTrue(folder.getRoot().list().length == 2);
+
+        dict.close();
+        assertTrue(folder.getRoot().list().length == 0);
+    }
+}
@@ -0,0 +1,377 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import vkrajn.scraper.data.WordFrequency;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link DictionaryRadixImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/09/2017
+ */
+public class DictionaryRadixImplTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss"};
+
+    DictionaryRadixImpl dict = new DictionaryRadixImpl();
+
+    /**
+     * Test of insert method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testInsert() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+
+        assertTrue(dict.getLongestWords().isEmpty());
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+    }
+
+    /**
+     * Test of getWordFrequency method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+
+        dict.insert(words[3]);
+        assertTrue(dict.getWordFrequency(words[0]) == -1);
+        assertTrue(dict.getWordFrequency(words[1]) == -1);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+        assertTrue(dict.getWordFrequency(words[3]) == 1);
+    }
+
+    /**
+     * Test of getMostFrequentLetter method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetter() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getMostFrequentLetter() == null);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getMostFrequentLetter().equals('a'));
+
+        // 'o' and 'r' are tied, 'o' reached the frequency first
+        dict.insert(words[3]);
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
+
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of getMostFrequentLetters method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 3);
+        assertTrue(dict.getTopWords(3).get(1).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(3).get(2).getWord().equals(words[4]));
+
+        DictionaryRadixImpl other = new DictionaryRadixImpl();
+        other.insert(words[6], 5);
+        dict.mergeFrom(other);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 7);
+    }
+
+    /**
+     * Test of getWordFrequencies method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetWordFrequencies() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 1);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 1);
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(1).getWord().equals(words[3]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 2);
+        assertTrue(dict.getWordFrequencies().get(1).getFrequency() == 1);
+
+        dict.insert(words[4]);
+        assertTrue(dict.getWordFrequencies().size() == 3);
+    }
+
+    /**
+     * Test of getLongestWords method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testGetLongestWords() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getLongestWords().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[2]));
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[3]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[5]);
+        assertTrue(dict.getLongestWords().size() == 2);
+        assertTrue(dict.getLongestWords().contains(words[3]));
+        assertTrue(dict.getLongestWords().contains(words[5]));
+
+        dict.insert(words[4]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+    }
+
+    /**
+     * Test of insert method with a count, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testInsertCount() {
+        dict.insert(words[2], 0);
+        assertTrue(dict.getWordFrequency(words[2]) == -1);
+
+        dict.insert(words[2], 3);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 4);
+
+        dict.insert(words[6], 2);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionaryRadixImpl other = new DictionaryRadixImpl();
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        other.insert(words[3], 2);
+        other.insert(words[4]);
+        other.insert("a");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequency("a") == 1);
+        assertTrue(dict.getWordFrequencies().size() == 4);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+        assertTrue(other.getWordFrequency(words[3]) == 2);
+
+        DictionaryConcurrentImpl mixed = new DictionaryConcurrentImpl();
+        mixed.insert(words[5], 2);
+
+        dict.mergeFrom(mixed);
+        assertTrue(dict.getWordFrequency(words[5]) == 2);
+        assertTrue(dict.getMostFrequentLetter().equals('r'));
+    }
+
+    /**
+     * Test of splitting edges on insert, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testInsertSplit() {
+        dict.insert("romane");
+        assertTrue(dict.getNodeCount() == 2);
+
+        // Ends in the middle of an edge
+        dict.insert("roman");
+        assertTrue(dict.getNodeCount() == 3);
+
+        // Leaves an edge in the middle
+        dict.insert("romulus");
+        dict.insert("rubens", 2);
+        dict.insert("ruber");
+        dict.insert("rubicon");
+        dict.insert("rubicundus");
+        assertTrue(dict.getNodeCount() == 13);
+
+        assertTrue(dict.getWordFrequency("roman") == 1);
+        assertTrue(dict.getWordFrequency("romane") == 1);
+        assertTrue(dict.getWordFrequency("rubens") == 2);
+        assertTrue(dict.getWordFrequency("rubicundus") == 1);
+        assertTrue(dict.getWordFrequency("r") == -1);
+        assertTrue(dict.getWordFrequency("rom") == -1);
+        assertTrue(dict.getWordFrequency("romanes") == -1);
+        assertTrue(dict.getWordFrequency("rubicondus") == -1);
+
+        assertTrue(dict.getWordFrequencies().size() == 7);
+        assertTrue(dict.getWordFrequencies().get(0).getWord()
+                .equals("roman"));
+        assertTrue(dict.getWordFrequencies().get(6).getWord()
+                .equals("rubicundus"));
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals("rubens"));
+        assertTrue(dict.getLongestWords().get(0).equals("rubicundus"));
+
+        // A word ending at an existing split adds no node
+        dict.insert("rub");
+        assertTrue(dict.getNodeCount() == 13);
+        assertTrue(dict.getWordFrequency("rub") == 1);
+    }
+
+    /**
+     * Test of insert method with a range of characters, of class
+     * DictionaryRadixImpl.
+     */
+    @Test
+    public void testInsertChars() {
+        char[] chars = "xx longerWord longestWord".toCharArray();
+
+        dict.insert(chars, 3, 10);
+        dict.insert(chars, 14, 11);
+        dict.insert(chars, 3, 10);
+        dict.insert(chars, 0, 0);
+
+        assertTrue(dict.getWordFrequency(words[3]) == 2);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+    }
+
+    /**
+     * Test of the Dictionary contract on random words sharing many
+     * prefixes, against {@link DictionaryTreeMapImpl}.
+     */
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(42);
+        DictionaryTreeMapImpl expected = new DictionaryTreeMapImpl();
+        DictionaryRadixImpl merged = new DictionaryRadixImpl();
+
+        for (int i = 0; i < 5000; i++) {
+            char[] word = new char[1 + random.nextInt(8)];
+
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(3));
+            }
+
+            int count = 1 + random.nextInt(3);
+
+            expected.insert(new String(word), count);
+            if (i % 2 == 0) {
+                dict.insert(new String(word), count);
+            } else {
+                merged.insert(new String(word), count);
+            }
+        }
+
+        dict.mergeFrom(merged);
+
+        assertEquals(spell(expected.getWordFrequencies()),
+                spell(dict.getWordFrequencies()));
+        assertEquals(expected.getLongestWords(), dict.getLongestWords());
+        assertEquals(expected.getMostFrequentLetters(3),
+                dict.getMostFrequentLetters(3));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(dict.getTopWords(10).get(i).getFrequency()
+                    == expected.getTopWords(10).get(i).getFrequency());
+        }
+    }
+
+    /**
+     * Test of traversals of a very deep tree, of class DictionaryRadixImpl.
+     */
+    @Test
+    public void testDeepWord() {
+        char[] letters = new char[100000];
+        Arrays.fill(letters, 'x');
+        String deepWord = new String(letters);
+
+        dict.insert(deepWord);
+        dict.insert(deepWord.substring(1));
+        dict.insert(words[2]);
+
+        assertTrue(dict.getWordFrequency(deepWord) == 1);
+        assertTrue(dict.getWordFrequencies().size() == 3);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(deepWord));
+        assertTrue(dict.getNodeCount() == 4);
+    }
+
+    // Helper Methods
+    private static List<String> spell(List<WordFrequency> words) {
+        List<String> spelled = new ArrayList<>();
+
+        words.forEach(wf -> spelled.add(wf.getWord() + "="
+                + wf.getFrequency()));
+        spelled.sort(null);
+
+        return spelled;
+    }
+}
@@ -0,0 +1,182 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.WordFrequency;
+
+/**
+ * A test class for {@link DictionarySketchImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/30/2017
+ */
+public class DictionarySketchImplTest {
+
+    static final double EPSILON = 0.001;
+    static final double DELTA = 0.01;
+    static final int CAPACITY = 100;
+    static final int TOKENS = 200000;
+
+    DictionarySketchImpl dict = new DictionarySketchImpl(EPSILON, DELTA,
+            CAPACITY);
+
+    /**
+     * Test of getWordFrequency method, of class DictionarySketchImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(null);
+        dict.insert("");
+        assertTrue(dict.getWordFrequency("") == -1);
+        assertTrue(dict.getWordFrequency("aWord") == -1);
+
+        dict.insert("aWord");
+        dict.insert("aWord", 2);
+        dict.insert("longerWord");
+        assertTrue(dict.getWordFrequency("aWord") == 3);
+        assertTrue(dict.getWordFrequency("longerWord") == 1);
+        assertTrue(dict.getTotalCount() == 4);
+    }
+
+    /**
+     * Test of the frequency estimates against exact counts, every estimate
+     * has to be an upper bound and at most a delta fraction of them may
+     * exceed the epsilon bound.
+     */
+    @Test
+    public void testCountMinAccuracy() {
+        DictionaryTreeMapImpl expected = new DictionaryTreeMapImpl();
+        fill(new Random(42), expected);
+
+        List<WordFrequency> frequencies = expected.getWordFrequencies();
+        int exceeding = 0;
+
+        for (WordFrequency wf : frequencies) {
+            int estimate = dict.getWordFrequency(wf.getWord());
+
+            assertTrue(wf.getWord(), estimate >= wf.getFrequency());
+
+            if (estimate - wf.getFrequency() > EPSILON * TOKENS) {
+                exceeding++;
+            }
+        }
+
+        assertTrue(exceeding <= DELTA * frequencies.size());
+    }
+
+    /**
+     * Test of the heavy hitters against exact counts, every word more
+     * frequent than the table threshold has to be tracked with a bounded
+     * overestimate.
+     */
+    @Test
+    public void testHeavyHitters() {
+        DictionaryTreeMapImpl expected = new DictionaryTreeMapImpl();
+        fill(new Random(7), expected);
+
+        List<WordFrequency> heavyHitters = dict.getWordFrequencies();
+        assertTrue(heavyHitters.size() == CAPACITY);
+
+        for (WordFrequency wf : expected.getWordFrequencies()) {
+            if (wf.getFrequency() <= TOKENS / CAPACITY) {
+                continue;
+            }
+
+            WordFrequency tracked = heavyHitters.stream()
+                    .filter(hh -> hh.getWord().equals(wf.getWord()))
+                    .findFirst()
+                    .orElse(null);
+
+            assertNotNull(wf.getWord(), tracked);
+            assertTrue(tracked.getFrequency() >= wf.getFrequency());
+            assertTrue(tracked.getFrequency() - wf.getFrequency()
+                    <= TOKENS / CAPACITY);
+        }
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionarySketchImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        fill(new Random(3), new DictionaryTreeMapImpl());
+
+        List<WordFrequency> topWords = dict.getTopWords(10);
+        assertTrue(topWords.size() == 10);
+
+        for (int i = 1; i < topWords.size(); i++) {
+            assertTrue(topWords.get(i - 1).getFrequency()
+                    >= topWords.get(i).getFrequency());
+        }
+
+        assertTrue(dict.getTopWords(1000).size() == CAPACITY);
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionarySketchImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionarySketchImpl other = new DictionarySketchImpl(EPSILON, DELTA,
+                CAPACITY);
+
+        dict.insert("aWord", 2);
+        dict.insert("sugar-free");
+        other.insert("aWord");
+        other.insert("longestWord", 4);
+        dict.mergeFrom(other);
+
+        assertTrue(dict.getWordFrequency("aWord") == 3);
+        assertTrue(dict.getWordFrequency("sugar-free") == 1);
+        assertTrue(dict.getWordFrequency("longestWord") == 4);
+        assertTrue(dict.getTotalCount() == 8);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals("longestWord"));
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
+    }
+
+    /**
+     * Test of the constructor argument checks, of class DictionarySketchImpl.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEpsilon() {
+        new DictionarySketchImpl(0, DELTA, CAPACITY);
+    }
+
+    // Helper Methods
+    /**
+     * Inserts a skewed random corpus into the tested dictionary and another
+     * one.
+     *
+     * @param random source of the corpus
+     * @param expected dictionary to insert the same words into
+     */
+    private void fill(Random random, Dictionary expected) {
+        for (int i = 0; i < TOKENS; i++) {
+            String word = word((int) (Math.pow(random.nextDouble(), 4)
+                    * 20000));
+
+            dict.insert(word);
+            expected.insert(word);
+        }
+    }
+
+    /**
+     * Spells a word of lowercase letters for a number.
+     *
+     * @param number the number
+     * @return the word
+     */
+    private static String word(int number) {
+        StringBuilder word = new StringBuilder();
+
+        do {
+            word.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+
+        return word.toString();
+    }
+}
@@ -1,13 +1,14 @@
 package vkrajn.scraper.data.dictionary;
 
 import org.junit.Test;
+import vkrajn.scraper.data.WordInterner;
 import static org.junit.Assert.*;
 
 /**
  * A test class for {@link DictionaryTreeMapImpl}.
  * 
  * @author Vojtech Krajnansky
- * @version 07/19/2017
+ * @version 08/08/2017
  */
 public class DictionaryTreeMapImplTest {
 
@@ -72,13 +73,155 @@ public class DictionaryTreeMapImplTest {
         dict.insert(words[2]);
         assertTrue(dict.getMostFrequentLetter().equals('a'));
 
+        // 'o' and 'r' are tied, 'o' reached the frequency first
         dict.insert(words[3]);
-        assertTrue(dict.getMostFrequentLetter().equals('r'));
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
 
         dict.insert(words[6]);
         assertTrue(dict.getMostFrequentLetter().equals('s'));
     }
 
+    /**
+     * Test of getMostFrequentLetters method, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 3);
+        assertTrue(dict.getTopWords(3).get(1).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(3).get(2).getWord().equals(words[4]));
+
+        DictionaryTreeMapImpl other = new DictionaryTreeMapImpl();
+        other.insert(words[6], 5);
+        dict.mergeFrom(other);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 7);
+    }
+
+    /**
+     * Test of getWordsWithPrefix, countWordsWithPrefix and
+     * totalOccurrencesWithPrefix methods, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testWordsWithPrefix() {
+        assertTrue(dict.getWordsWithPrefix("long", 3).isEmpty());
+        assertTrue(dict.countWordsWithPrefix("long") == 0);
+        assertTrue(dict.totalOccurrencesWithPrefix("long") == 0);
+
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[4]);
+        dict.insert("long", 2);
+
+        assertTrue(dict.countWordsWithPrefix("") == 4);
+        assertTrue(dict.countWordsWithPrefix("long") == 3);
+        assertTrue(dict.countWordsWithPrefix("longe") == 2);
+        assertTrue(dict.totalOccurrencesWithPrefix("long") == 6);
+        assertTrue(dict.totalOccurrencesWithPrefix("x") == 0);
+        assertTrue(dict.getWordsWithPrefix("long", 0).isEmpty());
+        assertTrue(dict.getWordsWithPrefix("long", 2).size() == 2);
+        assertTrue(dict.getWordsWithPrefix("long", 2).get(0).getWord()
+                .equals(words[3]));
+        assertTrue(dict.getWordsWithPrefix("long", 2).get(1).getWord()
+                .equals("long"));
+        assertTrue(dict.getWordsWithPrefix("long", 5).size() == 3);
+    }
+
+    /**
+     * Test of insertId method, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testInsertId() {
+        WordInterner interner = new WordInterner();
+        DictionaryTreeMapImpl shared = new DictionaryTreeMapImpl(interner);
+        int aWord = interner.intern(words[2], 0, words[2].length());
+        int longerWord = interner.intern(words[3], 0, words[3].length());
+
+        shared.insertId(aWord, 2);
+        shared.insertId(longerWord, 1);
+        shared.insertId(aWord, 0);
+        shared.insert(words[2]);
+        shared.insert(words[3].toCharArray(), 0, words[3].length());
+
+        assertTrue(shared.getInterner() == interner);
+        assertTrue(interner.size() == 2);
+        assertTrue(shared.getWordFrequency(words[2]) == 3);
+        assertTrue(shared.getWordFrequency(words[3]) == 2);
+        assertTrue(shared.getTopWords(1).get(0).getWord().equals(words[2]));
+
+        // Interned but never counted
+        interner.intern(words[4], 0, words[4].length());
+        assertTrue(shared.getWordFrequency(words[4]) == -1);
+        assertTrue(shared.getWordFrequencies().size() == 2);
+
+        dict.insert(words[3], 3);
+        dict.mergeFrom(shared);
+        assertTrue(dict.getWordFrequency(words[2]) == 3);
+        assertTrue(dict.getWordFrequency(words[3]) == 5);
+    }
+
+    /**
+     * Test of words differing in case only, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testCaseInsensitive() {
+        dict.insert("Word");
+        dict.insert("word", 2);
+        dict.insert("WORD");
+
+        assertTrue(dict.getWordFrequencies().size() == 1);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals("Word"));
+        assertTrue(dict.getWordFrequency("word") == 4);
+        assertTrue(dict.getWordFrequency("wORd") == 4);
+        assertTrue(dict.getWordFrequency("words") == -1);
+
+        // Spellings interned elsewhere are found by their lower-case form
+        DictionaryTreeMapImpl other = new DictionaryTreeMapImpl();
+        other.insert("wOrD", 3);
+        other.insert("Words");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+        assertTrue(dict.getWordFrequency("WoRd") == 7);
+        assertTrue(dict.getWordFrequency("WORDS") == 1);
+    }
+
     /**
      * Test of getWordFrequencies method, of class DictionaryTrieImpl.
      */
@@ -136,4 +279,50 @@ public class DictionaryTreeMapImplTest {
         assertTrue(dict.getLongestWords().size() == 1);
         assertTrue(dict.getLongestWords().get(0).equals(words[4]));
     }
+
+    /**
+     * Test of insert method with a count, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testInsertCount() {
+        dict.insert(words[2], 0);
+        assertTrue(dict.getWordFrequency(words[2]) == -1);
+
+        dict.insert(words[2], 3);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 4);
+
+        dict.insert(words[6], 2);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryTreeMapImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionaryTreeMapImpl other = new DictionaryTreeMapImpl();
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        other.insert(words[3], 2);
+        other.insert(words[4]);
+        other.insert("a");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequency("a") == 1);
+        assertTrue(dict.getWordFrequencies().size() == 4);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+        assertTrue(other.getWordFrequency(words[3]) == 2);
+
+        DictionaryConcurrentImpl mixed = new DictionaryConcurrentImpl();
+        mixed.insert(words[5], 2);
+
+        dict.mergeFrom(mixed);
+        assertTrue(dict.getWordFrequency(words[5]) == 2);
+        assertTrue(dict.getMostFrequentLetter().equals('r'));
+    }
 }
@@ -1,13 +1,18 @@
 package vkrajn.scraper.data.dictionary;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import org.junit.Test;
+import vkrajn.scraper.data.WordFrequency;
 import static org.junit.Assert.*;
 
 /**
  * A test class for {@link DictionaryTrieImpl}.
  *
  * @author Vojtech Krajnansky
- * @version 07/19/2017
+ * @version 08/08/2017
  */
 public class DictionaryTrieImplTest {
 
@@ -72,13 +77,208 @@ public class DictionaryTrieImplTest {
         dict.insert(words[2]);
         assertTrue(dict.getMostFrequentLetter().equals('a'));
 
+        // 'o' and 'r' are tied, 'o' reached the frequency first
         dict.insert(words[3]);
-        assertTrue(dict.getMostFrequentLetter().equals('r'));
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
 
         dict.insert(words[6]);
         assertTrue(dict.getMostFrequentLetter().equals('s'));
     }
 
+    /**
+     * Test of getMostFrequentLetters method, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 3);
+        assertTrue(dict.getTopWords(3).get(1).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(3).get(2).getWord().equals(words[4]));
+
+        DictionaryTrieImpl other = new DictionaryTrieImpl();
+        other.insert(words[6], 5);
+        dict.mergeFrom(other);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 7);
+    }
+
+    /**
+     * Test of countWordsWithPrefix method, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testCountWordsWithPrefix() {
+        assertTrue(dict.countWordsWithPrefix("") == 0);
+
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[4]);
+        dict.insert("long", 2);
+
+        assertTrue(dict.countWordsWithPrefix("") == 4);
+        assertTrue(dict.countWordsWithPrefix("long") == 3);
+        assertTrue(dict.countWordsWithPrefix("longe") == 2);
+        assertTrue(dict.countWordsWithPrefix("longerWord") == 1);
+        assertTrue(dict.countWordsWithPrefix("longerWords") == 0);
+        assertTrue(dict.countWordsWithPrefix("x") == 0);
+    }
+
+    /**
+     * Test of totalOccurrencesWithPrefix method, of class
+     * DictionaryTrieImpl.
+     */
+    @Test
+    public void testTotalOccurrencesWithPrefix() {
+        assertTrue(dict.totalOccurrencesWithPrefix("") == 0);
+
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[4]);
+        dict.insert("long", 2);
+
+        assertTrue(dict.totalOccurrencesWithPrefix("") == 7);
+        assertTrue(dict.totalOccurrencesWithPrefix("long") == 6);
+        assertTrue(dict.totalOccurrencesWithPrefix("longe") == 4);
+        assertTrue(dict.totalOccurrencesWithPrefix("a") == 1);
+        assertTrue(dict.totalOccurrencesWithPrefix("b") == 0);
+
+        DictionaryTrieImpl other = new DictionaryTrieImpl();
+        other.insert("longest", Integer.MAX_VALUE);
+        dict.mergeFrom(other);
+        assertTrue(dict.totalOccurrencesWithPrefix("long")
+                == 6L + Integer.MAX_VALUE);
+    }
+
+    /**
+     * Test of getWordsWithPrefix method, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testGetWordsWithPrefix() {
+        assertTrue(dict.getWordsWithPrefix("a", 3).isEmpty());
+
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[4]);
+        dict.insert("long", 2);
+
+        assertTrue(dict.getWordsWithPrefix("long", 0).isEmpty());
+        assertTrue(dict.getWordsWithPrefix("x", 3).isEmpty());
+        assertTrue(dict.getWordsWithPrefix("long", 2).size() == 2);
+        assertEquals(words[3], dict.getWordsWithPrefix("long", 2).get(0)
+                .getWord());
+        assertEquals("long", dict.getWordsWithPrefix("long", 2).get(1)
+                .getWord());
+        assertTrue(dict.getWordsWithPrefix("long", 5).size() == 3);
+        assertEquals(words[4], dict.getWordsWithPrefix("longest", 5).get(0)
+                .getWord());
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 2);
+        assertEquals(words[3], dict.getWordsWithPrefix("long", 3).get(0)
+                .getWord());
+        assertEquals(words[4], dict.getWordsWithPrefix("long", 3).get(1)
+                .getWord());
+        assertEquals("long", dict.getWordsWithPrefix("long", 3).get(2)
+                .getWord());
+
+        // More words than the cache holds, checked against a plain scan
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            dict.insert("lo" + (char) ('a' + random.nextInt(4))
+                    + (char) ('a' + random.nextInt(4)),
+                    1 + random.nextInt(50));
+        }
+
+        Dictionary expected = new DictionaryTreeMapImpl();
+        expected.mergeFrom(dict);
+
+        for (String prefix : Arrays.asList("l", "lo", "loa", "lobc")) {
+            for (int limit : Arrays.asList(1, 5, 8, 9, 100)) {
+                assertEquals(frequencies(expected.getWordsWithPrefix(prefix,
+                        limit)), frequencies(dict.getWordsWithPrefix(prefix,
+                        limit)));
+            }
+
+            assertTrue(dict.countWordsWithPrefix(prefix)
+                    == expected.countWordsWithPrefix(prefix));
+            assertTrue(dict.totalOccurrencesWithPrefix(prefix)
+                    == expected.totalOccurrencesWithPrefix(prefix));
+        }
+    }
+
+    /**
+     * Test of getWordsWithPrefix method with other cache sizes, of class
+     * DictionaryTrieImpl.
+     */
+    @Test
+    public void testGetWordsWithPrefixCacheSizes() {
+        for (int cached : Arrays.asList(0, 1, 32)) {
+            DictionaryTrieImpl trie = new DictionaryTrieImpl(cached);
+            Random random = new Random(7);
+
+            for (int i = 0; i < 500; i++) {
+                trie.insert("lo" + (char) ('a' + random.nextInt(4))
+                        + (char) ('a' + random.nextInt(4)),
+                        1 + random.nextInt(50));
+            }
+
+            Dictionary expected = new DictionaryTreeMapImpl();
+            expected.mergeFrom(trie);
+
+            for (String prefix : Arrays.asList("l", "loa", "lobc")) {
+                for (int limit : Arrays.asList(1, 5, 32, 100)) {
+                    assertEquals(frequencies(expected.getWordsWithPrefix(
+                            prefix, limit)), frequencies(
+                            trie.getWordsWithPrefix(prefix, limit)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of the constructor with a negative cache size, of class
+     * DictionaryTrieImpl.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheSize() {
+        new DictionaryTrieImpl(-1);
+    }
+
     /**
      * Test of getWordFrequencies method, of class DictionaryTrieImpl.
      */
@@ -136,4 +336,77 @@ public class DictionaryTrieImplTest {
         assertTrue(dict.getLongestWords().size() == 1);
         assertTrue(dict.getLongestWords().get(0).equals(words[4]));
     }
+
+    /**
+     * Test of insert method with a count, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testInsertCount() {
+        dict.insert(words[2], 0);
+        assertTrue(dict.getWordFrequency(words[2]) == -1);
+
+        dict.insert(words[2], 3);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 4);
+
+        dict.insert(words[6], 2);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionaryTrieImpl other = new DictionaryTrieImpl();
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        other.insert(words[3], 2);
+        other.insert(words[4]);
+        other.insert("a");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequency("a") == 1);
+        assertTrue(dict.getWordFrequencies().size() == 4);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+        assertTrue(other.getWordFrequency(words[3]) == 2);
+
+        DictionaryConcurrentImpl mixed = new DictionaryConcurrentImpl();
+        mixed.insert(words[5], 2);
+
+        dict.mergeFrom(mixed);
+        assertTrue(dict.getWordFrequency(words[5]) == 2);
+        assertTrue(dict.getMostFrequentLetter().equals('r'));
+    }
+
+    /**
+     * Test of traversals of a very deep Trie, of class DictionaryTrieImpl.
+     */
+    @Test
+    public void testDeepWord() {
+        char[] letters = new char[100000];
+        Arrays.fill(letters, 'x');
+        String deepWord = new String(letters);
+
+        dict.insert(deepWord);
+        dict.insert(words[2]);
+
+        assertTrue(dict.getWordFrequency(deepWord) == 1);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(deepWord));
+    }
+
+    // Helper Methods
+    private static List<Integer> frequencies(List<WordFrequency> words) {
+        List<Integer> frequencies = new ArrayList<>();
+
+        words.forEach(wf -> frequencies.add(wf.getFrequency()));
+
+        return frequencies;
+    }
 }
@@ -0,0 +1,322 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Test;
+import vkrajn.scraper.data.WordInterner;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A test class for {@link DictionaryVocabularyImpl}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/12/2017
+ */
+public class DictionaryVocabularyImplTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss"};
+
+    DictionaryVocabularyImpl dict = new DictionaryVocabularyImpl();
+
+    /**
+     * Test of insert method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testInsert() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+
+        assertTrue(dict.getLongestWords().isEmpty());
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+    }
+
+    /**
+     * Test of getWordFrequency method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+
+        dict.insert(words[3]);
+        assertTrue(dict.getWordFrequency(words[0]) == -1);
+        assertTrue(dict.getWordFrequency(words[1]) == -1);
+        assertTrue(dict.getWordFrequency(words[2]) == 2);
+        assertTrue(dict.getWordFrequency(words[3]) == 1);
+    }
+
+    /**
+     * Test of getMostFrequentLetter method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetter() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getMostFrequentLetter() == null);
+
+        dict.insert(words[2]);
+        assertTrue(dict.getMostFrequentLetter().equals('a'));
+
+        // 'o' and 'r' are tied, 'o' reached the frequency first
+        dict.insert(words[3]);
+        assertTrue(dict.getMostFrequentLetter().equals('o'));
+
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of getMostFrequentLetters method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetMostFrequentLetters() {
+        assertTrue(dict.getMostFrequentLetters(3).isEmpty());
+
+        dict.insert(words[3]);
+        dict.insert(words[6]);
+        assertTrue(dict.getMostFrequentLetters(0).isEmpty());
+        assertTrue(dict.getMostFrequentLetters(1).get(0).equals('s'));
+        assertTrue(dict.getMostFrequentLetters(3).size() == 3);
+        assertTrue(dict.getMostFrequentLetters(3).get(1).equals('o'));
+        assertTrue(dict.getMostFrequentLetters(3).get(2).equals('r'));
+        assertTrue(dict.getMostFrequentLetters(100).size() == 9);
+    }
+
+    /**
+     * Test of getTopWords method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetTopWords() {
+        assertTrue(dict.getTopWords(3).isEmpty());
+
+        dict.insert(words[0]);
+        dict.insert(words[2]);
+        dict.insert(words[3], 3);
+        dict.insert(words[6], 2);
+        assertTrue(dict.getTopWords(0).isEmpty());
+        assertTrue(dict.getTopWords(2).size() == 2);
+        assertTrue(dict.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(2).get(0).getFrequency() == 3);
+        assertTrue(dict.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(2).get(1).getFrequency() == 2);
+        assertTrue(dict.getTopWords(10).size() == 3);
+        assertTrue(dict.getTopWords(10).get(2).getWord().equals(words[2]));
+
+        dict.insert(words[2], 4);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 5);
+
+        // Of words with equal frequencies, the first to reach it ranks first
+        dict.insert(words[4], 3);
+        assertTrue(dict.getTopWords(3).get(1).getWord().equals(words[3]));
+        assertTrue(dict.getTopWords(3).get(2).getWord().equals(words[4]));
+
+        DictionaryVocabularyImpl other = new DictionaryVocabularyImpl();
+        other.insert(words[6], 5);
+        dict.mergeFrom(other);
+        assertTrue(dict.getTopWords(1).get(0).getWord().equals(words[6]));
+        assertTrue(dict.getTopWords(1).get(0).getFrequency() == 7);
+    }
+
+    /**
+     * Test of getWordFrequencies method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetWordFrequencies() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getWordFrequencies().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 1);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 1);
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+        assertTrue(dict.getWordFrequencies().get(0).getWord().equals(words[2]));
+        assertTrue(dict.getWordFrequencies().get(1).getWord().equals(words[3]));
+        assertTrue(dict.getWordFrequencies().get(0).getFrequency() == 2);
+        assertTrue(dict.getWordFrequencies().get(1).getFrequency() == 1);
+
+        dict.insert(words[4]);
+        assertTrue(dict.getWordFrequencies().size() == 3);
+    }
+
+    /**
+     * Test of getLongestWords method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testGetLongestWords() {
+        dict.insert(words[0]);
+        dict.insert(words[1]);
+        assertTrue(dict.getLongestWords().isEmpty());
+
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[2]));
+
+        dict.insert(words[3]);
+        dict.insert(words[2]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[3]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[5]);
+        assertTrue(dict.getLongestWords().size() == 2);
+        assertTrue(dict.getLongestWords().contains(words[3]));
+        assertTrue(dict.getLongestWords().contains(words[5]));
+
+        dict.insert(words[4]);
+        assertTrue(dict.getLongestWords().size() == 1);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+    }
+
+    /**
+     * Test of insert method with a count, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testInsertCount() {
+        dict.insert(words[2], 0);
+        assertTrue(dict.getWordFrequency(words[2]) == -1);
+
+        dict.insert(words[2], 3);
+        dict.insert(words[2]);
+        assertTrue(dict.getWordFrequency(words[2]) == 4);
+
+        dict.insert(words[6], 2);
+        assertTrue(dict.getMostFrequentLetter().equals('s'));
+    }
+
+    /**
+     * Test of mergeFrom method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testMergeFrom() {
+        DictionaryVocabularyImpl other = new DictionaryVocabularyImpl();
+
+        dict.insert(words[2]);
+        dict.insert(words[3]);
+        other.insert(words[3], 2);
+        other.insert(words[4]);
+        other.insert("a");
+
+        dict.mergeFrom(other);
+        assertTrue(dict.getWordFrequency(words[2]) == 1);
+        assertTrue(dict.getWordFrequency(words[3]) == 3);
+        assertTrue(dict.getWordFrequency(words[4]) == 1);
+        assertTrue(dict.getWordFrequency("a") == 1);
+        assertTrue(dict.getWordFrequencies().size() == 4);
+        assertTrue(dict.getLongestWords().get(0).equals(words[4]));
+        assertTrue(other.getWordFrequency(words[3]) == 2);
+
+        DictionaryConcurrentImpl mixed = new DictionaryConcurrentImpl();
+        mixed.insert(words[5], 2);
+
+        dict.mergeFrom(mixed);
+        assertTrue(dict.getWordFrequency(words[5]) == 2);
+        assertTrue(dict.getMostFrequentLetter().equals('r'));
+    }
+
+    /**
+     * Test of insertId method, of class DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testInsertId() {
+        WordInterner interner = new WordInterner();
+        DictionaryVocabularyImpl shared
+                = new DictionaryVocabularyImpl(interner);
+
+        // Interned but never counted
+        interner.intern(words[4], 0, words[4].length());
+        int aWord = interner.intern(words[2], 0, words[2].length());
+        int longerWord = interner.intern(words[3], 0, words[3].length());
+
+        shared.insertId(aWord, 2);
+        shared.insertId(longerWord, 1);
+        shared.insertId(aWord, 0);
+        shared.insert(words[2]);
+        shared.insert(words[3].toCharArray(), 0, words[3].length());
+
+        assertTrue(shared.getInterner() == interner);
+        assertTrue(interner.size() == 3);
+        assertTrue(shared.getWordFrequency(words[2]) == 3);
+        assertTrue(shared.getWordFrequency(words[3]) == 2);
+        assertTrue(shared.getWordFrequency(words[4]) == -1);
+        assertTrue(shared.getWordFrequencies().size() == 2);
+        assertTrue(shared.getTopWords(1).get(0).getWord().equals(words[2]));
+        assertTrue(shared.getLongestWords().get(0).equals(words[3]));
+
+        dict.insert(words[3], 3);
+        dict.mergeFrom(shared);
+        assertTrue(dict.getWordFrequency(words[2]) == 3);
+        assertTrue(dict.getWordFrequency(words[3]) == 5);
+
+        DictionaryVocabularyImpl same = new DictionaryVocabularyImpl(interner);
+        same.insertId(longerWord, 4);
+        same.mergeFrom(shared);
+        assertTrue(same.getWordFrequency(words[3]) == 6);
+        assertTrue(same.getTopWords(2).get(1).getWord().equals(words[2]));
+        assertTrue(interner.size() == 3);
+    }
+
+    /**
+     * Test of the allocations by repeated inserts, of class
+     * DictionaryVocabularyImpl.
+     */
+    @Test
+    public void testRepeatedInsertAllocation() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocations
+                = (com.sun.management.ThreadMXBean) threads;
+        char[] text = (words[2] + words[5]).toCharArray();
+
+        for (int i = 0; i < 100000; i++) {
+            dict.insert(words[3]);
+            dict.insert(text, 0, words[2].length());
+            dict.insert(text, words[2].length(), words[5].length());
+        }
+
+        long before = allocations.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < 100000; i++) {
+            dict.insert(words[3]);
+            dict.insert(text, 0, words[2].length());
+            dict.insert(text, words[2].length(), words[5].length());
+        }
+
+        long after = allocations.getCurrentThreadAllocatedBytes();
+
+        assertTrue(dict.getWordFrequency(words[3]) == 200000);
+        assertTrue(dict.getWordFrequency(words[5]) == 200000);
+
+        // Far less than a byte per insert, the measuring itself allocates
+        assertTrue(after - before < 10000);
+    }
+}
@@ -0,0 +1,110 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link FrequencyBuckets}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/29/2017
+ */
+public class FrequencyBucketsTest {
+
+    FrequencyBuckets buckets = new FrequencyBuckets(2);
+
+    /**
+     * Test of increment method, of class FrequencyBuckets.
+     */
+    @Test
+    public void testIncrement() {
+        assertTrue(buckets.first() == FrequencyBuckets.NONE);
+        assertTrue(buckets.last() == FrequencyBuckets.NONE);
+
+        int a = buckets.newItem();
+        int b = buckets.newItem();
+        int c = buckets.newItem();
+        assertTrue(buckets.first() == FrequencyBuckets.NONE);
+
+        buckets.increment(a, 1);
+        buckets.increment(b, 1);
+        assertTrue(ranking().equals(Arrays.asList(a, b)));
+
+        buckets.increment(b, 1);
+        buckets.increment(c, 5);
+        assertTrue(ranking().equals(Arrays.asList(c, b, a)));
+        assertTrue(buckets.last() == a);
+
+        // Reaching an existing count ranks the item after the others
+        buckets.increment(a, 4);
+        buckets.increment(b, 3);
+        assertTrue(ranking().equals(Arrays.asList(c, a, b)));
+        assertTrue(buckets.count(b) == 5);
+    }
+
+    /**
+     * Test of ranking after random increments, of class FrequencyBuckets.
+     */
+    @Test
+    public void testRandomIncrements() {
+        Random random = new Random(42);
+        List<Integer> order = new ArrayList<>();   // ranking built by hand
+        int[] counts = new int[200];
+
+        for (int i = 0; i < counts.length; i++) {
+            buckets.newItem();
+        }
+
+        for (int step = 0; step < 20000; step++) {
+            int item = random.nextInt(counts.length);
+            int increment = random.nextInt(10) == 0
+                    ? 1 + random.nextInt(5) : 1;
+
+            counts[item] += increment;
+            buckets.increment(item, increment);
+
+            order.remove(Integer.valueOf(item));
+            int position = 0;
+            while (position < order.size()
+                    && counts[order.get(position)] >= counts[item]) {
+                position++;
+            }
+            order.add(position, item);
+
+            if (step % 1000 == 0) {
+                assertEquals(order, ranking());
+            }
+        }
+
+        assertEquals(order, ranking());
+        assertTrue(buckets.last() == lowestFirst(order, counts));
+    }
+
+    // Helper Methods
+    private List<Integer> ranking() {
+        List<Integer> ranking = new ArrayList<>();
+
+        for (int item = buckets.first(); item != FrequencyBuckets.NONE;
+                item = buckets.next(item)) {
+            ranking.add(item);
+        }
+
+        return ranking;
+    }
+
+    private int lowestFirst(List<Integer> order, int[] counts) {
+        int lowest = order.get(order.size() - 1);
+        int position = order.size() - 1;
+
+        while (position > 0 && counts[order.get(position - 1)]
+                == counts[lowest]) {
+            position--;
+        }
+
+        return order.get(position);
+    }
+}
@@ -0,0 +1,216 @@
+package vkrajn.scraper.data.dictionary;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link FrozenDictionary}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/10/2017
+ */
+public class FrozenDictionaryTest {
+
+    String[] words = {null,
+        "",
+        "aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss"};
+
+    DictionaryArrayTrieImpl source = new DictionaryArrayTrieImpl();
+
+    /**
+     * Test of freeze method, of class FrozenDictionary.
+     */
+    @Test
+    public void testFreeze() {
+        FrozenDictionary empty = source.freeze();
+
+        assertTrue(empty.size() == 0);
+        assertTrue(empty.getWordFrequency(words[2]) == -1);
+        assertTrue(empty.getWordFrequencies().isEmpty());
+        assertTrue(empty.getLongestWords().isEmpty());
+        assertTrue(empty.getMostFrequentLetter() == null);
+
+        source.insert(words[2]);
+        FrozenDictionary frozen = source.freeze();
+
+        assertTrue(frozen.freeze() == frozen);
+        assertTrue(frozen.getWordFrequency(words[2]) == 1);
+
+        // Later inserts into the source do not change the frozen copy
+        source.insert(words[2]);
+        assertTrue(frozen.getWordFrequency(words[2]) == 1);
+        assertTrue(source.getWordFrequency(words[2]) == 2);
+    }
+
+    /**
+     * Test of insert method, of class FrozenDictionary.
+     */
+    @Test
+    public void testInsert() {
+        FrozenDictionary frozen = source.freeze();
+
+        try {
+            frozen.insert(words[2]);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        try {
+            frozen.insert(words[2].toCharArray(), 0, 2);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        try {
+            frozen.mergeFrom(source);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test of getWordFrequency method, of class FrozenDictionary.
+     */
+    @Test
+    public void testGetWordFrequency() {
+        source.insert(words[2]);
+        source.insert(words[3], 3);
+        source.insert(words[4]);
+        source.insert(words[5], 2);
+
+        FrozenDictionary frozen = source.freeze();
+
+        assertTrue(frozen.size() == 4);
+        assertTrue(frozen.getWordFrequency(words[0]) == -1);
+        assertTrue(frozen.getWordFrequency(words[1]) == -1);
+        assertTrue(frozen.getWordFrequency(words[2]) == 1);
+        assertTrue(frozen.getWordFrequency(words[3]) == 3);
+        assertTrue(frozen.getWordFrequency(words[5]) == 2);
+        assertTrue(frozen.getWordFrequency(words[6]) == -1);
+        assertTrue(frozen.getWordFrequency("longerWorD") == -1);
+        assertTrue(frozen.getWordFrequency("longerWor") == -1);
+    }
+
+    /**
+     * Test of getWordFrequency method with a source ignoring case, of class
+     * FrozenDictionary.
+     */
+    @Test
+    public void testGetWordFrequencyIgnoringCase() {
+        DictionaryTreeMapImpl treeMap = new DictionaryTreeMapImpl();
+
+        treeMap.insert("Hello");
+        treeMap.insert("hello");
+        treeMap.insert(words[3], 3);
+
+        FrozenDictionary frozen = treeMap.freeze();
+
+        assertTrue(frozen.size() == 2);
+        assertTrue(frozen.getWordFrequency("Hello") == 2);
+        assertTrue(frozen.getWordFrequency("hello") == 2);
+        assertTrue(frozen.getWordFrequency("HELLO") == 2);
+        assertTrue(frozen.getWordFrequency("longerword") == 3);
+        assertTrue(frozen.getWordFrequency("hell") == -1);
+        assertTrue(frozen.getTopWords(1).get(0).getWord().equals(words[3]));
+
+        // Other sources stay case-sensitive
+        source.insert("Hello");
+        assertTrue(source.freeze().getWordFrequency("hello") == -1);
+    }
+
+    /**
+     * Test of getTopWords and getWordFrequencies methods, of class
+     * FrozenDictionary.
+     */
+    @Test
+    public void testGetTopWords() {
+        source.insert(words[2]);
+        source.insert(words[3], 3);
+        source.insert(words[6], 2);
+
+        FrozenDictionary frozen = source.freeze();
+
+        assertTrue(frozen.getTopWords(0).isEmpty());
+        assertTrue(frozen.getTopWords(2).size() == 2);
+        assertTrue(frozen.getTopWords(2).get(0).getWord().equals(words[3]));
+        assertTrue(frozen.getTopWords(2).get(1).getWord().equals(words[6]));
+        assertTrue(frozen.getTopWords(10).size() == 3);
+        assertTrue(frozen.getWordFrequencies().size() == 3);
+        assertTrue(frozen.getWordFrequencies().get(2).getWord()
+                .equals(words[2]));
+        assertTrue(frozen.getWordsWithPrefix("long", 5).size() == 1);
+    }
+
+    /**
+     * Test of getLongestWords and getMostFrequentLetters methods, of class
+     * FrozenDictionary.
+     */
+    @Test
+    public void testPrecomputedQueries() {
+        source.insert(words[3]);
+        source.insert(words[4]);
+        source.insert(words[5]);
+        source.insert(words[6], 2);
+
+        FrozenDictionary frozen = source.freeze();
+
+        assertTrue(frozen.getLongestWords().equals(source.getLongestWords()));
+        assertTrue(frozen.getMostFrequentLetter().equals('s'));
+        assertTrue(frozen.getMostFrequentLetters(3).equals(
+                source.getMostFrequentLetters(3)));
+        assertTrue(frozen.getMostFrequentLetters(100).equals(
+                source.getMostFrequentLetters(100)));
+
+        try {
+            frozen.getLongestWords().clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test of concurrent lookups in a large frozen dictionary, of class
+     * FrozenDictionary.
+     */
+    @Test
+    public void testLargeVocabulary() {
+        Random random = new Random(42);
+        Set<String> vocabulary = new HashSet<>();
+
+        while (vocabulary.size() < 100000) {
+            char[] word = new char[1 + random.nextInt(10)];
+
+            for (int i = 0; i < word.length; i++) {
+                word[i] = (char) ('a' + random.nextInt(26));
+            }
+
+            vocabulary.add(new String(word));
+        }
+
+        String[] known = vocabulary.toArray(new String[0]);
+
+        for (int i = 0; i < known.length; i++) {
+            source.insert(known[i], 1 + i % 7);
+        }
+
+        FrozenDictionary frozen = source.freeze();
+
+        assertTrue(frozen.size() == known.length);
+        assertTrue(IntStream.range(0, known.length).parallel().allMatch(
+                i -> frozen.getWordFrequency(known[i]) == 1 + i % 7));
+        assertTrue(IntStream.range(0, known.length).parallel().allMatch(
+                i -> frozen.getWordFrequency(known[i] + "0") == -1));
+    }
+}
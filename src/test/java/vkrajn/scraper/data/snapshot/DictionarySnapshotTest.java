@@ -0,0 +1,181 @@
+package vkrajn.scraper.data.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.WordFrequency;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryTreeMapImpl;
+import vkrajn.scraper.data.dictionary.DictionaryTrieImpl;
+
+/**
+ * A test class for {@link DictionarySnapshot}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/01/2017
+ */
+public class DictionarySnapshotTest {
+
+    String[] words = {"aWord",
+        "longerWord",
+        "longestWord",
+        "sugar-free",
+        "ssssssssss",
+        "a",
+        "aW",
+        "žluťoučký",
+        "𝔸lpha"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test of save and load methods with a DictionaryTrieImpl.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRoundTripTrie() throws IOException {
+        Dictionary dict = new DictionaryTrieImpl();
+
+        fill(dict);
+        assertRoundTrip(dict);
+    }
+
+    /**
+     * Test of save and load methods with a DictionaryTreeMapImpl.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRoundTripTreeMap() throws IOException {
+        Dictionary dict = new DictionaryTreeMapImpl();
+
+        fill(dict);
+        assertRoundTrip(dict);
+    }
+
+    /**
+     * Test of save and load methods with an empty dictionary.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRoundTripEmpty() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        DictionarySnapshot.save(new DictionaryTrieImpl(), file);
+        SnapshotDictionary snapshot = DictionarySnapshot.load(file);
+
+        assertTrue(snapshot.size() == 0);
+        assertTrue(snapshot.getWordFrequency(words[0]) == -1);
+        assertTrue(snapshot.getWordFrequencies().isEmpty());
+        assertTrue(snapshot.getLongestWords().isEmpty());
+        assertTrue(snapshot.getMostFrequentLetter() == null);
+    }
+
+    /**
+     * Test of load method, of class DictionarySnapshot, with a file which is
+     * not a snapshot.
+     *
+     * @throws java.io.IOException
+     */
+    @Test(expected = IOException.class)
+    public void testLoadInvalid() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        Files.write(file, new byte[DictionarySnapshot.HEADER_SIZE]);
+        DictionarySnapshot.load(file);
+    }
+
+    /**
+     * Test of the read-only snapshot dictionary.
+     *
+     * @throws java.io.IOException
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testInsert() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        DictionarySnapshot.save(new DictionaryTrieImpl(), file);
+        DictionarySnapshot.load(file).insert(words[0]);
+    }
+
+    // Helper Methods
+    /**
+     * Inserts the test words and a number of random words into a
+     * dictionary.
+     *
+     * @param dict the dictionary
+     */
+    private void fill(Dictionary dict) {
+        Random random = new Random(42);
+
+        for (int i = 0; i < words.length; i++) {
+            dict.insert(words[i], i + 1);
+        }
+
+        // Random words share prefixes, which exercises the front coding
+        for (int i = 0; i < 20000; i++) {
+            dict.insert("w" + Integer.toString(random.nextInt(5000), 36),
+                    1 + random.nextInt(300));
+        }
+    }
+
+    /**
+     * Saves and loads a dictionary, the loaded one has to answer all queries
+     * the same way.
+     *
+     * @param dict the dictionary
+     * @throws IOException if the snapshot cannot be saved or loaded
+     */
+    private void assertRoundTrip(Dictionary dict) throws IOException {
+        Path file = folder.newFile().toPath();
+
+        DictionarySnapshot.save(dict, file);
+        SnapshotDictionary snapshot = DictionarySnapshot.load(file);
+
+        assertTrue(snapshot.size() == dict.getWordFrequencies().size());
+        assertTrue(snapshot.getWordFrequencies().size() == snapshot.size());
+
+        for (WordFrequency wf : dict.getWordFrequencies()) {
+            assertEquals(wf.getWord(), wf.getFrequency(),
+                    snapshot.getWordFrequency(wf.getWord()));
+        }
+
+        for (WordFrequency wf : snapshot.getWordFrequencies()) {
+            assertTrue(wf.getFrequency() == dict.getWordFrequency(
+                    wf.getWord()));
+        }
+
+        assertTrue(snapshot.getWordFrequency("missing") == -1);
+        assertTrue(snapshot.getWordFrequency("") == -1);
+        assertTrue(snapshot.getWordFrequency("0") == -1);
+        assertTrue(snapshot.getWordFrequency("￿") == -1);
+
+        assertTrue(snapshot.getLongestWords().size()
+                == dict.getLongestWords().size());
+        assertTrue(snapshot.getLongestWords().containsAll(
+                dict.getLongestWords()));
+
+        assertEquals(dict.getMostFrequentLetter(),
+                snapshot.getMostFrequentLetter());
+        assertEquals(dict.getMostFrequentLetters(100),
+                snapshot.getMostFrequentLetters(100));
+        assertEquals(dict.getMostFrequentLetters(3),
+                snapshot.getMostFrequentLetters(3));
+
+        // The file is smaller than the plain words with int counts
+        long plainSize = 0;
+        for (WordFrequency wf : dict.getWordFrequencies()) {
+            plainSize += wf.getWord().length() + 4;
+        }
+
+        assertTrue(Files.size(file) < plainSize);
+    }
+}
@@ -0,0 +1,332 @@
+package vkrajn.scraper.parser;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link CachingParser}, against a local server answering
+ * conditional requests.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/03/2017
+ */
+public class CachingParserTest {
+
+    static final String LAST_MODIFIED = "Tue, 01 Aug 2017 10:00:00 GMT";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    HttpServer server;
+    String baseUrl;
+    volatile int version = 1;
+    AtomicInteger fullResponses = new AtomicInteger();
+    AtomicInteger notModifiedResponses = new AtomicInteger();
+    AtomicInteger redirects = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        // Validated by an ETag carrying the current version
+        server.createContext("/etag", exchange -> {
+            String etag = "\"v" + version + "\"";
+
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst(
+                    "If-None-Match"))) {
+                notModified(exchange);
+            } else {
+                respond(exchange, exchange.getRequestURI().getPath()
+                        + " version " + version);
+            }
+        });
+
+        // Validated by a fixed modification date
+        server.createContext("/modified", exchange -> {
+            exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+            if (LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst(
+                    "If-Modified-Since"))) {
+                notModified(exchange);
+            } else {
+                respond(exchange, "modified page");
+            }
+        });
+
+        // Redirected to the ETag validated page of the same name
+        server.createContext("/moved", exchange -> {
+            redirects.incrementAndGet();
+            exchange.getResponseHeaders().set("Location", "/etag"
+                    + exchange.getRequestURI().getPath().substring(6));
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+
+        server.createContext("/loop", exchange -> {
+            exchange.getResponseHeaders().set("Location", baseUrl + "/loop");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Test of getText method, of class CachingParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testGetText() throws IOException {
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath());
+        String url = baseUrl + "/etag/a";
+
+        assertEquals("/etag/a version 1", parser.getText(url));
+        assertEquals("/etag/a version 1", parser.getText(url));
+        assertEquals("/etag/a version 1", parser.getText(url));
+
+        assertTrue(parser.getMisses() == 1);
+        assertTrue(parser.getMemoryHits() == 2);
+        assertTrue(fullResponses.get() == 1);
+        assertTrue(notModifiedResponses.get() == 2);
+
+        // A changed page is downloaded again
+        version = 2;
+        assertEquals("/etag/a version 2", parser.getText(url));
+        assertEquals("/etag/a version 2", parser.getText(url));
+
+        assertTrue(parser.getMisses() == 2);
+        assertTrue(parser.getMemoryHits() == 3);
+
+        // Last-Modified validation
+        String modified = baseUrl + "/modified";
+
+        assertEquals("modified page", parser.getText(modified));
+        assertEquals("modified page", parser.getText(modified));
+        assertTrue(parser.getMisses() == 3);
+        assertTrue(parser.getMemoryHits() == 4);
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with the pages already
+     * stored on disk by a previous run.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testGetTextFromDisk() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        CachingParser first = new CachingParser(new JsoupParser(), directory);
+
+        first.getText(baseUrl + "/etag/a");
+        first.getText(baseUrl + "/etag/b");
+
+        CachingParser second = new CachingParser(new JsoupParser(),
+                directory);
+
+        assertTrue(second.getStoredCount() == 2);
+        assertEquals("/etag/a version 1", second.getText(baseUrl
+                + "/etag/a"));
+        assertEquals("/etag/a version 1", second.getText(baseUrl
+                + "/etag/a"));
+
+        assertTrue(second.getMisses() == 0);
+        assertTrue(second.getDiskHits() == 1);
+        assertTrue(second.getMemoryHits() == 1);
+        assertTrue(fullResponses.get() == 2);
+    }
+
+    /**
+     * Test of the size-bounded eviction, of class CachingParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testEviction() throws IOException {
+        String first = baseUrl + "/etag/first";
+        int bodySize = body(first.substring(baseUrl.length()) + " version 1")
+                .length;
+
+        // Room for two bodies on disk and for no text in memory
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath(), 2 * bodySize + 1, 0);
+
+        parser.getText(first);
+        parser.getText(first);
+        assertTrue(parser.getDiskHits() == 1);
+
+        parser.getText(baseUrl + "/etag/secnd");
+        parser.getText(first);
+        parser.getText(baseUrl + "/etag/third");
+        assertTrue(parser.getStoredCount() == 2);
+
+        // The second page was the least recently used one
+        parser.getText(first);
+        parser.getText(baseUrl + "/etag/secnd");
+
+        assertTrue(parser.getDiskHits() == 3);
+        assertTrue(parser.getMisses() == 4);
+        assertTrue(parser.getMemoryHits() == 0);
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with an error
+     * response.
+     *
+     * @throws java.io.IOException
+     */
+    @Test(expected = IOException.class)
+    public void testGetTextMissing() throws IOException {
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath());
+
+        parser.getText(baseUrl + "/missing");
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with a redirected
+     * page.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testGetTextRedirect() throws IOException {
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath());
+        String url = baseUrl + "/moved/a";
+
+        assertEquals("/etag/a version 1", parser.getText(url));
+        assertEquals("/etag/a version 1", parser.getText(url));
+
+        // Stored under the requested URL, revalidated after the redirect
+        assertTrue(parser.getStoredCount() == 1);
+        assertTrue(parser.getMisses() == 1);
+        assertTrue(parser.getMemoryHits() == 1);
+        assertTrue(redirects.get() == 2);
+        assertTrue(notModifiedResponses.get() == 1);
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with a redirect loop.
+     *
+     * @throws java.io.IOException
+     */
+    @Test(expected = IOException.class)
+    public void testGetTextRedirectLoop() throws IOException {
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath());
+
+        parser.getText(baseUrl + "/loop");
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with pages revalidated
+     * and evicted from the disk store concurrently.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testGetTextConcurrent() throws Exception {
+        String[] urls = {baseUrl + "/etag/a", baseUrl + "/etag/b",
+            baseUrl + "/etag/c"};
+        int bodySize = body("/etag/a version 1").length;
+
+        // Room for a single body on disk and for no text in memory
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.getRoot().toPath(), bodySize, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> texts = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                String url = urls[i % urls.length];
+
+                texts.add(executor.submit(() -> parser.getText(url)));
+            }
+
+            for (int i = 0; i < texts.size(); i++) {
+                assertEquals(urls[i % urls.length].substring(baseUrl.length())
+                        + " version 1", texts.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(parser.getStoredCount() == 1);
+    }
+
+    /**
+     * Test of getText method, of class CachingParser, with a file URL.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testGetTextFile() throws IOException {
+        Path page = folder.newFile("page.html").toPath();
+        Files.write(page, body("local page"));
+
+        CachingParser parser = new CachingParser(new JsoupParser(),
+                folder.newFolder().toPath());
+
+        assertEquals("local page", parser.getText(page.toUri().toString()));
+        assertTrue(parser.getMisses() == 1);
+        assertTrue(parser.getStoredCount() == 0);
+    }
+
+    // Helper Methods
+    private void respond(HttpExchange exchange, String text)
+            throws IOException {
+        byte[] bytes = body(text);
+
+        fullResponses.incrementAndGet();
+        exchange.getResponseHeaders().set("Content-Type",
+                "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void notModified(HttpExchange exchange) throws IOException {
+        notModifiedResponses.incrementAndGet();
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+    }
+
+    private static byte[] body(String text) {
+        return ("<html><body><p>" + text + "</p></body></html>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link FetchExecutor}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/27/2017
+ */
+public class FetchExecutorTest {
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    // A parser pretending to fetch slow pages, failing on odd ones, either
+    // with an IOException or with a RuntimeException
+    Parser parser = new Parser() {
+        @Override
+        public String getText(String url) throws IOException {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+
+            if (Integer.parseInt(url) % 4 == 1) {
+                throw new IOException("Odd page");
+            }
+            if (Integer.parseInt(url) % 4 == 3) {
+                throw new IllegalArgumentException("Unsupported page");
+            }
+
+            return "text of " + url;
+        }
+    };
+
+    /**
+     * Test of fetch method with platform threads, of class FetchExecutor.
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void testFetchPlatform() throws InterruptedException {
+        testFetch(FetchExecutor.Mode.PLATFORM, 4);
+    }
+
+    /**
+     * Test of fetch method with virtual threads, of class FetchExecutor.
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void testFetchVirtual() throws InterruptedException {
+        testFetch(FetchExecutor.Mode.VIRTUAL, 50);
+    }
+
+    // Helper Methods
+    private void testFetch(FetchExecutor.Mode mode, int maxInFlight)
+            throws InterruptedException {
+        Map<String, String> pages = new ConcurrentHashMap<>();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger runtimeFailures = new AtomicInteger();
+
+        FetchExecutor executor = new FetchExecutor(parser, mode, maxInFlight);
+
+        for (int i = 0; i < 400; i++) {
+            executor.fetch(Integer.toString(i),
+                    new FetchExecutor.FetchHandler() {
+                @Override
+                public void onPage(String url, String text) {
+                    pages.put(url, text);
+                }
+
+                @Override
+                public void onFailure(String url, IOException e) {
+                    failures.incrementAndGet();
+                    if (e.getCause() instanceof IllegalArgumentException) {
+                        runtimeFailures.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        executor.awaitTermination();
+
+        assertTrue(pages.size() == 200);
+        assertTrue(failures.get() == 200);
+        assertTrue(runtimeFailures.get() == 100);
+        assertEquals("text of 42", pages.get("42"));
+        assertTrue(maxRunning.get() <= maxInFlight);
+        assertTrue(running.get() == 0);
+    }
+}
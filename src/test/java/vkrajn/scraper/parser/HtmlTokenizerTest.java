@@ -0,0 +1,115 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link HtmlTokenizer}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/07/2017
+ */
+public class HtmlTokenizerTest {
+
+    /**
+     * Test of tokenize method, of class HtmlTokenizer.
+     */
+    @Test
+    public void testTokenize() {
+        assertEquals("[<p>, Hello , <b>, world, </b>, !, </p>]",
+                events("<P class=\"a>b\">Hello <b>world</b>!</p>"));
+        assertEquals("[<br>, a, <img>, b]", events("<br/>a<img src='x' />b"));
+        assertEquals("[x]", events("<!DOCTYPE html><!-- <p> -- -->x"));
+        assertEquals("[a < b, <c>, , d]", events("a < b<c>, d"));
+    }
+
+    /**
+     * Test of tokenize method with script and style elements, of class
+     * HtmlTokenizer.
+     */
+    @Test
+    public void testTokenizeRawText() {
+        assertEquals("[<script>, </script>, a, <style>, </style>, b]",
+                events("<script>if (a</b) { x = '</scrip'; }</SCRIPT >a"
+                        + "<style>p > b { }</style>b"));
+        assertEquals("[<script>]", events("<script>never closed"));
+    }
+
+    /**
+     * Test of tokenize method with character references, of class
+     * HtmlTokenizer.
+     */
+    @Test
+    public void testTokenizeEntities() {
+        assertEquals("[a & b <c> é \u00a0 😀]",
+                events("a &amp; b &lt;c&gt; &eacute; &nbsp; &#x1F600;"));
+        assertEquals("[&unknown; & &#xZZ; &#; AT&T]",
+                events("&unknown; & &#xZZ; &#; AT&T"));
+        assertEquals("[©2017 &]", events("&copy2017 &"));
+    }
+
+    /**
+     * Test of tokenize method with a Reader, of class HtmlTokenizer.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testTokenizeReader() throws IOException {
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            html.append("<p>word&amp;").append(i).append("</p>");
+        }
+
+        List<String> events = new ArrayList<>();
+        new HtmlTokenizer(handler(events)).tokenize(
+                new StringReader(html.toString()));
+
+        assertTrue(events.size() == 15000);
+        assertEquals("word&4999", events.get(14998));
+    }
+
+    // Helper Methods
+    private static String events(String html) {
+        List<String> events = new ArrayList<>();
+
+        new HtmlTokenizer(handler(events)).tokenize(html);
+
+        // Adjacent runs of text are joined
+        List<String> joined = new ArrayList<>();
+        for (String event : events) {
+            int last = joined.size() - 1;
+
+            if (!event.startsWith("<") && last >= 0
+                    && !joined.get(last).startsWith("<")) {
+                joined.set(last, joined.get(last) + event);
+            } else {
+                joined.add(event);
+            }
+        }
+
+        return joined.toString();
+    }
+
+    private static HtmlTokenizer.Handler handler(List<String> events) {
+        return new HtmlTokenizer.Handler() {
+            @Override
+            public void text(char[] chars, int offset, int length) {
+                events.add(new String(chars, offset, length));
+            }
+
+            @Override
+            public void startTag(String name) {
+                events.add("<" + name + ">");
+            }
+
+            @Override
+            public void endTag(String name) {
+                events.add("</" + name + ">");
+            }
+        };
+    }
+}
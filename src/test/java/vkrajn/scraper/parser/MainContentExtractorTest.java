@@ -0,0 +1,146 @@
+package vkrajn.scraper.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link MainContentExtractor}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/06/2017
+ */
+public class MainContentExtractorTest {
+
+    String article = "The committee approved the budget after a long debate"
+            + " about <b>public</b> transport and the new bridge.";
+
+    String html = "<html><head><title>Daily News</title>"
+            + "<script>var tracking = 'script text';</script></head><body>"
+            + "<div id='cookie-banner'>We use cookies to improve your"
+            + " experience on this site, accept them all please.</div>"
+            + "<header><a href='/'>Home</a> <a href='/world'>World</a></header>"
+            + "<ul class='links'><li><a href='/a'>Sports</a></li>"
+            + "<li><a href='/b'>Weather</a></li></ul>"
+            + "<article><h1>Budget approved</h1><p>" + article + "</p>"
+            + "<p>Read the <a href='/x'>full report</a> and many other"
+            + " stories written by our reporters across the city today.</p>"
+            + "<p><a href='/1'>Older</a> <a href='/2'>Newer</a> stories</p>"
+            + "</article>"
+            + "<footer>Copyright 2017 Daily News, all rights reserved by the"
+            + " owners of this website.</footer></body></html>";
+
+    /**
+     * Test of getText method, of class MainContentExtractor.
+     */
+    @Test
+    public void testGetText() {
+        String text = MainContentExtractor.extract(Jsoup.parse(html))
+                .getText();
+
+        assertEquals("Budget approved " + Jsoup.parse(article).text()
+                + " Read the full report and many other stories written by"
+                + " our reporters across the city today.", text);
+    }
+
+    /**
+     * Test of tokenize method, of class MainContentExtractor.
+     */
+    @Test
+    public void testTokenize() {
+        Document doc = Jsoup.parse(html);
+        List<String> words = new ArrayList<>();
+
+        MainContentExtractor.extract(doc).tokenize(new StreamingTokenizer(
+                (chars, offset, length) -> {
+                    words.add(new String(chars, offset, length));
+                }));
+
+        Parser parser = new JsoupParser();
+        assertEquals(parser.getWords(MainContentExtractor.extract(doc)
+                .getText()), words);
+        assertFalse(words.contains("cookies"));
+        assertFalse(words.contains("Copyright"));
+        assertFalse(words.contains("Sports"));
+        assertFalse(words.contains("Newer"));
+    }
+
+    /**
+     * Test of parseText method in the main content mode, of class
+     * JsoupParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testParseTextMainContent() throws IOException {
+        JsoupParser full = new JsoupParser();
+        JsoupParser main = new JsoupParser(JsoupParser.Mode.MAIN_CONTENT);
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+
+        String fullText = full.parseText(new ByteArrayInputStream(body),
+                null, "http://localhost/");
+        String mainText = main.parseText(new ByteArrayInputStream(body),
+                null, "http://localhost/");
+
+        assertTrue(fullText.contains("cookies"));
+        assertTrue(mainText.startsWith("Budget approved"));
+        assertTrue(full.getWords(mainText).size() * 2
+                < full.getWords(fullText).size());
+    }
+
+    /**
+     * Test of getText and tokenize methods with words separated by
+     * whitespace between inline tags and by line breaks, of class
+     * MainContentExtractor.
+     */
+    @Test
+    public void testWordBoundaries() {
+        String page = "<html><body><article><p>The <em>quick</em>"
+                + " <strong>brown</strong> fox jumps over the lazy dog"
+                + " and some more words here<br>line two ends the"
+                + " paragraph.</p></article></body></html>";
+        Document doc = Jsoup.parse(page);
+        List<String> words = new ArrayList<>();
+
+        MainContentExtractor extractor = MainContentExtractor.extract(doc);
+        extractor.tokenize(new StreamingTokenizer(
+                (chars, offset, length) -> {
+                    words.add(new String(chars, offset, length));
+                }));
+
+        assertEquals(doc.text(), extractor.getText());
+        assertTrue(words.contains("quick"));
+        assertTrue(words.contains("brown"));
+        assertTrue(words.contains("here"));
+        assertTrue(words.contains("line"));
+    }
+
+    /**
+     * Test of getText method with boilerplate names in the page layout, of
+     * class MainContentExtractor.
+     */
+    @Test
+    public void testGetTextLayoutNames() {
+        String page = "<html class='no-js'><body class='post-template-default"
+                + " single single-post postid-42 has-sidebar"
+                + " cookie-consent-pending wp-custom-logo'>"
+                + "<div id='page' class='site shared-layout'>"
+                + "<div class='site-navigation'><a href='/'>Home</a></div>"
+                + "<main id='main'><article class='post-42 post'><p>"
+                + article + "</p></article></main>"
+                + "<div class='comments-area'><p>I think the bridge is a"
+                + " waste of money and the committee should resign now.</p>"
+                + "</div></div></body></html>";
+
+        String text = MainContentExtractor.extract(Jsoup.parse(page))
+                .getText();
+
+        assertEquals(Jsoup.parse(article).text(), text);
+    }
+}
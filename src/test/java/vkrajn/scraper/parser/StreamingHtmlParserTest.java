@@ -0,0 +1,156 @@
+package vkrajn.scraper.parser;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link StreamingHtmlParser}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/07/2017
+ */
+public class StreamingHtmlParserTest {
+
+    String html = "<!DOCTYPE html><html><head><title>Caf&eacute; news"
+            + "</title><style>body { color: red; }</style>"
+            + "<script>var s = '<p>not text</p>';</script></head>"
+            + "<body><div>First<div>second</div> third</div>"
+            + "<p>It's <b>bold</b>, <i>ital</i>ic &amp; naïve<br>next"
+            + "<!-- hidden comment --></p><ul><li>one<li>two</ul>"
+            + "<table><tr><td>cell&nbsp;a<td>cell b</table>"
+            + "<p>AT&T costs 5&lt;6 &copy; 2017</p></body></html>";
+
+    HttpServer server;
+    String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/latin", exchange -> {
+            byte[] bytes = html.getBytes(StandardCharsets.ISO_8859_1);
+
+            exchange.getResponseHeaders().set("Content-Type",
+                    "text/html; charset=ISO-8859-1");
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Test of parseWords method, of class StreamingHtmlParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testParseWords() throws IOException {
+        JsoupParser jsoup = new JsoupParser();
+        String text = jsoup.parseText(new ByteArrayInputStream(
+                html.getBytes(StandardCharsets.UTF_8)), "UTF-8", baseUrl);
+
+        List<String> words = new ArrayList<>();
+        new StreamingHtmlParser().parseWords(new ByteArrayInputStream(
+                html.getBytes(StandardCharsets.UTF_8)), null,
+                (chars, offset, length) -> {
+                    words.add(new String(chars, offset, length));
+                });
+
+        assertEquals(jsoup.getWords(text), words);
+        assertFalse(words.contains("color"));
+        assertFalse(words.contains("hidden"));
+    }
+
+    /**
+     * Test of parseWords method with text after the last block tag, of class
+     * StreamingHtmlParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testParseWordsAtEnd() throws IOException {
+        assertEquals(Arrays.asList("hello", "world"),
+                parseWords("<p>hello world"));
+        assertEquals(Arrays.asList("first", "last"),
+                parseWords("<div>first</div>last"));
+    }
+
+    /**
+     * Test of parseWords method with no block tags, of class
+     * StreamingHtmlParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testParseWordsWithoutBlocks() throws IOException {
+        assertEquals(Arrays.asList("hello", "world"),
+                parseWords("hello world"));
+        assertEquals(Arrays.asList("foobar"), parseWords("<b>foo</b>bar"));
+        assertTrue(parseWords("").isEmpty());
+    }
+
+    /**
+     * Test of getText and parseWords methods fetching a page, of class
+     * StreamingHtmlParser.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testFetch() throws IOException {
+        Parser parser = new StreamingHtmlParser();
+        String url = baseUrl + "/latin";
+        String text = new JsoupParser().getText(url);
+
+        assertEquals(text, parser.getText(url));
+
+        List<String> words = new ArrayList<>();
+        parser.parseWords(url, (chars, offset, length) -> {
+            words.add(new String(chars, offset, length));
+        });
+
+        assertEquals(parser.getWords(text), words);
+        assertTrue(words.contains("naïve"));
+    }
+
+    // Helper Methods
+    /**
+     * Parses the words of a document given as a string.
+     *
+     * @param document the page source
+     * @return the words in the order they were found
+     * @throws IOException if the source cannot be read
+     */
+    private static List<String> parseWords(String document)
+            throws IOException {
+        List<String> words = new ArrayList<>();
+
+        new StreamingHtmlParser().parseWords(new ByteArrayInputStream(
+                document.getBytes(StandardCharsets.UTF_8)), null,
+                (chars, offset, length) -> {
+                    words.add(new String(chars, offset, length));
+                });
+
+        return words;
+    }
+}
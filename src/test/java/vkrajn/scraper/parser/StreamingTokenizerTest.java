@@ -0,0 +1,78 @@
+package vkrajn.scraper.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+
+/**
+ * A test class for {@link StreamingTokenizer}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 07/22/2017
+ */
+public class StreamingTokenizerTest {
+
+    String text = "It's a sugar-free snake_case text, 42 times; "
+            + "naïve Übergrößen 2nd 𝐀bc 😀 end";
+
+    Parser parser = new JsoupParser();
+
+    /**
+     * Test of tokenize method, of class StreamingTokenizer.
+     */
+    @Test
+    public void testTokenize() {
+        List<String> words = new ArrayList<>();
+
+        new StreamingTokenizer((chars, offset, length) -> {
+            words.add(new String(chars, offset, length));
+        }).tokenize(text);
+
+        assertEquals(parser.getWords(text), words);
+    }
+
+    /**
+     * Test of append method, of class StreamingTokenizer.
+     */
+    @Test
+    public void testAppendChunks() {
+        // Split the text at every position, including inside surrogate pairs
+        for (int split = 0; split <= text.length(); split++) {
+            List<String> words = new ArrayList<>();
+            StreamingTokenizer tokenizer = new StreamingTokenizer(
+                    (chars, offset, length) -> {
+                        words.add(new String(chars, offset, length));
+                    });
+
+            tokenizer.append(text, 0, split);
+            tokenizer.append(text, split, text.length());
+            tokenizer.flush();
+
+            assertEquals(parser.getWords(text), words);
+        }
+    }
+
+    /**
+     * Test of tokenize method with a Reader, of class StreamingTokenizer.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testTokenizeReader() throws IOException {
+        DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+        new StreamingTokenizer(dict).tokenize(new StringReader(text));
+
+        assertTrue(dict.getWordFrequency("It's") == 1);
+        assertTrue(dict.getWordFrequency("snake_case") == 1);
+        assertTrue(dict.getWordFrequency("nd") == 1);
+        assertTrue(dict.getWordFrequency("𝐀bc") == 1);
+        assertTrue(dict.getWordFrequency("42") == -1);
+        assertTrue(dict.getWordFrequencies().size()
+                == parser.getWords(text).size());
+    }
+}
@@ -0,0 +1,131 @@
+package vkrajn.scraper.parser;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import vkrajn.scraper.data.WordInterner;
+import static org.junit.Assert.*;
+
+/**
+ * A differential test of {@link WordScanner} against the regular expression
+ * used by {@link Parser#getWords(String)}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/11/2017
+ */
+public class WordScannerTest {
+
+    String[] texts = {"",
+        "   ",
+        "word",
+        "It's a sugar-free snake_case text, 42 times; 2nd place.",
+        "Příliš žluťoučký kůň úpěl ďábelské ódy.",
+        "Übergrößen straße ÆØÅ œuvre naïve façade",
+        "Съешь же ещё этих мягких французских булок",
+        "Τάχιστη αλώπηξ βαφής ψημένη γη",
+        "שלום עולם مرحبا بالعالم ٣٤٥ १२३ नमस्ते दुनिया",
+        "日本語のテキスト、中文文本。한국어 텍스트",
+        "é a⃝ ःx zero‌width‍join x⁠y",
+        "𝐀𝐁𝐂 𝟏𝟐 😀smile 𠀀𠀁 \uD800 lone \uDC00 surrogates\uD800",
+        "tab\tnew\nline\r\nend‿tie ﹍x"};
+
+    Parser parser = new JsoupParser();
+
+    /**
+     * Test of scanWords method on multilingual text, of class Parser.
+     */
+    @Test
+    public void testScanWords() {
+        for (String text : texts) {
+            assertEquals(text, parser.getWords(text), parser.scanWords(text));
+        }
+    }
+
+    /**
+     * Test of scanWords method on random code points, of class Parser.
+     */
+    @Test
+    public void testScanWordsRandom() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+
+            for (int j = 0; j < 64; j++) {
+                int kind = random.nextInt(4);
+
+                if (kind == 0) {
+                    text.appendCodePoint(random.nextInt(0x80));
+                } else if (kind == 1) {
+                    text.append((char) random.nextInt(Character.MAX_VALUE));
+                } else if (kind == 2) {
+                    text.appendCodePoint(Character.MIN_SUPPLEMENTARY_CODE_POINT
+                            + random.nextInt(0x30000));
+                } else {
+                    text.append(' ');
+                }
+            }
+
+            String string = text.toString();
+            assertEquals(string, parser.getWords(string),
+                    parser.scanWords(string));
+        }
+    }
+
+    /**
+     * Test of sharing the words of getWords and scanWords methods, of class
+     * Parser.
+     */
+    @Test
+    public void testInternedWords() {
+        String text = "the cat and the hat and the bat";
+
+        List<String> words = parser.getWords(text);
+        List<String> scanned = parser.scanWords(text);
+
+        assertTrue(words.get(0) == words.get(3));
+        assertTrue(words.get(3) == words.get(6));
+        assertTrue(scanned.get(2) == scanned.get(5));
+        assertFalse(words.get(1) == words.get(5));
+    }
+
+    /**
+     * Test of getWordIds method, of class Parser.
+     */
+    @Test
+    public void testGetWordIds() {
+        WordInterner interner = new WordInterner();
+
+        for (String text : texts) {
+            List<String> words = parser.getWords(text);
+            int[] ids = parser.getWordIds(text, interner);
+
+            assertTrue(ids.length == words.size());
+            for (int i = 0; i < ids.length; i++) {
+                assertEquals(words.get(i), interner.getWord(ids[i]));
+            }
+        }
+
+        int[] ids = parser.getWordIds("to be or not to be", interner);
+
+        assertTrue(ids[0] == ids[4]);
+        assertTrue(ids[1] == ids[5]);
+        assertTrue(ids[0] != ids[1]);
+        assertTrue(parser.getWordIds("", interner).length == 0);
+    }
+
+    /**
+     * Test of isWordCharacter method for every code point, of class
+     * WordScanner.
+     */
+    @Test
+    public void testIsWordCharacter() {
+        for (int cp = 0; cp <= Character.MAX_CODE_POINT; cp++) {
+            String text = new String(Character.toChars(cp));
+            boolean matches = !parser.getWords(text).isEmpty();
+
+            assertEquals(Integer.toHexString(cp), matches,
+                    WordScanner.isWordCharacter(cp));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package vkrajn.scraper.pipeline;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.parser.FetchExecutor;
+import vkrajn.scraper.parser.JsoupParser;
+
+/**
+ * A test class for {@link CrawlJournal}. The crash test runs the crawl in a
+ * separate JVM, see {@link #main}, and kills it.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/02/2017
+ */
+public class CrawlJournalTest {
+
+    static final int SYNC_INTERVAL = 1;
+    static final int CHECKPOINT_INTERVAL = 10;
+
+    int pageCount = 60;
+    int killAfter = 35;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    HttpServer server;
+    String baseUrl;
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch killed = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        // Page i contains the word "page" once and the word "word" i times
+        server.createContext("/page", exchange -> {
+            if (requests.incrementAndGet() == killAfter) {
+                killed.countDown();
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            int number = Integer.parseInt(path.substring("/page/".length()));
+
+            StringBuilder body = new StringBuilder("<html><body><p>page");
+            for (int i = 0; i < number; i++) {
+                body.append(" word");
+            }
+            body.append("</p></body></html>");
+
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Test of recovering a journal with checkpoints and a torn record at the
+     * end of its log.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRecover() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Dictionary expected = new DictionaryArrayTrieImpl();
+        Dictionary dict = new DictionaryArrayTrieImpl();
+
+        try (CrawlJournal journal = CrawlJournal.open(directory, dict, 2,
+                3)) {
+            for (int i = 1; i <= 5; i++) {
+                Dictionary page = page(i);
+
+                journal.append("url" + i, page);
+                dict.mergeFrom(page);
+                journal.checkpointIfDue(dict);
+                expected.mergeFrom(page);
+            }
+        }
+
+        // A crash in the middle of a write leaves a partial record
+        Files.write(directory.resolve("log-1"), new byte[]{0, 0, 1},
+                StandardOpenOption.APPEND);
+
+        Dictionary recovered = new DictionaryArrayTrieImpl();
+
+        try (CrawlJournal journal = CrawlJournal.open(directory, recovered, 2,
+                3)) {
+            assertTrue(journal.getProcessedCount() == 5);
+            assertTrue(journal.isProcessed("url1"));
+            assertTrue(journal.isProcessed("url5"));
+            assertFalse(journal.isProcessed("url6"));
+            assertSameWords(expected, recovered);
+
+            journal.append("url6", page(6));
+            expected.mergeFrom(page(6));
+        }
+
+        // Older generations are gone, the partial record was cut off
+        assertTrue(folder.getRoot().list().length == 3);
+
+        Dictionary reopened = new DictionaryArrayTrieImpl();
+
+        try (CrawlJournal journal = CrawlJournal.open(directory, reopened)) {
+            assertTrue(journal.isProcessed("url6"));
+            assertSameWords(expected, reopened);
+        }
+    }
+
+    /**
+     * Test of resuming a crawl after the JVM running it was killed.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testKillAndRestart() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        Path urlFile = folder.newFile().toPath();
+        List<String> urls = new ArrayList<>();
+
+        for (int i = 1; i <= pageCount; i++) {
+            urls.add(baseUrl + "/page/" + i);
+        }
+
+        Files.write(urlFile, urls, StandardCharsets.UTF_8);
+
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process crawl = new ProcessBuilder(java.toString(), "-cp",
+                System.getProperty("java.class.path"),
+                CrawlJournalTest.class.getName(), directory.toString(),
+                urlFile.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        assertTrue(killed.await(60, TimeUnit.SECONDS));
+        crawl.destroyForcibly();
+        crawl.waitFor();
+
+        Dictionary dict = new DictionaryArrayTrieImpl();
+        CrawlStatistics statistics;
+
+        try (CrawlJournal journal = CrawlJournal.open(directory, dict,
+                SYNC_INTERVAL, CHECKPOINT_INTERVAL)) {
+            statistics = createPipeline().run(urlFile, dict, journal);
+        }
+
+        assertTrue(statistics.getUrlsSkipped() > 0);
+        assertTrue(statistics.getUrlsSkipped()
+                + statistics.getPagesAggregated() == pageCount);
+        assertTrue(requests.get() < 2 * pageCount);
+
+        // Every page is counted exactly once
+        assertTrue(dict.getWordFrequency("page") == pageCount);
+        assertTrue(dict.getWordFrequency("word")
+                == pageCount * (pageCount + 1) / 2);
+    }
+
+    /**
+     * Crawls with a journal until killed, used by the crash test.
+     *
+     * @param args the journal directory and the URL file
+     * @throws java.lang.Exception if the crawl fails
+     */
+    public static void main(String[] args) throws Exception {
+        Dictionary dict = new DictionaryArrayTrieImpl();
+
+        try (CrawlJournal journal = CrawlJournal.open(Paths.get(args[0]),
+                dict, SYNC_INTERVAL, CHECKPOINT_INTERVAL)) {
+            createPipeline().run(Paths.get(args[1]), dict, journal);
+        }
+    }
+
+    // Helper Methods
+    private static CrawlPipeline createPipeline() {
+        return new CrawlPipeline(new JsoupParser(),
+                DictionaryArrayTrieImpl::new, FetchExecutor.Mode.PLATFORM, 2,
+                1, 1);
+    }
+
+    private static Dictionary page(int number) {
+        Dictionary page = new DictionaryArrayTrieImpl();
+
+        page.insert("page");
+        page.insert("word", number);
+        page.insert("w" + number);
+
+        return page;
+    }
+
+    private static void assertSameWords(Dictionary expected,
+            Dictionary actual) {
+        assertTrue(actual.getWordFrequencies().size()
+                == expected.getWordFrequencies().size());
+
+        expected.getWordFrequencies().forEach(wf -> {
+            assertEquals(wf.getWord(), wf.getFrequency(),
+                    actual.getWordFrequency(wf.getWord()));
+        });
+
+        assertEquals(expected.getMostFrequentLetter(),
+                actual.getMostFrequentLetter());
+    }
+}
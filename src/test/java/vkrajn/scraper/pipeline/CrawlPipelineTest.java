@@ -0,0 +1,269 @@
+package vkrajn.scraper.pipeline;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.dictionary.DictionaryArrayTrieImpl;
+import vkrajn.scraper.data.dictionary.DictionaryTreeMapImpl;
+import vkrajn.scraper.parser.FetchExecutor;
+import vkrajn.scraper.parser.JsoupParser;
+
+/**
+ * A test class for {@link CrawlPipeline}, crawling pages of a local HTTP
+ * server.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+public class CrawlPipelineTest {
+
+    int pageCount = 50;
+
+    HttpServer server;
+    String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        // Page i contains the word "page" once and the word "word" i times
+        server.createContext("/page", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int number = Integer.parseInt(path.substring("/page/".length()));
+
+            StringBuilder body = new StringBuilder("<html><body><p>page");
+            for (int i = 0; i < number; i++) {
+                body.append(" word");
+            }
+            body.append("</p></body></html>");
+
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Test of run method with platform threads, of class CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testRun() throws Exception {
+        testRun(FetchExecutor.Mode.PLATFORM);
+    }
+
+    /**
+     * Test of run method with virtual threads, of class CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testRunVirtual() throws Exception {
+        testRun(FetchExecutor.Mode.VIRTUAL);
+    }
+
+    /**
+     * Test of run method with a different target type, of class
+     * CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testRunMixedTypes() throws Exception {
+        String urls = baseUrl + "/page/3\n" + baseUrl + "/page/4\n";
+
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser());
+        DictionaryTreeMapImpl dict = new DictionaryTreeMapImpl();
+
+        pipeline.run(new StringReader(urls), dict);
+
+        assertTrue(dict.getWordFrequency("page") == 2);
+        assertTrue(dict.getWordFrequency("word") == 7);
+    }
+
+    /**
+     * Test of run method with a page cache, of class CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testRunPageCache() throws Exception {
+        StringBuilder urls = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            urls.append(baseUrl).append("/page/").append(i % 4 + 1)
+                    .append('\n');
+        }
+
+        PageCache cache = new PageCache();
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(),
+                DictionaryArrayTrieImpl::new, FetchExecutor.Mode.PLATFORM, 4,
+                1, 4, cache);
+        DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+        CrawlStatistics statistics = pipeline.run(
+                new StringReader(urls.toString()), dict);
+
+        // A single tokenizer sees every repeated page after the first one
+        assertTrue(statistics.getPagesTokenized() == 4);
+        assertTrue(statistics.getDedupRatio() == 0.8);
+        assertTrue(cache.getHits() == 16);
+        assertTrue(cache.getDedupRatio() == 0.8);
+
+        assertTrue(dict.getWordFrequency("page") == 20);
+        assertTrue(dict.getWordFrequency("word") == 5 * (1 + 2 + 3 + 4));
+    }
+
+    /**
+     * Test of run method with a near-duplicate filter, of class
+     * CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testRunNearDuplicates() throws Exception {
+        StringBuilder urls = new StringBuilder(baseUrl + "/page/1\n");
+        for (int i = 20; i < 29; i++) {
+            urls.append(baseUrl).append("/page/").append(i).append('\n');
+        }
+
+        // Pages with many repetitions of "word" differ only in their count
+        NearDuplicateFilter filter = new NearDuplicateFilter();
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(),
+                DictionaryArrayTrieImpl::new, FetchExecutor.Mode.PLATFORM, 4,
+                2, 4, null, filter);
+        DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+        CrawlStatistics statistics = pipeline.run(
+                new StringReader(urls.toString()), dict);
+
+        assertTrue(statistics.getPagesDropped() == 8);
+        assertTrue(statistics.getPagesTokenized() == 2);
+        assertTrue(statistics.getPagesAggregated() == 10);
+        assertTrue(filter.getPagesDropped() == 8);
+
+        assertTrue(dict.getWordFrequency("page") == 2);
+    }
+
+    /**
+     * Test of run method with pages failing tokenization, of class
+     * CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 30000)
+    public void testRunBrokenPages() throws Exception {
+        StringBuilder urls = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            urls.append(baseUrl).append("/page/").append(i).append('\n');
+        }
+
+        // Every third per-page dictionary fails
+        AtomicInteger created = new AtomicInteger();
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(), () -> {
+            if (created.incrementAndGet() % 3 == 0) {
+                throw new IllegalStateException("Broken dictionary");
+            }
+
+            return new DictionaryArrayTrieImpl();
+        }, FetchExecutor.Mode.PLATFORM, 4, 2, 1);
+        DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+        CrawlStatistics statistics = pipeline.run(
+                new StringReader(urls.toString()), dict);
+
+        assertTrue(statistics.getPagesFetched() == 20);
+        assertTrue(statistics.getPagesBroken() == 6);
+        assertTrue(statistics.getPagesAggregated() == 14);
+        assertTrue(dict.getWordFrequency("page") == 14);
+
+        // No page can be tokenized, the stages must not block each other
+        CrawlPipeline broken = new CrawlPipeline(new JsoupParser(), () -> {
+            throw new IllegalStateException("Broken dictionary");
+        }, FetchExecutor.Mode.PLATFORM, 4, 2, 1);
+
+        statistics = broken.run(new StringReader(urls.toString()), dict);
+
+        assertTrue(statistics.getPagesBroken() == 20);
+        assertTrue(statistics.getPagesAggregated() == 0);
+    }
+
+    /**
+     * Test of run method with an error stopping the tokenizers, of class
+     * CrawlPipeline.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 30000)
+    public void testRunFailedTokenizers() throws Exception {
+        StringBuilder urls = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            urls.append(baseUrl).append("/page/").append(i).append('\n');
+        }
+
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(), () -> {
+            throw new AssertionError("Failed tokenizer");
+        }, FetchExecutor.Mode.PLATFORM, 4, 2, 1);
+
+        try {
+            pipeline.run(new StringReader(urls.toString()),
+                    new DictionaryArrayTrieImpl());
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+
+    // Helper Methods
+    private void testRun(FetchExecutor.Mode mode) throws Exception {
+        StringBuilder urls = new StringBuilder("# local pages\n");
+        for (int i = 1; i <= pageCount; i++) {
+            urls.append(baseUrl).append("/page/").append(i).append('\n');
+        }
+        urls.append('\n').append(baseUrl).append("/missing\n");
+
+        // Tiny queues make every stage block on the next one
+        CrawlPipeline pipeline = new CrawlPipeline(new JsoupParser(),
+                DictionaryArrayTrieImpl::new, mode, 4, 2, 1);
+        DictionaryArrayTrieImpl dict = new DictionaryArrayTrieImpl();
+
+        CrawlStatistics statistics = pipeline.run(
+                new StringReader(urls.toString()), dict);
+
+        assertTrue(statistics.getUrlsRead() == pageCount + 1);
+        assertTrue(statistics.getPagesFetched() == pageCount);
+        assertTrue(statistics.getPagesFailed() == 1);
+        assertTrue(statistics.getPagesAggregated() == pageCount);
+
+        assertTrue(dict.getWordFrequency("page") == pageCount);
+        assertTrue(dict.getWordFrequency("word")
+                == pageCount * (pageCount + 1) / 2);
+        assertTrue(dict.getWordFrequencies().size() == 2);
+    }
+}
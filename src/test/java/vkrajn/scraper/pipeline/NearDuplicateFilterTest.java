@@ -0,0 +1,116 @@
+package vkrajn.scraper.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * A test class for {@link NearDuplicateFilter}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/05/2017
+ */
+public class NearDuplicateFilterTest {
+
+    Random random = new Random(42);
+
+    /**
+     * Test of simHash method, of class NearDuplicateFilter.
+     */
+    @Test
+    public void testSimHash() {
+        List<String> words = words(300);
+        String text = String.join(" ", words);
+
+        // Only the words matter, not the separators
+        assertTrue(NearDuplicateFilter.simHash(text)
+                == NearDuplicateFilter.simHash(String.join(", 42 ", words)));
+
+        // The shingles capture the order of the words
+        List<String> shuffled = new ArrayList<>(words);
+        Collections.shuffle(shuffled, random);
+        assertTrue(Long.bitCount(NearDuplicateFilter.simHash(text)
+                ^ NearDuplicateFilter.simHash(String.join(" ", shuffled)))
+                > 16);
+
+        // A small change moves the signature by a few bits at most
+        words.set(0, "changed");
+        long distance = Long.bitCount(NearDuplicateFilter.simHash(text)
+                ^ NearDuplicateFilter.simHash(String.join(" ", words)));
+        assertTrue(distance <= NearDuplicateFilter.DEFAULT_MAX_DISTANCE);
+
+        long unrelated = Long.bitCount(NearDuplicateFilter.simHash(text)
+                ^ NearDuplicateFilter.simHash(String.join(" ", words(300))));
+        assertTrue(unrelated > 16);
+    }
+
+    /**
+     * Test of isNearDuplicate method, of class NearDuplicateFilter.
+     */
+    @Test
+    public void testIsNearDuplicate() {
+        NearDuplicateFilter filter = new NearDuplicateFilter();
+        long signature = 0x0123456789abcdefL;
+
+        assertFalse(filter.isNearDuplicate(signature));
+        assertTrue(filter.isNearDuplicate(signature));
+
+        // Differing bits spread over several bands
+        long sixBits = 1L | 1L << 10 | 1L << 20 | 1L << 30 | 1L << 40
+                | 1L << 50;
+        assertTrue(filter.isNearDuplicate(signature ^ sixBits));
+        assertFalse(filter.isNearDuplicate(signature ^ sixBits ^ 1L << 60));
+
+        assertTrue(filter.getPagesChecked() == 4);
+        assertTrue(filter.getPagesDropped() == 2);
+
+        // Only identical pages with no distance allowed
+        NearDuplicateFilter exact = new NearDuplicateFilter(0);
+
+        assertFalse(exact.isNearDuplicate(signature));
+        assertFalse(exact.isNearDuplicate(signature ^ 1L << 63));
+        assertTrue(exact.isNearDuplicate(signature));
+    }
+
+    /**
+     * Test of isNearDuplicate method, of class NearDuplicateFilter, with
+     * page texts.
+     */
+    @Test
+    public void testIsNearDuplicateText() {
+        NearDuplicateFilter filter = new NearDuplicateFilter();
+        List<String> listing = words(500);
+
+        assertFalse(filter.isNearDuplicate(String.join(" ", listing)));
+
+        // Further pages of the listing differ in a few words
+        for (int page = 2; page <= 5; page++) {
+            listing.set(page, "page" + page);
+            assertTrue(filter.isNearDuplicate(String.join(" ", listing)));
+        }
+
+        assertFalse(filter.isNearDuplicate(String.join(" ", words(500))));
+        assertTrue(filter.getPagesDropped() == 4);
+    }
+
+    // Helper Methods
+    private List<String> words(int count) {
+        List<String> words = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(8);
+
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+
+            words.add(word.toString());
+        }
+
+        return words;
+    }
+}
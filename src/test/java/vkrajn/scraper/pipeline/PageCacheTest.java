@@ -0,0 +1,89 @@
+package vkrajn.scraper.pipeline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import vkrajn.scraper.data.dictionary.Dictionary;
+import vkrajn.scraper.data.dictionary.DictionaryTrieImpl;
+import vkrajn.scraper.parser.JsoupParser;
+
+/**
+ * A test class for {@link PageCache}.
+ *
+ * @author Vojtech Krajnansky
+ * @version 08/04/2017
+ */
+public class PageCacheTest {
+
+    JsoupParser parser = new JsoupParser();
+    AtomicInteger builds = new AtomicInteger();
+
+    /**
+     * Test of getDictionary method, of class PageCache.
+     */
+    @Test
+    public void testGetDictionary() {
+        PageCache cache = new PageCache();
+
+        Dictionary first = cache.getDictionary("one two two", this::build);
+        Dictionary second = cache.getDictionary("one two two", this::build);
+        Dictionary other = cache.getDictionary("one two three", this::build);
+
+        assertTrue(first == second);
+        assertTrue(first != other);
+        assertTrue(builds.get() == 2);
+        assertTrue(second.getWordFrequency("two") == 2);
+        assertTrue(other.getWordFrequency("three") == 1);
+
+        assertTrue(cache.getHits() == 1);
+        assertTrue(cache.getMisses() == 2);
+        assertTrue(cache.size() == 2);
+        assertTrue(Math.abs(cache.getDedupRatio() - 1.0 / 3) < 1e-9);
+    }
+
+    /**
+     * Test of the eviction by size, of class PageCache.
+     */
+    @Test
+    public void testEviction() {
+        PageCache probe = new PageCache();
+        probe.getDictionary("alpha", this::build);
+        long entryBytes = probe.getTotalBytes();
+
+        // Room for two single-word pages of the same length
+        PageCache cache = new PageCache(2 * entryBytes);
+
+        cache.getDictionary("alpha", this::build);
+        cache.getDictionary("bravo", this::build);
+        cache.getDictionary("alpha", this::build);
+        cache.getDictionary("delta", this::build);
+
+        assertTrue(cache.size() == 2);
+        assertTrue(cache.getTotalBytes() == 2 * entryBytes);
+
+        // The least recently used page was evicted
+        cache.getDictionary("alpha", this::build);
+        cache.getDictionary("bravo", this::build);
+
+        assertTrue(cache.getHits() == 2);
+        assertTrue(cache.getMisses() == 4);
+
+        // Dictionaries over the limit are built but not cached
+        PageCache tiny = new PageCache(entryBytes - 1);
+
+        tiny.getDictionary("alpha", this::build);
+        tiny.getDictionary("alpha", this::build);
+        assertTrue(tiny.size() == 0);
+        assertTrue(tiny.getMisses() == 2);
+    }
+
+    // Helper Methods
+    private Dictionary build(String text) {
+        Dictionary dictionary = new DictionaryTrieImpl();
+
+        builds.incrementAndGet();
+        parser.getWords(text, dictionary);
+
+        return dictionary;
+    }
+}